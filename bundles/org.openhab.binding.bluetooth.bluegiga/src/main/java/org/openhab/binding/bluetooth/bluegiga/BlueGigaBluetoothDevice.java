@@ -240,11 +240,8 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
 
     @Override
     public void bluegigaEventReceived(BlueGigaResponse event) {
-        if (event instanceof BlueGigaScanResponseEvent) {
-            handleScanEvent((BlueGigaScanResponseEvent) event);
-        }
-
-        else if (event instanceof BlueGigaGroupFoundEvent) {
+        // Scan responses are routed to the addressed device by the bridge, see handleScanEvent
+        if (event instanceof BlueGigaGroupFoundEvent) {
             handleGroupFoundEvent((BlueGigaGroupFoundEvent) event);
         }
 
@@ -270,12 +267,13 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         }
     }
 
-    private void handleScanEvent(BlueGigaScanResponseEvent event) {
-        // Check if this is addressed to this device
-        if (!address.equals(new BluetoothAddress(event.getSender()))) {
-            return;
-        }
-
+    /**
+     * Processes a scan response of this device. Called by the bridge, which routes scan responses to the device they
+     * were sent by.
+     *
+     * @param event the {@link BlueGigaScanResponseEvent} sent by this device
+     */
+    public void handleScanEvent(BlueGigaScanResponseEvent event) {
         logger.trace("scanEvent: {}", event);
         updateLastSeenTime();
 
@@ -283,6 +281,13 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         rssi = event.getRssi();
         addressType = event.getAddressType();
 
+        if (connectionState != ConnectionState.DISCOVERING && !hasListeners()) {
+            // Nobody listens for scan records of this device, so skip decoding the advertisement and only keep the
+            // properties up to date that discovery looks at
+            updatePropertiesFromScanData(event);
+            return;
+        }
+
         byte[] manufacturerData = null;
 
         // If the packet contains data, then process it and add anything relevant to the device...
@@ -394,6 +399,32 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
     }
 
+    private void updatePropertiesFromScanData(BlueGigaScanResponseEvent event) {
+        int record = event.findAdvertisingData(EirDataType.EIR_MANUFACTURER_SPECIFIC.getKey());
+        if (record >= 0 && event.getDataByte(record) >= 3) {
+            manufacturer = (int) (short) ((event.getDataByte(record + 3) << 8) | event.getDataByte(record + 2));
+        }
+
+        record = event.findAdvertisingData(EirDataType.EIR_TXPOWER.getKey());
+        if (record >= 0 && event.getDataByte(record) >= 2) {
+            txPower = (int) (byte) event.getDataByte(record + 2);
+        }
+
+        if (name == null) {
+            record = event.findAdvertisingData(EirDataType.EIR_NAME_LONG.getKey());
+            if (record < 0) {
+                record = event.findAdvertisingData(EirDataType.EIR_NAME_SHORT.getKey());
+            }
+            if (record >= 0) {
+                StringBuilder builder = new StringBuilder();
+                for (int cnt = 2; cnt <= event.getDataByte(record); cnt++) {
+                    builder.append((char) event.getDataByte(record + cnt));
+                }
+                name = builder.toString();
+            }
+        }
+    }
+
     private void handleGroupFoundEvent(BlueGigaGroupFoundEvent event) {
         // If this is not our connection handle then ignore.
         if (connection != event.getConnection()) {
@@ -42,6 +42,7 @@ import org.eclipse.smarthome.io.transport.serial.UnsupportedCommOperationExcepti
 import org.openhab.binding.bluetooth.AbstractBluetoothBridgeHandler;
 import org.openhab.binding.bluetooth.BluetoothAddress;
 import org.openhab.binding.bluetooth.BluetoothBindingConstants;
+import org.openhab.binding.bluetooth.BluetoothDevice;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaAdapterConstants;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaBluetoothDevice;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaCommand;
@@ -141,13 +142,13 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
     // Our BT address
     private @Nullable BluetoothAddress address;
 
-    // Map of Bluetooth devices known to this bridge.
-    // This is all devices we have heard on the network - not just things bound to the bridge
-    private final Map<BluetoothAddress, BlueGigaBluetoothDevice> devices = new ConcurrentHashMap<>();
-
     // Map of open connections
     private final Map<Integer, BluetoothAddress> connections = new ConcurrentHashMap<>();
 
+    // Addresses of the known devices by the raw address of their scan responses, so that routing a scan response does
+    // not format and parse the sender address
+    private final Map<Long, BluetoothAddress> scanSenders = new ConcurrentHashMap<>();
+
     private volatile boolean initComplete = false;
 
     private @Nullable ScheduledFuture<?> initTask;
@@ -248,6 +249,7 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
         address = null;
         initComplete = false;
         connections.clear();
+        scanSenders.clear();
         closeSerialPort();
     }
 
@@ -416,6 +418,12 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
         return new BlueGigaBluetoothDevice(this, address, BluetoothAddressType.UNKNOWN);
     }
 
+    @Override
+    protected void removeDevice(BluetoothDevice device) {
+        super.removeDevice(device);
+        scanSenders.values().remove(device.getAddress());
+    }
+
     /**
      * Connects to a device.
      * <p>
@@ -706,15 +714,11 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
 
                 // We use the scan event to add any devices we hear to the devices list
                 // The device gets created, and then manages itself for discovery etc.
-                BluetoothAddress sender = new BluetoothAddress(scanEvent.getSender());
-                if (!devices.containsKey(sender)) {
-                    BlueGigaBluetoothDevice device;
-                    logger.debug("BlueGiga adding new device to adaptor {}: {}", address, sender);
-                    device = new BlueGigaBluetoothDevice(this, new BluetoothAddress(scanEvent.getSender()),
-                            scanEvent.getAddressType());
-                    devices.put(sender, device);
-                    deviceDiscovered(device);
-                }
+                // Scan responses are handed to the sending device only, instead of every device checking every
+                // response on its own.
+                BluetoothAddress sender = scanSenders.computeIfAbsent(scanEvent.getSenderBits(),
+                        bits -> new BluetoothAddress(scanEvent.getSender()));
+                getDevice(sender).handleScanEvent(scanEvent);
             } else {
                 logger.trace("Ignore BlueGigaScanResponseEvent as initialization is not complete");
             }
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Splits the byte stream received from the BlueGiga dongle into BGAPI frames. Bytes are appended in chunks as they
+ * are read from the serial port, complete frames are then taken out with {@link #next()}.
+ * <p>
+ * The BGAPI protocol has no packet framing, and no error detection, so a few sanity checks are done on the header to
+ * allow resynchronisation should there be an error:
+ * <ul>
+ * <li>Byte 0: technology type is bluetooth and high length is 0</li>
+ * <li>Byte 1: length is less than 64 bytes</li>
+ * <li>Byte 2: class ID is less than 8</li>
+ * </ul>
+ * If a check fails, the first byte is dropped and the header is searched again from the following byte.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFramer {
+
+    public static final int HEADER_LENGTH = 4;
+    public static final int MAX_FRAME_LENGTH = HEADER_LENGTH + 0x3F;
+
+    private static final int[] FRAME_CHECK_MASKS = new int[] { 0x7F, 0xC0, 0xF8 };
+
+    private final byte[] buffer;
+    private int start = 0;
+    private int end = 0;
+    private long framingErrors = 0;
+
+    /**
+     * @param chunkSize the biggest chunk that will be passed to {@link #write(byte[], int, int)} at once
+     */
+    public BlueGigaFramer(int chunkSize) {
+        buffer = new byte[chunkSize + MAX_FRAME_LENGTH];
+    }
+
+    /**
+     * Appends received bytes. All complete frames must have been taken out with {@link #next()} before the next call.
+     */
+    public void write(byte[] data, int offset, int length) {
+        if (length > buffer.length - (end - start)) {
+            throw new IllegalArgumentException("Chunk of " + length + " bytes exceeds the framer capacity");
+        }
+
+        if (length > buffer.length - end) {
+            // move the incomplete frame to the front to make room
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+
+        System.arraycopy(data, offset, buffer, end, length);
+        end += length;
+    }
+
+    /**
+     * Takes the next complete frame out of the buffer.
+     *
+     * @return the frame, one int per byte as expected by the {@link BlueGigaResponse} classes, or null if more bytes
+     *         are needed
+     */
+    public int @Nullable [] next() {
+        while (end - start > 0) {
+            int available = end - start;
+
+            int checked = Math.min(available, FRAME_CHECK_MASKS.length);
+            boolean valid = true;
+            for (int i = 0; i < checked; i++) {
+                if ((buffer[start + i] & FRAME_CHECK_MASKS[i]) != 0) {
+                    valid = false;
+                    break;
+                }
+            }
+            if (!valid) {
+                framingErrors++;
+                start++;
+                continue;
+            }
+
+            if (available < HEADER_LENGTH) {
+                break;
+            }
+
+            int length = HEADER_LENGTH + (buffer[start + 1] & 0xFF);
+            if (available < length) {
+                break;
+            }
+
+            int[] frame = new int[length];
+            for (int i = 0; i < length; i++) {
+                frame[i] = buffer[start + i] & 0xFF;
+            }
+            start += length;
+            return frame;
+        }
+
+        if (start == end) {
+            start = end = 0;
+        }
+        return null;
+    }
+
+    /**
+     * @return number of bytes dropped while searching for a valid frame header
+     */
+    public long getFramingErrors() {
+        return framingErrors;
+    }
+}
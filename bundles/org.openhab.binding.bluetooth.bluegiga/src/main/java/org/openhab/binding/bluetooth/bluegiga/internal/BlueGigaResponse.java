@@ -33,6 +33,8 @@ import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseT
  */
 @NonNullByDefault
 public abstract class BlueGigaResponse extends BlueGigaPacket {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
     private int[] buffer = new int[131];
     private int position = 0;
     protected boolean event = false;
@@ -163,27 +165,96 @@ public abstract class BlueGigaResponse extends BlueGigaPacket {
     }
 
     protected int[] deserializeUInt8Array() {
-        int length = buffer[position++];
+        int[] val = deserializeUInt8Array(position);
+        position += val.length + 1;
+
+        return val;
+    }
+
+    /**
+     * Reads a uint8 array at the given offset without moving the read position
+     *
+     * @param offset position of the length byte of the array
+     * @return value read from input
+     */
+    protected int[] deserializeUInt8Array(int offset) {
+        int length = buffer[offset];
         int[] val = new int[length];
 
-        for (int cnt = 0; cnt < length; cnt++) {
-            val[cnt] = deserializeUInt8();
-        }
+        System.arraycopy(buffer, offset + 1, val, 0, length);
 
         return val;
     }
 
+    /**
+     * Skips a uint8 array so it can be read later with {@link #deserializeUInt8Array(int)}
+     *
+     * @return offset of the skipped array
+     */
+    protected int skipUInt8Array() {
+        int offset = position;
+        position += buffer[position] + 1;
+        return offset;
+    }
+
     protected String deserializeAddress() {
-        StringBuilder builder = new StringBuilder();
+        String address = deserializeAddress(position);
+        position += 6;
+
+        return address;
+    }
+
+    /**
+     * Reads an address at the given offset without moving the read position
+     *
+     * @param offset position of the address
+     * @return value read from input
+     */
+    protected String deserializeAddress(int offset) {
+        StringBuilder builder = new StringBuilder(17);
 
         for (int cnt = 5; cnt >= 0; cnt--) {
             if (cnt < 5) {
                 builder.append(':');
             }
-            builder.append(String.format("%02X", buffer[position + cnt]));
+            builder.append(HEX_DIGITS[buffer[offset + cnt] >> 4]).append(HEX_DIGITS[buffer[offset + cnt] & 0x0F]);
         }
-        position += 6;
 
         return builder.toString();
     }
+
+    /**
+     * Reads an address at the given offset as a number, without formatting it
+     *
+     * @param offset position of the address
+     * @return the 48 bits of the address, most significant byte first as in {@link #deserializeAddress(int)}
+     */
+    protected long getAddressBits(int offset) {
+        long bits = 0;
+        for (int cnt = 5; cnt >= 0; cnt--) {
+            bits = (bits << 8) | buffer[offset + cnt];
+        }
+        return bits;
+    }
+
+    /**
+     * Skips an address so it can be read later with {@link #deserializeAddress(int)}
+     *
+     * @return offset of the skipped address
+     */
+    protected int skipAddress() {
+        int offset = position;
+        position += 6;
+        return offset;
+    }
+
+    /**
+     * Reads a uint8 at the given offset without moving the read position
+     *
+     * @param offset position of the value
+     * @return value read from input
+     */
+    protected int getUInt8(int offset) {
+        return buffer[offset];
+    }
 }
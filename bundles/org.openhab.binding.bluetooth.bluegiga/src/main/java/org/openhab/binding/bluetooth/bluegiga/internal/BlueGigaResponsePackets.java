@@ -12,11 +12,7 @@
  */
 package org.openhab.binding.bluetooth.bluegiga.internal;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -103,102 +99,114 @@ class BlueGigaResponsePackets {
 
     private static Logger logger = LoggerFactory.getLogger(BlueGigaResponsePackets.class);
 
-    private static final Map<Integer, Class<?>> packetMap = new HashMap<>();
+    // indexed by event flag, command class and command method, see index()
+    private static final Function<int[], BlueGigaResponse>[] PACKET_FACTORIES = newTable(2 * 16 * 256);
 
     static {
-        packetMap.put(Objects.hash(0x00, 0x06, true), BlueGigaProtocolErrorEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x02, true), BlueGigaEndpointWatermarkRxEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x03, true), BlueGigaEndpointWatermarkTxEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x05, true), BlueGigaNoLicenseKeyEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x05, false), BlueGigaAttributeWriteResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x0A, false), BlueGigaExecuteWriteResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x00, false), BlueGigaFindByTypeValueResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x03, false), BlueGigaFindInformationResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x07, false), BlueGigaIndicateConfirmResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x09, false), BlueGigaPrepareWriteResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x01, false), BlueGigaReadByGroupTypeResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x04, false), BlueGigaReadByHandleResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x02, false), BlueGigaReadByTypeResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x08, false), BlueGigaReadLongResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x0B, false), BlueGigaReadMultipleResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x06, false), BlueGigaWriteCommandResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x01, true), BlueGigaProcedureCompletedEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x05, true), BlueGigaAttributeValueEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x04, true), BlueGigaFindInformationFoundEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x02, true), BlueGigaGroupFoundEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x00, true), BlueGigaIndicatedEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x00, true), BlueGigaReadMultipleResponseEvent.class);
-        packetMap.put(Objects.hash(0x02, 0x01, false), BlueGigaReadResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x02, false), BlueGigaReadTypeResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x02, false), BlueGigaSendAttributesResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x03, false), BlueGigaUserReadResponseResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x04, false), BlueGigaUserWriteResponseResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x00, false), BlueGigaWriteResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x02, true), BlueGigaAttributeStatusEvent.class);
-        packetMap.put(Objects.hash(0x02, 0x01, true), BlueGigaUserReadRequestEvent.class);
-        packetMap.put(Objects.hash(0x02, 0x00, true), BlueGigaValueEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x04, false), BlueGigaChannelMapGetResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x00, false), BlueGigaDisconnectResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x01, false), BlueGigaGetRssiResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x07, false), BlueGigaGetStatusResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x02, false), BlueGigaUpdateResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x04, true), BlueGigaDisconnectedEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x02, true), BlueGigaFeatureIndEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x00, true), BlueGigaConnectionStatusEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x01, true), BlueGigaVersionIndEvent.class);
-        packetMap.put(Objects.hash(0x06, 0x07, false), BlueGigaSetScanParametersResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x03, false), BlueGigaConnectDirectResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x05, false), BlueGigaConnectSelectiveResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x02, false), BlueGigaDiscoverResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x08, false), BlueGigaSetAdvParametersResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x09, false), BlueGigaSetAdvDataResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x04, false), BlueGigaEndProcedureResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x01, false), BlueGigaSetModeResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x00, true), BlueGigaScanResponseEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x02, false), BlueGigaDeleteBondingResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x00, false), BlueGigaEncryptStartResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x05, false), BlueGigaGetBondsResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x04, false), BlueGigaPassKeyResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x01, false), BlueGigaSetBondableModeResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x03, false), BlueGigaSetParametersResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x07, false), BlueGigaWhitelistBondsResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x0A, false), BlueGigaWhitelistAppendResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x0B, false), BlueGigaWhitelistRemoveResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x0C, false), BlueGigaWhitelistClearResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x01, true), BlueGigaBondingFailEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x04, true), BlueGigaBondStatusEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x02, true), BlueGigaPasskeyDisplayEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x03, true), BlueGigaPasskeyRequestEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x02, false), BlueGigaAddressGetResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x01, false), BlueGigaHelloResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x00, false), BlueGigaResetResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x06, false), BlueGigaGetConnectionsResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x05, false), BlueGigaGetCountersResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x08, false), BlueGigaGetInfoResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x00, true), BlueGigaBootEvent.class);
+        register(0x00, 0x06, true, BlueGigaProtocolErrorEvent::new);
+        register(0x00, 0x02, true, BlueGigaEndpointWatermarkRxEvent::new);
+        register(0x00, 0x03, true, BlueGigaEndpointWatermarkTxEvent::new);
+        register(0x00, 0x05, true, BlueGigaNoLicenseKeyEvent::new);
+        register(0x04, 0x05, false, BlueGigaAttributeWriteResponse::new);
+        register(0x04, 0x0A, false, BlueGigaExecuteWriteResponse::new);
+        register(0x04, 0x00, false, BlueGigaFindByTypeValueResponse::new);
+        register(0x04, 0x03, false, BlueGigaFindInformationResponse::new);
+        register(0x04, 0x07, false, BlueGigaIndicateConfirmResponse::new);
+        register(0x04, 0x09, false, BlueGigaPrepareWriteResponse::new);
+        register(0x04, 0x01, false, BlueGigaReadByGroupTypeResponse::new);
+        register(0x04, 0x04, false, BlueGigaReadByHandleResponse::new);
+        register(0x04, 0x02, false, BlueGigaReadByTypeResponse::new);
+        register(0x04, 0x08, false, BlueGigaReadLongResponse::new);
+        register(0x04, 0x0B, false, BlueGigaReadMultipleResponse::new);
+        register(0x04, 0x06, false, BlueGigaWriteCommandResponse::new);
+        register(0x04, 0x01, true, BlueGigaProcedureCompletedEvent::new);
+        register(0x04, 0x05, true, BlueGigaAttributeValueEvent::new);
+        register(0x04, 0x04, true, BlueGigaFindInformationFoundEvent::new);
+        register(0x04, 0x02, true, BlueGigaGroupFoundEvent::new);
+        register(0x04, 0x00, true, BlueGigaIndicatedEvent::new);
+        register(0x04, 0x00, true, BlueGigaReadMultipleResponseEvent::new);
+        register(0x02, 0x01, false, BlueGigaReadResponse::new);
+        register(0x02, 0x02, false, BlueGigaReadTypeResponse::new);
+        register(0x02, 0x02, false, BlueGigaSendAttributesResponse::new);
+        register(0x02, 0x03, false, BlueGigaUserReadResponseResponse::new);
+        register(0x02, 0x04, false, BlueGigaUserWriteResponseResponse::new);
+        register(0x02, 0x00, false, BlueGigaWriteResponse::new);
+        register(0x02, 0x02, true, BlueGigaAttributeStatusEvent::new);
+        register(0x02, 0x01, true, BlueGigaUserReadRequestEvent::new);
+        register(0x02, 0x00, true, BlueGigaValueEvent::new);
+        register(0x03, 0x04, false, BlueGigaChannelMapGetResponse::new);
+        register(0x03, 0x00, false, BlueGigaDisconnectResponse::new);
+        register(0x03, 0x01, false, BlueGigaGetRssiResponse::new);
+        register(0x03, 0x07, false, BlueGigaGetStatusResponse::new);
+        register(0x03, 0x02, false, BlueGigaUpdateResponse::new);
+        register(0x03, 0x04, true, BlueGigaDisconnectedEvent::new);
+        register(0x03, 0x02, true, BlueGigaFeatureIndEvent::new);
+        register(0x03, 0x00, true, BlueGigaConnectionStatusEvent::new);
+        register(0x03, 0x01, true, BlueGigaVersionIndEvent::new);
+        register(0x06, 0x07, false, BlueGigaSetScanParametersResponse::new);
+        register(0x06, 0x03, false, BlueGigaConnectDirectResponse::new);
+        register(0x06, 0x05, false, BlueGigaConnectSelectiveResponse::new);
+        register(0x06, 0x02, false, BlueGigaDiscoverResponse::new);
+        register(0x06, 0x08, false, BlueGigaSetAdvParametersResponse::new);
+        register(0x06, 0x09, false, BlueGigaSetAdvDataResponse::new);
+        register(0x06, 0x04, false, BlueGigaEndProcedureResponse::new);
+        register(0x06, 0x01, false, BlueGigaSetModeResponse::new);
+        register(0x06, 0x00, true, BlueGigaScanResponseEvent::new);
+        register(0x05, 0x02, false, BlueGigaDeleteBondingResponse::new);
+        register(0x05, 0x00, false, BlueGigaEncryptStartResponse::new);
+        register(0x05, 0x05, false, BlueGigaGetBondsResponse::new);
+        register(0x05, 0x04, false, BlueGigaPassKeyResponse::new);
+        register(0x05, 0x01, false, BlueGigaSetBondableModeResponse::new);
+        register(0x05, 0x03, false, BlueGigaSetParametersResponse::new);
+        register(0x05, 0x07, false, BlueGigaWhitelistBondsResponse::new);
+        register(0x00, 0x0A, false, BlueGigaWhitelistAppendResponse::new);
+        register(0x00, 0x0B, false, BlueGigaWhitelistRemoveResponse::new);
+        register(0x00, 0x0C, false, BlueGigaWhitelistClearResponse::new);
+        register(0x05, 0x01, true, BlueGigaBondingFailEvent::new);
+        register(0x05, 0x04, true, BlueGigaBondStatusEvent::new);
+        register(0x05, 0x02, true, BlueGigaPasskeyDisplayEvent::new);
+        register(0x05, 0x03, true, BlueGigaPasskeyRequestEvent::new);
+        register(0x00, 0x02, false, BlueGigaAddressGetResponse::new);
+        register(0x00, 0x01, false, BlueGigaHelloResponse::new);
+        register(0x00, 0x00, false, BlueGigaResetResponse::new);
+        register(0x00, 0x06, false, BlueGigaGetConnectionsResponse::new);
+        register(0x00, 0x05, false, BlueGigaGetCountersResponse::new);
+        register(0x00, 0x08, false, BlueGigaGetInfoResponse::new);
+        register(0x00, 0x00, true, BlueGigaBootEvent::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<int[], BlueGigaResponse>[] newTable(int size) {
+        return new Function[size];
+    }
+
+    private static void register(int cmdClass, int cmdMethod, boolean isEvent,
+            Function<int[], BlueGigaResponse> factory) {
+        PACKET_FACTORIES[index(cmdClass, cmdMethod, isEvent)] = factory;
+    }
+
+    private static int index(int cmdClass, int cmdMethod, boolean isEvent) {
+        return (isEvent ? 0x1000 : 0) | (cmdClass << 8) | cmdMethod;
     }
 
-    @SuppressWarnings({ "null", "unused" })
     @Nullable
     public static BlueGigaResponse getPacket(int[] data) {
         int cmdClass = data[2];
         int cmdMethod = data[3];
         boolean isEvent = (data[0] & 0x80) != 0;
 
-        Class<?> bleClass = packetMap.get(Objects.hash(cmdClass, cmdMethod, isEvent));
-
-        if (bleClass == null) {
+        if (cmdClass > 0x0F || cmdMethod > 0xFF) {
             return null;
         }
 
-        Constructor<?> ctor;
+        Function<int[], BlueGigaResponse> factory = PACKET_FACTORIES[index(cmdClass, cmdMethod, isEvent)];
+        if (factory == null) {
+            return null;
+        }
 
         try {
-            ctor = bleClass.getConstructor(int[].class);
-            BlueGigaResponse bleFrame = (BlueGigaResponse) ctor.newInstance(data);
-            return bleFrame;
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
-                | IllegalArgumentException | InvocationTargetException e) {
+            return factory.apply(data);
+        } catch (RuntimeException e) {
             logger.error("Error instantiating BLE class", e);
         }
 
@@ -13,6 +13,7 @@
 package org.openhab.binding.bluetooth.bluegiga.internal.command.gap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaResponse;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BluetoothAddressType;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
@@ -54,7 +55,8 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
      * <p>
      * BlueGiga API type is <i>bd_addr</i> - Java type is {@link String}
      */
-    private String sender;
+    private @Nullable String sender;
+    private final int senderOffset;
 
     /**
      * Advertiser address type. 1: random address. 0: public address
@@ -75,7 +77,8 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
      * <p>
      * BlueGiga API type is <i>uint8array</i> - Java type is {@link int[]}
      */
-    private int[] data;
+    private int @Nullable [] data;
+    private final int dataOffset;
 
     /**
      * Event constructor
@@ -89,10 +92,11 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
         // Deserialize the fields
         rssi = deserializeInt8();
         packetType = deserializeScanResponseType();
-        sender = deserializeAddress();
+        // Sender and data are decoded on first access, the input buffer is not reused by the framer
+        senderOffset = skipAddress();
         addressType = deserializeBluetoothAddressType();
         bond = deserializeUInt8();
-        data = deserializeUInt8Array();
+        dataOffset = skipUInt8Array();
     }
 
     /**
@@ -126,9 +130,23 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
      * @return the current sender as {@link String}
      */
     public String getSender() {
+        String sender = this.sender;
+        if (sender == null) {
+            sender = deserializeAddress(senderOffset);
+            this.sender = sender;
+        }
         return sender;
     }
 
+    /**
+     * Advertisers address as a number, without formatting it as {@link #getSender()} does.
+     *
+     * @return the 48 bits of the address
+     */
+    public long getSenderBits() {
+        return getAddressBits(senderOffset);
+    }
+
     /**
      * Advertiser address type. 1: random address. 0: public address
      * <p>
@@ -159,9 +177,55 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
      * @return the current data as {@link int[]}
      */
     public int[] getData() {
+        int[] data = this.data;
+        if (data == null) {
+            data = deserializeUInt8Array(dataOffset);
+            this.data = data;
+        }
         return data;
     }
 
+    /**
+     * Length of the scan response data, without decoding it.
+     *
+     * @return the number of bytes in {@link #getData()}
+     */
+    public int getDataLength() {
+        return getUInt8(dataOffset);
+    }
+
+    /**
+     * Single byte of the scan response data, without decoding all of it.
+     *
+     * @param index index within {@link #getData()}
+     * @return the byte as unsigned value
+     */
+    public int getDataByte(int index) {
+        return getUInt8(dataOffset + 1 + index);
+    }
+
+    /**
+     * Finds the first advertising data structure of the given type in the scan response data without decoding it.
+     *
+     * @param type the advertising data type, see
+     *            {@link org.openhab.binding.bluetooth.bluegiga.internal.eir.EirDataType#getKey()}
+     * @return the index within {@link #getData()} of the length byte of the structure, or -1 if there is none
+     */
+    public int findAdvertisingData(int type) {
+        int length = getDataLength();
+        for (int index = 0; index + 1 < length;) {
+            int recordLength = getDataByte(index);
+            if (recordLength == 0 || index + recordLength >= length) {
+                break;
+            }
+            if (getDataByte(index + 1) == type) {
+                return index;
+            }
+            index += recordLength + 1;
+        }
+        return -1;
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
@@ -170,12 +234,13 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
         builder.append(", packetType=");
         builder.append(packetType);
         builder.append(", sender=");
-        builder.append(sender);
+        builder.append(getSender());
         builder.append(", addressType=");
         builder.append(addressType);
         builder.append(", bond=");
         builder.append(bond);
         builder.append(", data=");
+        int[] data = getData();
         for (int c = 0; c < data.length; c++) {
             if (c > 0) {
                 builder.append(' ');
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.attributeclient.BlueGigaFindInformationFoundEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaHelloResponse;
+
+/**
+ * Tests {@link BlueGigaFramer} and {@link BlueGigaResponsePackets}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFramerTest {
+
+    private static final int[] FIND_INFORMATION_FOUND = { 0x80, 0x06, 0x04, 0x04, 0x02, 0x0A, 0x00, 0x02, 0x00,
+            0x28 };
+    private static final int[] HELLO_RESPONSE = { 0x00, 0x00, 0x00, 0x01 };
+    private static final int[] SCAN_RESPONSE = { 0x80, 0x0E, 0x06, 0x00, 0xC4, 0x00, 0x66, 0x55, 0x44, 0x33, 0x22,
+            0x11, 0x01, 0xFF, 0x03, 0x02, 0x01, 0x06 };
+
+    @Test
+    public void testFramesSplitAtEveryPosition() {
+        byte[] stream = concat(FIND_INFORMATION_FOUND, HELLO_RESPONSE, SCAN_RESPONSE);
+
+        for (int chunkSize = 1; chunkSize <= stream.length; chunkSize++) {
+            BlueGigaFramer framer = new BlueGigaFramer(chunkSize);
+            int frames = 0;
+
+            for (int offset = 0; offset < stream.length; offset += chunkSize) {
+                framer.write(stream, offset, Math.min(chunkSize, stream.length - offset));
+
+                int[] frame;
+                while ((frame = framer.next()) != null) {
+                    switch (frames++) {
+                        case 0:
+                            assertArrayEquals(FIND_INFORMATION_FOUND, frame);
+                            break;
+                        case 1:
+                            assertArrayEquals(HELLO_RESPONSE, frame);
+                            break;
+                        default:
+                            assertArrayEquals(SCAN_RESPONSE, frame);
+                            break;
+                    }
+                }
+            }
+
+            assertEquals("chunk size " + chunkSize, 3, frames);
+            assertEquals(0, framer.getFramingErrors());
+        }
+    }
+
+    @Test
+    public void testResynchronisation() {
+        // garbage with a technology type other than bluetooth, a length of more than 64 bytes and a class ID >= 8
+        byte[] stream = concat(new int[] { 0x12, 0x00, 0x40, 0x80, 0x01, 0x09 }, HELLO_RESPONSE);
+        BlueGigaFramer framer = new BlueGigaFramer(stream.length);
+        framer.write(stream, 0, stream.length);
+
+        assertArrayEquals(HELLO_RESPONSE, framer.next());
+        assertNull(framer.next());
+        assertEquals(6, framer.getFramingErrors());
+    }
+
+    @Test
+    public void testPacketTable() {
+        assertTrue(BlueGigaResponsePackets
+                .getPacket(FIND_INFORMATION_FOUND) instanceof BlueGigaFindInformationFoundEvent);
+        assertTrue(BlueGigaResponsePackets.getPacket(HELLO_RESPONSE) instanceof BlueGigaHelloResponse);
+        assertTrue(BlueGigaResponsePackets.getPacket(SCAN_RESPONSE) instanceof BlueGigaScanResponseEvent);
+
+        // unknown method and malformed frame
+        assertNull(BlueGigaResponsePackets.getPacket(new int[] { 0x80, 0x00, 0x06, 0x0F }));
+        assertNull(BlueGigaResponsePackets.getPacket(new int[] { 0x80, 0x06, 0x04, 0x04, 0x02 }));
+    }
+
+    private static byte[] concat(int[]... frames) {
+        int length = 0;
+        for (int[] frame : frames) {
+            length += frame.length;
+        }
+
+        byte[] result = new byte[length];
+        int position = 0;
+        for (int[] frame : frames) {
+            for (int value : frame) {
+                result[position++] = (byte) value;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal.gap;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.eir.EirDataType;
+import org.openhab.binding.bluetooth.bluegiga.internal.eir.EirPacket;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BluetoothAddressType;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
+
+/**
+ * Tests {@link BlueGigaScanResponseEvent}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaScanResponseEventTest {
+
+    // flags, complete name "Test", manufacturer 0x0499 with 2 bytes of data and tx power -12 dBm
+    private static final int[] SCAN_RESPONSE = { 0x80, 0x1D, 0x06, 0x00, 0xC4, 0x00, 0x66, 0x55, 0x44, 0x33, 0x22,
+            0x11, 0x01, 0xFF, 0x12, 0x02, 0x01, 0x06, 0x05, 0x09, 'T', 'e', 's', 't', 0x05, 0xFF, 0x99, 0x04, 0x01,
+            0x02, 0x02, 0x0A, 0xF4 };
+
+    @Test
+    public void testDecoding() {
+        BlueGigaScanResponseEvent event = new BlueGigaScanResponseEvent(SCAN_RESPONSE);
+
+        assertTrue(event.isEvent());
+        assertEquals(-60, event.getRssi());
+        assertEquals(ScanResponseType.CONNECTABLE_ADVERTISEMENT, event.getPacketType());
+        assertEquals(0x112233445566L, event.getSenderBits());
+        assertEquals("11:22:33:44:55:66", event.getSender());
+        assertEquals(BluetoothAddressType.GAP_ADDRESS_TYPE_RANDOM, event.getAddressType());
+        assertEquals(0xFF, event.getBond());
+        assertEquals(18, event.getDataLength());
+        assertEquals(18, event.getData().length);
+        assertEquals(0x06, event.getDataByte(2));
+    }
+
+    @Test
+    public void testFindAdvertisingData() {
+        BlueGigaScanResponseEvent event = new BlueGigaScanResponseEvent(SCAN_RESPONSE);
+
+        assertEquals(0, event.findAdvertisingData(EirDataType.EIR_FLAGS.getKey()));
+        assertEquals(3, event.findAdvertisingData(EirDataType.EIR_NAME_LONG.getKey()));
+        assertEquals(9, event.findAdvertisingData(EirDataType.EIR_MANUFACTURER_SPECIFIC.getKey()));
+        assertEquals(15, event.findAdvertisingData(EirDataType.EIR_TXPOWER.getKey()));
+        assertEquals(-1, event.findAdvertisingData(EirDataType.EIR_NAME_SHORT.getKey()));
+
+        // same records as the full decoder finds
+        EirPacket eir = new EirPacket(event.getData());
+        assertEquals("Test", eir.getRecord(EirDataType.EIR_NAME_LONG));
+        assertEquals(-12, eir.getRecord(EirDataType.EIR_TXPOWER));
+        @SuppressWarnings("unchecked")
+        Map<Short, int[]> manufacturer = (Map<Short, int[]>) eir.getRecord(EirDataType.EIR_MANUFACTURER_SPECIFIC);
+        assertNotNull(manufacturer);
+        assertTrue(manufacturer.containsKey((short) 0x0499));
+    }
+
+    @Test
+    public void testTruncatedAdvertisingData() {
+        // last record claims more bytes than the scan response contains
+        int[] truncated = { 0x80, 0x0E, 0x06, 0x00, 0xC4, 0x00, 0x66, 0x55, 0x44, 0x33, 0x22, 0x11, 0x01, 0xFF, 0x03,
+                0x05, 0x0A, 0xF4 };
+        BlueGigaScanResponseEvent event = new BlueGigaScanResponseEvent(truncated);
+
+        assertEquals(-1, event.findAdvertisingData(EirDataType.EIR_TXPOWER.getKey()));
+    }
+}
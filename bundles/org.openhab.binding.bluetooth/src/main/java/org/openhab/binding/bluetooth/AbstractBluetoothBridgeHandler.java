@@ -29,6 +29,7 @@ import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +59,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     private BaseBluetoothBridgeHandlerConfiguration config = new BaseBluetoothBridgeHandlerConfiguration();
 
+    // Drops redundant scan records before they are dispatched to the device listeners
+    private volatile BluetoothAdvertisementFilter advertisementFilter = new BluetoothAdvertisementFilter(config);
+
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
     /**
@@ -77,6 +81,12 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
     @Override
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
+        try {
+            advertisementFilter = new BluetoothAdvertisementFilter(config);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid advertisement filter configuration, using defaults: {}", e.getMessage());
+            advertisementFilter = new BluetoothAdvertisementFilter(new BaseBluetoothBridgeHandlerConfiguration());
+        }
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
@@ -112,6 +122,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
                 }
             }
         }
+        logger.debug("Advertisements forwarded: {}, dropped: {}", getForwardedAdvertisements(),
+                getDroppedAdvertisements());
     }
 
     protected void removeDevice(BluetoothDevice device) {
@@ -119,6 +131,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
         synchronized (devices) {
             devices.remove(device.getAddress());
         }
+        advertisementFilter.remove(device.getAddress());
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
@@ -137,6 +150,31 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
                 .isAfter(device.getLastSeenTime());
     }
 
+    /**
+     * Runs a scan record through the advertisement filter of this bridge.
+     *
+     * @param device the device the record was received from
+     * @param notification the received scan record, its RSSI is replaced by the smoothed value
+     * @return true if the record should be passed on to the device listeners
+     */
+    public boolean filterScanRecord(BluetoothDevice device, BluetoothScanNotification notification) {
+        return advertisementFilter.accept(device.getAddress(), notification);
+    }
+
+    /**
+     * @return number of scan records passed on to device listeners since the bridge was initialized
+     */
+    public long getForwardedAdvertisements() {
+        return advertisementFilter.getForwardedCount();
+    }
+
+    /**
+     * @return number of scan records dropped as duplicates or by the rate limit since the bridge was initialized
+     */
+    public long getDroppedAdvertisements() {
+        return advertisementFilter.getDroppedCount();
+    }
+
     @Override
     public void addDiscoveryListener(BluetoothDiscoveryListener listener) {
         discoveryListeners.add(listener);
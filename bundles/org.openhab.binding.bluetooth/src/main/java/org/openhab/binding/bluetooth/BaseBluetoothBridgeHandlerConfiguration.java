@@ -26,4 +26,7 @@ public class BaseBluetoothBridgeHandlerConfiguration {
     public boolean backgroundDiscovery = false;
     public int inactiveDeviceCleanupInterval = 60;
     public int inactiveDeviceCleanupThreshold = 300;
+    public int duplicateAdvertisementWindow = 1000;
+    public int minAdvertisementInterval = 0;
+    public double rssiSmoothing = 0;
 }
@@ -294,6 +294,9 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
      */
     @Override
     protected void notifyListeners(BluetoothEventType event, Object... args) {
+        if (event == BluetoothEventType.SCAN_RECORD && !isScanRecordAccepted((BluetoothScanNotification) args[0])) {
+            return;
+        }
         for (BluetoothDeviceListener listener : eventListeners) {
             try {
                 switch (event) {
@@ -327,6 +330,13 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
         }
     }
 
+    private boolean isScanRecordAccepted(BluetoothScanNotification notification) {
+        if (eventListeners.isEmpty() || !(adapter instanceof AbstractBluetoothBridgeHandler)) {
+            return true;
+        }
+        return ((AbstractBluetoothBridgeHandler<?>) adapter).filterScanRecord(this, notification);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
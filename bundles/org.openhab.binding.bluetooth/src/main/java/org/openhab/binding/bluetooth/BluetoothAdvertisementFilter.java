@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * The {@link BluetoothAdvertisementFilter} decides which scan records of a device are passed on to its listeners.
+ * <p>
+ * Beacons usually advertise many times per second with an unchanged payload, so every record is run through this
+ * filter before it is dispatched:
+ * <ul>
+ * <li>a record carrying the same manufacturer data as the last forwarded record is dropped, unless the duplicate window
+ * has passed since then</li>
+ * <li>records following the last forwarded record of the device within the minimum interval are dropped</li>
+ * <li>the RSSI of every record, including dropped ones, is fed into an exponential moving average and forwarded records
+ * carry that smoothed value</li>
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementFilter {
+
+    private final long duplicateWindow;
+    private final long minInterval;
+    private final double rssiSmoothing;
+
+    private final Map<BluetoothAddress, DeviceState> states = new ConcurrentHashMap<>();
+
+    private final AtomicLong forwarded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param duplicateWindow milliseconds during which identical manufacturer data is dropped, 0 to disable
+     * @param minInterval minimum milliseconds between two forwarded records of the same device, 0 to disable
+     * @param rssiSmoothing weight of the previous RSSI average between 0 (no smoothing) and 1 (exclusive)
+     */
+    public BluetoothAdvertisementFilter(long duplicateWindow, long minInterval, double rssiSmoothing) {
+        if (rssiSmoothing < 0 || rssiSmoothing >= 1) {
+            throw new IllegalArgumentException("RSSI smoothing must be within [0, 1)");
+        }
+        this.duplicateWindow = Math.max(0, duplicateWindow);
+        this.minInterval = Math.max(0, minInterval);
+        this.rssiSmoothing = rssiSmoothing;
+    }
+
+    public BluetoothAdvertisementFilter(BaseBluetoothBridgeHandlerConfiguration config) {
+        this(config.duplicateAdvertisementWindow, config.minAdvertisementInterval, config.rssiSmoothing);
+    }
+
+    /**
+     * Checks whether a scan record should be passed on to the listeners of a device. If so, the RSSI of the
+     * notification is replaced by the smoothed value.
+     *
+     * @param address the address of the device the record was received from
+     * @param notification the received scan record
+     * @return true if the record should be forwarded
+     */
+    public boolean accept(BluetoothAddress address, BluetoothScanNotification notification) {
+        return accept(address, notification, System.currentTimeMillis());
+    }
+
+    boolean accept(BluetoothAddress address, BluetoothScanNotification notification, long now) {
+        DeviceState state = states.computeIfAbsent(address, a -> new DeviceState());
+        synchronized (state) {
+            int rssi = notification.getRssi();
+            if (rssi != Integer.MIN_VALUE) {
+                state.smoothedRssi = Double.isNaN(state.smoothedRssi) ? rssi
+                        : rssiSmoothing * state.smoothedRssi + (1 - rssiSmoothing) * rssi;
+            }
+
+            if (isDropped(state, notification, now)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+
+            state.lastForwarded = now;
+            byte[] manufacturerData = notification.getManufacturerData();
+            if (manufacturerData != null) {
+                state.lastManufacturerData = manufacturerData;
+                state.lastManufacturerDataForwarded = now;
+            }
+            if (rssi != Integer.MIN_VALUE) {
+                notification.setRssi((int) Math.round(state.smoothedRssi));
+            }
+            forwarded.incrementAndGet();
+            return true;
+        }
+    }
+
+    private boolean isDropped(DeviceState state, BluetoothScanNotification notification, long now) {
+        if (state.lastForwarded == Long.MIN_VALUE) {
+            return false;
+        }
+        if (minInterval > 0 && now - state.lastForwarded < minInterval) {
+            return true;
+        }
+        byte[] manufacturerData = notification.getManufacturerData();
+        return duplicateWindow > 0 && manufacturerData != null
+                && now - state.lastManufacturerDataForwarded < duplicateWindow
+                && Arrays.equals(manufacturerData, state.lastManufacturerData);
+    }
+
+    /**
+     * Forgets everything known about a device, e.g. when it is removed from the bridge.
+     */
+    public void remove(BluetoothAddress address) {
+        states.remove(address);
+    }
+
+    /**
+     * @return number of scan records passed on to the device listeners
+     */
+    public long getForwardedCount() {
+        return forwarded.get();
+    }
+
+    /**
+     * @return number of scan records dropped as duplicates or because of the rate limit
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static class DeviceState {
+        private long lastForwarded = Long.MIN_VALUE;
+        private long lastManufacturerDataForwarded = Long.MIN_VALUE;
+        private byte @Nullable [] lastManufacturerData;
+        private double smoothedRssi = Double.NaN;
+    }
+}
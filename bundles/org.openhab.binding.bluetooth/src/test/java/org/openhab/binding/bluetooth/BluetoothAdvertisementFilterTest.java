@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link BluetoothAdvertisementFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BluetoothAdvertisementFilterTest {
+
+    private static final BluetoothAddress BEACON = new BluetoothAddress("12:34:56:78:9A:BC");
+    private static final BluetoothAddress OTHER_BEACON = new BluetoothAddress("12:34:56:78:9A:BD");
+
+    private static final byte[] PAYLOAD = { (byte) 0x99, 0x04, 0x05, 0x12, (byte) 0xFC, 0x53, (byte) 0x94 };
+    private static final byte[] CHANGED_PAYLOAD = { (byte) 0x99, 0x04, 0x05, 0x12, (byte) 0xFD, 0x53, (byte) 0x94 };
+
+    @Test
+    public void testDuplicatesDroppedWithinWindow() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(1000, 0, 0);
+
+        assertTrue(filter.accept(BEACON, record(-70, PAYLOAD), 0));
+        assertFalse(filter.accept(BEACON, record(-70, PAYLOAD.clone()), 100));
+        assertFalse(filter.accept(BEACON, record(-71, PAYLOAD.clone()), 999));
+        assertTrue(filter.accept(BEACON, record(-70, CHANGED_PAYLOAD), 1200));
+        assertTrue(filter.accept(BEACON, record(-70, PAYLOAD), 1300));
+        assertTrue(filter.accept(BEACON, record(-70, PAYLOAD), 2300));
+
+        assertEquals(4, filter.getForwardedCount());
+        assertEquals(2, filter.getDroppedCount());
+    }
+
+    @Test
+    public void testRecordsWithoutManufacturerDataAreNotDuplicates() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(1000, 0, 0);
+
+        assertTrue(filter.accept(BEACON, record(-70, null), 0));
+        assertTrue(filter.accept(BEACON, record(-70, null), 10));
+        assertTrue(filter.accept(OTHER_BEACON, record(-70, PAYLOAD), 10));
+        assertTrue(filter.accept(BEACON, record(-70, PAYLOAD), 20));
+    }
+
+    @Test
+    public void testRateLimitPerDevice() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(0, 500, 0);
+
+        assertTrue(filter.accept(BEACON, record(-70, PAYLOAD), 0));
+        assertFalse(filter.accept(BEACON, record(-70, CHANGED_PAYLOAD), 100));
+        assertTrue(filter.accept(OTHER_BEACON, record(-70, CHANGED_PAYLOAD), 100));
+        assertTrue(filter.accept(BEACON, record(-70, CHANGED_PAYLOAD), 500));
+
+        filter.remove(BEACON);
+        assertTrue(filter.accept(BEACON, record(-70, CHANGED_PAYLOAD), 600));
+
+        assertEquals(4, filter.getForwardedCount());
+        assertEquals(1, filter.getDroppedCount());
+    }
+
+    @Test
+    public void testSmoothedRssiIncludesDroppedRecords() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(1000, 0, 0.5);
+
+        BluetoothScanNotification first = record(-80, PAYLOAD);
+        assertTrue(filter.accept(BEACON, first, 0));
+        assertEquals(-80, first.getRssi());
+
+        assertFalse(filter.accept(BEACON, record(-60, PAYLOAD), 100));
+
+        BluetoothScanNotification changed = record(-60, CHANGED_PAYLOAD);
+        assertTrue(filter.accept(BEACON, changed, 200));
+        assertEquals(-65, changed.getRssi());
+
+        BluetoothScanNotification withoutRssi = record(Integer.MIN_VALUE, PAYLOAD);
+        assertTrue(filter.accept(BEACON, withoutRssi, 300));
+        assertEquals(Integer.MIN_VALUE, withoutRssi.getRssi());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSmoothing() {
+        new BluetoothAdvertisementFilter(0, 0, 1);
+    }
+
+    private static BluetoothScanNotification record(int rssi, byte[] manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        if (manufacturerData != null) {
+            notification.setManufacturerData(manufacturerData);
+        }
+        return notification;
+    }
+}
@@ -14,7 +14,10 @@ package org.openhab.binding.enocean.internal.eep;
 
 import static org.openhab.binding.enocean.internal.messages.ESP3Packet.*;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -39,36 +42,73 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
-    public static EEP createEEP(EEPType eepType) {
-        try {
+    // constructors are resolved once per EEPType, looking them up for every received telegram is too expensive
+    private static final Map<EEPType, Constructor<? extends EEP>> SENDING_CONSTRUCTORS = new EnumMap<>(
+            EEPType.class);
+    private static final Map<EEPType, Constructor<? extends EEP>> RECEIVING_CONSTRUCTORS = new EnumMap<>(
+            EEPType.class);
+
+    static {
+        for (EEPType eepType : EEPType.values()) {
             Class<? extends EEP> cl = eepType.getEEPClass();
             if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
+                continue;
+            }
+
+            try {
+                SENDING_CONSTRUCTORS.put(eepType, cl.getConstructor());
+            } catch (NoSuchMethodException | SecurityException e) {
+                // EEP can only be received
             }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
+
+            try {
+                RECEIVING_CONSTRUCTORS.put(eepType, cl.getConstructor(ERP1Message.class));
+            } catch (NoSuchMethodException | SecurityException e) {
+                // EEP can only be sent
+            }
+        }
+    }
+
+    public static EEP createEEP(EEPType eepType) {
+        Constructor<? extends EEP> constructor = SENDING_CONSTRUCTORS.get(eepType);
+        if (constructor == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        }
+
+        try {
+            return constructor.newInstance();
+        } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
-        try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
+        Constructor<? extends EEP> constructor = RECEIVING_CONSTRUCTORS.get(eepType);
+        if (constructor == null) {
+            if (eepType.getEEPClass() == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
-            logger.error("Cannot instantiate EEP {}-{}-{}: {}",
-                    HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
-                    HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
-                    HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), e.getMessage());
 
+            logCannotInstantiate(eepType, "no constructor for received messages");
+            throw new IllegalArgumentException("Message " + eepType + " cannot be built from a received message");
+        }
+
+        try {
+            return constructor.newInstance(packet);
+        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException
+                | InvocationTargetException e) {
+            logCannotInstantiate(eepType, e.getMessage());
             throw new IllegalArgumentException(e);
         }
     }
 
+    private static void logCannotInstantiate(EEPType eepType, String reason) {
+        logger.error("Cannot instantiate EEP {}-{}-{}: {}",
+                HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
+                HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
+                HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), reason);
+    }
+
     public static EEP buildEEPFromTeachInERP1(ERP1Message msg) {
         if (!msg.getIsTeachIn() && !(msg.getRORG() == RORG.RPS)) {
             return null;
@@ -112,6 +112,10 @@ public class ESP3Packet {
         }
     }
 
+    public static byte updateCRC8(byte crc8, byte data) {
+        return crc8_table[(crc8 ^ data) & 0xff];
+    }
+
     public static boolean checkCRC8(byte data[], int length, byte crc8) {
         byte output = 0;
         for (int i = 0; i < length; i++) {
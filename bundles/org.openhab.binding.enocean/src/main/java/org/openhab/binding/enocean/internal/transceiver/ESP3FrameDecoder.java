@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.openhab.binding.enocean.internal.messages.ESP3Packet.*;
+
+/**
+ * Splits the raw byte stream of an ESP3 gateway into frames.
+ *
+ * Received bytes are appended in bulk to a ring buffer which is large enough to hold the biggest possible ESP3 frame.
+ * {@link #next()} then looks for a sync byte, validates the header and data CRC8 directly inside the ring buffer and
+ * only copies the data and optional data of a valid frame into {@link #getFrame()}. If a CRC check fails, decoding
+ * resumes at the byte following the rejected sync byte, so a valid frame hidden in garbage is still found.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3FrameDecoder {
+
+    // sync byte, header, header crc8 and data crc8
+    private static final int FRAME_OVERHEAD = 1 + ESP3_HEADER_LENGTH + 1 + 1;
+
+    // 2^17 bytes, enough for the biggest possible ESP3 frame (65535 data + 255 optional data + overhead)
+    private static final int RING_CAPACITY = 1 << 17;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+
+    private final byte[] ring = new byte[RING_CAPACITY];
+    private final byte[] frame = new byte[EnOceanTransceiver.ENOCEAN_MAX_DATA];
+
+    // read and write positions, only ever increasing, masked when accessing the ring
+    private long head = 0;
+    private long tail = 0;
+
+    private int dataLength = -1;
+    private int optionalLength = -1;
+    private byte packetType = -1;
+
+    private long discardedBytes = 0;
+    private long crcErrors = 0;
+
+    /**
+     * Appends received bytes to the ring buffer. If the ring buffer would overflow, the oldest bytes are dropped.
+     */
+    public void write(byte[] buffer, int offset, int length) {
+        if (length > RING_CAPACITY) {
+            discard(length - RING_CAPACITY);
+            offset += length - RING_CAPACITY;
+            length = RING_CAPACITY;
+        }
+
+        int free = RING_CAPACITY - available();
+        if (length > free) {
+            discard(length - free);
+            head += length - free;
+        }
+
+        int position = (int) (tail & RING_MASK);
+        int firstPart = Math.min(length, RING_CAPACITY - position);
+        System.arraycopy(buffer, offset, ring, position, firstPart);
+        System.arraycopy(buffer, offset + firstPart, ring, 0, length - firstPart);
+        tail += length;
+    }
+
+    /**
+     * Decodes the next complete and valid frame of the ring buffer.
+     *
+     * @return true if a frame was decoded, its content is available through the getters until the next call;
+     *         false if more bytes are needed
+     */
+    public boolean next() {
+        while (true) {
+            int available = available();
+
+            // skip everything up to the next sync byte
+            while (available > 0 && get(0) != ESP3_SYNC_BYTE) {
+                skip(1);
+                available--;
+            }
+
+            if (available < FRAME_OVERHEAD - 1) {
+                return false;
+            }
+
+            byte crc = 0;
+            for (int i = 1; i <= ESP3_HEADER_LENGTH; i++) {
+                crc = updateCRC8(crc, get(i));
+            }
+
+            int length = ((get(1) & 0xFF) << 8) | (get(2) & 0xFF);
+            int optional = get(3) & 0xFF;
+            if (crc != get(ESP3_HEADER_LENGTH + 1) || length + optional == 0) {
+                // not a real sync byte, retry with the following bytes
+                crcErrors++;
+                skip(1);
+                continue;
+            }
+
+            int frameLength = FRAME_OVERHEAD + length + optional;
+            if (available < frameLength) {
+                return false;
+            }
+
+            int dataStart = ESP3_HEADER_LENGTH + 2;
+            crc = 0;
+            for (int i = 0; i < length + optional; i++) {
+                crc = updateCRC8(crc, get(dataStart + i));
+            }
+
+            if (crc != get(frameLength - 1)) {
+                crcErrors++;
+                skip(1);
+                continue;
+            }
+
+            int position = (int) ((head + dataStart) & RING_MASK);
+            int firstPart = Math.min(length + optional, RING_CAPACITY - position);
+            System.arraycopy(ring, position, frame, 0, firstPart);
+            System.arraycopy(ring, 0, frame, firstPart, length + optional - firstPart);
+
+            dataLength = length;
+            optionalLength = optional;
+            packetType = get(4);
+
+            head += frameLength;
+            return true;
+        }
+    }
+
+    public void clear() {
+        head = tail = 0;
+        dataLength = optionalLength = packetType = -1;
+    }
+
+    /**
+     * @return data followed by optional data of the last decoded frame
+     */
+    public byte[] getFrame() {
+        return frame;
+    }
+
+    public int getDataLength() {
+        return dataLength;
+    }
+
+    public int getOptionalLength() {
+        return optionalLength;
+    }
+
+    public byte getPacketType() {
+        return packetType;
+    }
+
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    public long getCrcErrors() {
+        return crcErrors;
+    }
+
+    private int available() {
+        return (int) (tail - head);
+    }
+
+    private byte get(int index) {
+        return ring[(int) ((head + index) & RING_MASK)];
+    }
+
+    private void skip(int count) {
+        head += count;
+        discardedBytes += count;
+    }
+
+    private void discard(int count) {
+        discardedBytes += count;
+    }
+}
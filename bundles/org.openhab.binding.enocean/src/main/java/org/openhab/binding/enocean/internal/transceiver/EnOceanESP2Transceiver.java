@@ -51,24 +51,10 @@ public class EnOceanESP2Transceiver extends EnOceanTransceiver {
     byte packetType = -1;
 
     @Override
-    protected void processMessage(byte firstByte) {
-        byte[] readingBuffer = new byte[ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
+    protected void processMessage(byte[] readingBuffer, int bytesRead) {
         byte _byte;
 
         try {
-            readingBuffer[0] = firstByte;
-
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
-            }
-
-            if (readingTask == null || readingTask.isCancelled()) {
-                return;
-            }
-
-            bytesRead++;
             for (int p = 0; p < bytesRead; p++) {
                 _byte = readingBuffer[p];
 
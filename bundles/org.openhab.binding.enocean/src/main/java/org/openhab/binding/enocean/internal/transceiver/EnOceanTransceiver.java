@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.enocean.internal.transceiver;
 
+import static org.openhab.binding.enocean.internal.messages.ESP3Packet.ESP3_SENDERID_LENGTH;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -50,6 +52,9 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
     public static final int ENOCEAN_MAX_DATA = 65790;
 
+    // size of a single bulk read from the serial port
+    private static final int READ_BUFFER_SIZE = 1024;
+
     // Thread management
     protected Future<?> readingTask = null;
     private Future<?> timeOut = null;
@@ -246,24 +251,41 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
-            int bytesRead = read(buffer, 1);
+            int bytesRead;
+            try {
+                // blocks until at least one byte is available or the receive timeout elapses
+                bytesRead = this.inputStream.read(buffer, 0, buffer.length);
+            } catch (IOException e) {
+                if (readingTask != null && !readingTask.isCancelled() && errorListener != null) {
+                    errorListener.ErrorOccured(e);
+                }
+                return;
+            }
+
             if (bytesRead > 0) {
-                processMessage(buffer[0]);
+                try {
+                    processMessage(buffer, bytesRead);
+                } catch (RuntimeException e) {
+                    logger.debug("Exception while processing received data", e);
+                }
             }
         }
     }
 
-    protected abstract void processMessage(byte firstByte);
-
-    protected int read(byte[] buffer, int length) {
-        try {
-            return this.inputStream.read(buffer, 0, length);
-        } catch (IOException e) {
-            return 0;
-        }
+    /**
+     * Processes a chunk of bytes received from the gateway. Chunks are not aligned to packet boundaries.
+     */
+    protected abstract void processMessage(byte[] buffer, int length);
+
+    /**
+     * Converts a 4 byte sender id into the numeric key used by the listener map.
+     */
+    public static long getSenderIdKey(byte[] senderId) {
+        return ((senderId[0] & 0xFFL) << 24) | ((senderId[1] & 0xFFL) << 16) | ((senderId[2] & 0xFFL) << 8)
+                | (senderId[3] & 0xFFL);
     }
 
     protected void informListeners(ERP1Message msg) {
@@ -291,8 +313,11 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                HashSet<PacketListener> pl = listeners.get(s);
+                if (senderId.length != ESP3_SENDERID_LENGTH) {
+                    return;
+                }
+
+                HashSet<PacketListener> pl = listeners.get(getSenderIdKey(senderId));
                 if (pl != null) {
                     pl.forEach(l -> l.packetReceived(msg));
                 }
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_05;
+import org.openhab.binding.enocean.internal.eep.EEP;
+import org.openhab.binding.enocean.internal.eep.EEPFactory;
+import org.openhab.binding.enocean.internal.eep.EEPType;
+import org.openhab.binding.enocean.internal.eep.F6_02.F6_02_01;
+import org.openhab.binding.enocean.internal.messages.BasePacket;
+import org.openhab.binding.enocean.internal.messages.BasePacket.ESPPacketType;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
+
+/**
+ * Replays a captured ESP3 gateway dump through the {@link ESP3FrameDecoder}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3FrameDecoderTest {
+
+    // rocker switch F6-02-01, temperature sensor A5-02-05, RET_OK response, 1BS contact D5-00-01, VLD actuator D2-01
+    private static final String[] DUMP = { "55000707017AF630002EE1BD3001FFFFFFFF4400B9",
+            "55000A0701EBA5000055080181B7440001FFFFFFFF3A0049", "5500010002650000",
+            "55000707017AD50901825DAB0001FFFFFFFF50004C", "550009070156D204608001A02B3C0001FFFFFFFF4D00F3" };
+
+    private static final ESPPacketType[] DUMP_TYPES = { ESPPacketType.RADIO_ERP1, ESPPacketType.RADIO_ERP1,
+            ESPPacketType.RESPONSE, ESPPacketType.RADIO_ERP1, ESPPacketType.RADIO_ERP1 };
+
+    private ESP3FrameDecoder decoder;
+
+    @Before
+    public void setUp() {
+        decoder = new ESP3FrameDecoder();
+    }
+
+    @Test
+    public void decodesCapturedDump() {
+        byte[] dump = dump(DUMP);
+        decoder.write(dump, 0, dump.length);
+
+        List<BasePacket> packets = decodeAll();
+
+        assertEquals(DUMP.length, packets.size());
+        for (int i = 0; i < DUMP.length; i++) {
+            assertEquals(DUMP_TYPES[i], packets.get(i).getPacketType());
+        }
+        assertEquals(0, decoder.getDiscardedBytes());
+        assertEquals(0, decoder.getCrcErrors());
+
+        ERP1Message rocker = (ERP1Message) packets.get(0);
+        assertArrayEquals(HexUtils.hexToBytes("002EE1BD"), rocker.getSenderId());
+        assertEquals(0x002EE1BDL, EnOceanTransceiver.getSenderIdKey(rocker.getSenderId()));
+        assertEquals(0xFFFFFFFFL, EnOceanTransceiver.getSenderIdKey(HexUtils.hexToBytes("FFFFFFFF")));
+    }
+
+    @Test
+    public void decodesDumpSplitAtEveryPosition() {
+        byte[] dump = dump(DUMP);
+
+        for (int chunkSize = 1; chunkSize <= dump.length; chunkSize++) {
+            decoder.clear();
+
+            int decoded = 0;
+            for (int offset = 0; offset < dump.length; offset += chunkSize) {
+                decoder.write(dump, offset, Math.min(chunkSize, dump.length - offset));
+                while (decoder.next()) {
+                    decoded++;
+                }
+            }
+
+            assertEquals("chunk size " + chunkSize, DUMP.length, decoded);
+        }
+    }
+
+    @Test
+    public void resynchronizesAfterGarbageAndCorruptFrames() {
+        // leading noise containing a sync byte, a frame with a broken data crc and a truncated header
+        byte[] dump = dump("0012557F0055", DUMP[0], DUMP[1].substring(0, DUMP[1].length() - 2) + "00", "55000A",
+                DUMP[2], DUMP[3]);
+        decoder.write(dump, 0, dump.length);
+
+        List<BasePacket> packets = decodeAll();
+
+        assertEquals(3, packets.size());
+        assertEquals(ESPPacketType.RADIO_ERP1, packets.get(0).getPacketType());
+        assertEquals(ESPPacketType.RESPONSE, packets.get(1).getPacketType());
+        assertEquals(ESPPacketType.RADIO_ERP1, packets.get(2).getPacketType());
+        assertTrue(decoder.getCrcErrors() > 0);
+    }
+
+    @Test
+    public void waitsForIncompleteFrame() {
+        byte[] frame = HexUtils.hexToBytes(DUMP[1]);
+
+        decoder.write(frame, 0, frame.length - 1);
+        assertFalse(decoder.next());
+
+        decoder.write(frame, frame.length - 1, 1);
+        assertTrue(decoder.next());
+        assertEquals(10, decoder.getDataLength());
+        assertEquals(7, decoder.getOptionalLength());
+    }
+
+    @Test
+    public void buildsEEPsFromReplayedTelegrams() {
+        byte[] dump = dump(DUMP);
+        decoder.write(dump, 0, dump.length);
+        List<BasePacket> packets = decodeAll();
+
+        EEP rocker = EEPFactory.buildEEP(EEPType.RockerSwitch2RockerStyle1, (ERP1Message) packets.get(0));
+        assertTrue(rocker instanceof F6_02_01);
+        assertArrayEquals(HexUtils.hexToBytes("002EE1BD"), rocker.getSenderId());
+
+        EEP temperature = EEPFactory.buildEEP(EEPType.TemperatureSensor_A5_02_05, (ERP1Message) packets.get(1));
+        assertTrue(temperature instanceof A5_02_05);
+        assertArrayEquals(HexUtils.hexToBytes("0181B744"), temperature.getSenderId());
+
+        assertTrue(EEPFactory.createEEP(EEPType.RockerSwitch2RockerStyle1) instanceof F6_02_01);
+    }
+
+    /**
+     * Replays the dump often enough to wrap the ring buffer several times, reading it in chunks like the serial
+     * port does. Doubles as a throughput benchmark for the receive path when run with a profiler.
+     */
+    @Test
+    public void replaysDumpThroughRingBuffer() {
+        final int rounds = 20000;
+        byte[] dump = dump(DUMP);
+        byte[] stream = new byte[dump.length * rounds];
+        for (int i = 0; i < rounds; i++) {
+            System.arraycopy(dump, 0, stream, i * dump.length, dump.length);
+        }
+
+        int decoded = 0;
+        int erp1 = 0;
+        for (int offset = 0; offset < stream.length; offset += 1024) {
+            decoder.write(stream, offset, Math.min(1024, stream.length - offset));
+            while (decoder.next()) {
+                BasePacket packet = ESP3PacketFactory.BuildPacket(decoder.getDataLength(),
+                        decoder.getOptionalLength(), decoder.getPacketType(), decoder.getFrame());
+                if (packet.getPacketType() == ESPPacketType.RADIO_ERP1) {
+                    EnOceanTransceiver.getSenderIdKey(((ERP1Message) packet).getSenderId());
+                    erp1++;
+                }
+                decoded++;
+            }
+        }
+
+        assertEquals(DUMP.length * rounds, decoded);
+        assertEquals(4 * rounds, erp1);
+        assertEquals(0, decoder.getDiscardedBytes());
+    }
+
+    private List<BasePacket> decodeAll() {
+        List<BasePacket> packets = new ArrayList<>();
+        while (decoder.next()) {
+            packets.add(ESP3PacketFactory.BuildPacket(decoder.getDataLength(), decoder.getOptionalLength(),
+                    decoder.getPacketType(), decoder.getFrame()));
+        }
+        return packets;
+    }
+
+    private static byte[] dump(String... frames) {
+        return HexUtils.hexToBytes(String.join("", frames));
+    }
+}
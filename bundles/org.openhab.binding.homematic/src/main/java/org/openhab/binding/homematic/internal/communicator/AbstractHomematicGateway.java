@@ -14,6 +14,7 @@ package org.openhab.binding.homematic.internal.communicator;
 
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -23,14 +24,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.BinRpcClient;
@@ -90,6 +94,9 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final String METADATA_CACHE_FOLDER = "homematic";
+    private static final long METADATA_REVALIDATION_DELAY_SECONDS = 60;
+    private static final long METADATA_REVALIDATION_INTERVAL_SECONDS = 2;
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -111,6 +118,9 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final DeviceMetadataCache metadataCache;
+    private final Queue<HmChannel> channelsToRevalidate = new ConcurrentLinkedQueue<>();
+    private ScheduledFuture<?> revalidationFuture;
 
     static {
         // loads all virtual datapoints
@@ -139,6 +149,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.metadataCache = new DeviceMetadataCache(
+                new File(new File(ConfigConstants.getUserDataFolder(), METADATA_CACHE_FOLDER), id + ".metadata"));
     }
 
     @Override
@@ -188,6 +200,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             sb.setLength(sb.length() - 2);
         }
         logger.debug("Used Homematic transfer modes: {}", sb.toString());
+        metadataCache.load();
         startClients();
         startServers();
 
@@ -209,6 +222,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             enableNewDeviceFuture.cancel(true);
         }
         newDeviceEventsEnabled = false;
+        stopMetadataRevalidation();
+        metadataCache.save();
         stopWatchdogs();
         sendDelayedExecutor.stop();
         receiveDelayedExecutor.stop();
@@ -368,11 +383,13 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        stopMetadataRevalidation();
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
 
         // loading datapoints for all channels
         Set<String> loadedDevices = new HashSet<>();
+        Set<String> usedMetadataKeys = new HashSet<>();
         Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
         for (HmDevice device : deviceDescriptions) {
             if (!cancelLoadAllMetadata) {
@@ -391,23 +408,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                 HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
                                 cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
                             } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
+                                usedMetadataKeys.add(DeviceMetadataCache.getKey(channel));
+                                loadChannelDatapoints(channel, datapointsByChannelIdCache, true);
                             }
                         }
                     }
@@ -422,8 +424,129 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            metadataCache.retainAll(usedMetadataKeys);
         }
+        metadataCache.save();
         initialized = true;
+        startMetadataRevalidation();
+    }
+
+    /**
+     * Loads the datapoints of a channel. Channels of the same device type and firmware share their datapoints, so they
+     * are taken from the current load, the metadata cache or the gateway, in this order.
+     *
+     * @param revalidate true to recheck metadata taken from the metadata cache with the gateway later on
+     */
+    private void loadChannelDatapoints(HmChannel channel,
+            Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache, boolean revalidate) throws IOException {
+        String channelId = DeviceMetadataCache.getKey(channel);
+        Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+        if (cachedDatapoints == null) {
+            cachedDatapoints = metadataCache.get(channelId);
+            if (cachedDatapoints != null) {
+                datapointsByChannelIdCache.put(channelId, cachedDatapoints);
+                if (revalidate) {
+                    channelsToRevalidate.add(channel);
+                }
+            }
+        }
+
+        if (cachedDatapoints != null) {
+            // clone all datapoints
+            cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
+        } else {
+            logger.trace("    Loading datapoints into channel {}", channel);
+            addChannelDatapoints(channel, HmParamsetType.MASTER);
+            addChannelDatapoints(channel, HmParamsetType.VALUES);
+
+            // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+            // the data point set might change depending on the selected mode.
+            if (!channel.isReconfigurable()) {
+                datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
+                metadataCache.put(channelId, channel.getDatapoints());
+            }
+        }
+    }
+
+    /**
+     * Starts rechecking the channel metadata taken from the metadata cache, one channel type at a time.
+     */
+    private void startMetadataRevalidation() {
+        if (!channelsToRevalidate.isEmpty() && !cancelLoadAllMetadata) {
+            logger.debug("Revalidating cached metadata of {} channel types with gateway '{}'",
+                    channelsToRevalidate.size(), id);
+            revalidationFuture = scheduler.scheduleWithFixedDelay(this::revalidateNextChannel,
+                    METADATA_REVALIDATION_DELAY_SECONDS, METADATA_REVALIDATION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void stopMetadataRevalidation() {
+        if (revalidationFuture != null) {
+            revalidationFuture.cancel(true);
+            revalidationFuture = null;
+        }
+        channelsToRevalidate.clear();
+    }
+
+    /**
+     * Loads the metadata of the next channel taken from the metadata cache from the gateway. If it has changed, the
+     * cache is updated and all devices of the same type and firmware are reloaded.
+     */
+    private void revalidateNextChannel() {
+        HmChannel channel = channelsToRevalidate.poll();
+        if (channel == null) {
+            metadataCache.save();
+            if (revalidationFuture != null) {
+                revalidationFuture.cancel(false);
+            }
+            return;
+        }
+
+        String channelId = DeviceMetadataCache.getKey(channel);
+        try {
+            HmChannel loadedChannel = new HmChannel(channel.getType(), channel.getNumber());
+            loadedChannel.setDevice(channel.getDevice());
+            addChannelDatapoints(loadedChannel, HmParamsetType.MASTER);
+            addChannelDatapoints(loadedChannel, HmParamsetType.VALUES);
+
+            boolean changed = loadedChannel.isReconfigurable() ? metadataCache.remove(channelId)
+                    : metadataCache.put(channelId, loadedChannel.getDatapoints());
+            if (changed) {
+                logger.debug("Cached metadata of '{}' is outdated, reloading devices", channelId);
+                metadataCache.save();
+                reloadDevices(channel.getDevice().getType(), channel.getDevice().getFirmware());
+            }
+        } catch (Exception ex) {
+            logger.debug("Can't revalidate cached metadata of '{}': {}", channelId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Reloads all devices of the given type and firmware with the metadata of the metadata cache.
+     */
+    private void reloadDevices(String type, String firmware) throws IOException {
+        Set<String> addresses = new HashSet<>();
+        synchronized (devices) {
+            for (HmDevice device : devices.values()) {
+                if (StringUtils.equals(type, device.getType()) && StringUtils.equals(firmware, device.getFirmware())) {
+                    addresses.add(device.getAddress());
+                }
+            }
+        }
+        if (addresses.isEmpty()) {
+            return;
+        }
+
+        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
+        for (HmDevice device : getDeviceDescriptions()) {
+            if (addresses.contains(device.getAddress())) {
+                for (HmChannel channel : device.getChannels()) {
+                    loadChannelDatapoints(channel, datapointsByChannelIdCache, false);
+                }
+                prepareDevice(device);
+                gatewayAdapter.onNewDevice(device);
+            }
+        }
     }
 
     /**
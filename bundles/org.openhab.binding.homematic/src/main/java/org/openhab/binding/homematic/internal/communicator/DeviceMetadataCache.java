@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the datapoint metadata (paramset descriptions) of device channels, keyed by device type,
+ * firmware version and channel number. Channels of the same type and firmware share their metadata, so the gateway only
+ * has to be asked for channels it has never been asked for before.
+ * <p>
+ * The entries are kept in their serialized form, which also allows to detect changed metadata with a plain byte
+ * comparison. The file starts with a version number, a cache file written with a different version is ignored.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceMetadataCache {
+    private final Logger logger = LoggerFactory.getLogger(DeviceMetadataCache.class);
+
+    // increase whenever the file format or the way datapoints are assembled from the paramset descriptions changes
+    private static final int VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INTEGER = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_BOOLEAN = 4;
+    private static final byte TAG_STRING = 5;
+    private static final byte TAG_BIG_DECIMAL = 6;
+
+    private final File file;
+    private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    public DeviceMetadataCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache key of the given channel.
+     */
+    public static String getKey(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Loads the cache file, an unreadable or outdated file results in an empty cache.
+     */
+    public void load() {
+        entries.clear();
+        dirty = false;
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int version = in.readInt();
+            if (version != VERSION) {
+                logger.debug("Ignoring metadata cache '{}' with version {}", file, version);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                entries.put(key, data);
+            }
+            logger.debug("Loaded metadata of {} channel types from '{}'", entries.size(), file);
+        } catch (IOException ex) {
+            logger.info("Can't read metadata cache '{}', loading all metadata from the gateway: {}", file,
+                    ex.getMessage());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Writes the cache file if there are unsaved changes.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                Map<String, byte[]> snapshot = new ConcurrentHashMap<>(entries);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, byte[]> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            dirty = true;
+            logger.warn("Can't write metadata cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns new instances of the cached datapoints for the given key or null, if nothing is cached.
+     */
+    public List<HmDatapoint> get(String key) {
+        byte[] data = entries.get(key);
+        if (data == null) {
+            return null;
+        }
+        try {
+            return decode(data);
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Dropping unreadable metadata of '{}' from cache: {}", key, ex.getMessage());
+            entries.remove(key);
+            dirty = true;
+            return null;
+        }
+    }
+
+    /**
+     * Caches the non virtual datapoints for the given key.
+     *
+     * @return true if the datapoints differ from the cached ones
+     */
+    public boolean put(String key, Collection<HmDatapoint> datapoints) {
+        byte[] data;
+        try {
+            data = encode(datapoints);
+        } catch (IOException ex) {
+            logger.debug("Can't cache metadata of '{}': {}", key, ex.getMessage());
+            return false;
+        }
+        byte[] previous = entries.put(key, data);
+        boolean changed = previous == null || !Arrays.equals(previous, data);
+        dirty |= changed;
+        return changed;
+    }
+
+    /**
+     * Removes the datapoints cached for the given key.
+     *
+     * @return true if there were cached datapoints
+     */
+    public boolean remove(String key) {
+        boolean removed = entries.remove(key) != null;
+        dirty |= removed;
+        return removed;
+    }
+
+    /**
+     * Returns true if metadata for the given key is cached.
+     */
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Removes all entries except the given ones, e.g. of device types no longer known to the gateway.
+     */
+    public void retainAll(Set<String> keys) {
+        dirty |= entries.keySet().retainAll(keys);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private byte[] encode(Collection<HmDatapoint> datapoints) throws IOException {
+        List<HmDatapoint> sorted = new ArrayList<>();
+        for (HmDatapoint dp : datapoints) {
+            if (!dp.isVirtual()) {
+                sorted.add(dp);
+            }
+        }
+        sorted.sort(Comparator.comparing(HmDatapoint::getParamsetType).thenComparing(HmDatapoint::getName));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(sorted.size());
+            for (HmDatapoint dp : sorted) {
+                writeString(out, dp.getName());
+                writeString(out, dp.getDescription());
+                out.writeUTF(dp.getType().name());
+                out.writeUTF(dp.getParamsetType().name());
+                writeObject(out, dp.getMinValue());
+                writeObject(out, dp.getMaxValue());
+                writeObject(out, dp.getStep());
+                writeObject(out, dp.getDefaultValue());
+                String[] options = dp.getOptions();
+                out.writeInt(options == null ? -1 : options.length);
+                if (options != null) {
+                    for (String option : options) {
+                        writeString(out, option);
+                    }
+                }
+                out.writeBoolean(dp.isReadOnly());
+                out.writeBoolean(dp.isReadable());
+                writeString(out, dp.getInfo());
+                writeString(out, dp.getUnit());
+                out.writeBoolean(dp.isTrigger());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<HmDatapoint> decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int count = in.readInt();
+            List<HmDatapoint> datapoints = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                HmDatapoint dp = new HmDatapoint();
+                dp.setName(readString(in));
+                dp.setDescription(readString(in));
+                dp.setType(HmValueType.valueOf(in.readUTF()));
+                dp.setParamsetType(HmParamsetType.valueOf(in.readUTF()));
+                dp.setMinValue((Number) readObject(in));
+                dp.setMaxValue((Number) readObject(in));
+                dp.setStep((Number) readObject(in));
+                dp.setDefaultValue(readObject(in));
+                int optionCount = in.readInt();
+                if (optionCount >= 0) {
+                    String[] options = new String[optionCount];
+                    for (int o = 0; o < optionCount; o++) {
+                        options[o] = readString(in);
+                    }
+                    dp.setOptions(options);
+                }
+                dp.setReadOnly(in.readBoolean());
+                dp.setReadable(in.readBoolean());
+                dp.setInfo(readString(in));
+                dp.setUnit(readString(in));
+                dp.setTrigger(in.readBoolean());
+                datapoints.add(dp);
+            }
+            return datapoints;
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeObject(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(TAG_BIG_DECIMAL);
+            out.writeUTF(value.toString());
+        } else {
+            throw new IOException("Unsupported value type " + value.getClass().getName());
+        }
+    }
+
+    private Object readObject(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INTEGER:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_STRING:
+                return in.readUTF();
+            case TAG_BIG_DECIMAL:
+                return new BigDecimal(in.readUTF());
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+}
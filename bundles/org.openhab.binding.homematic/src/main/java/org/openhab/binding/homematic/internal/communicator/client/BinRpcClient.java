@@ -16,8 +16,10 @@ import java.io.IOException;
 import java.net.Socket;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcDecoder;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.openhab.binding.homematic.internal.communicator.message.RpcUtils;
 import org.openhab.binding.homematic.internal.communicator.parser.RpcResponseParser;
 import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.slf4j.Logger;
@@ -32,6 +34,7 @@ public class BinRpcClient extends RpcClient<byte[]> {
     private final Logger logger = LoggerFactory.getLogger(BinRpcClient.class);
 
     private SocketHandler socketHandler;
+    private BinRpcDecoder decoder;
 
     public BinRpcClient(HomematicConfig config) {
         super(config);
@@ -74,12 +77,16 @@ public class BinRpcClient extends RpcClient<byte[]> {
      * Sends the message, retries if there was an error.
      */
     private Object[] sendMessage(int port, RpcRequest<byte[]> request, int rpcRetryCounter) throws IOException {
-        BinRpcMessage resp = null;
+        Object[] responseData = null;
         try {
+            if (decoder == null) {
+                decoder = new BinRpcDecoder(config.getEncoding());
+            }
             Socket socket = socketHandler.getSocket(port);
             socket.getOutputStream().write(request.createMessage());
-            resp = new BinRpcMessage(socket.getInputStream(), false, config.getEncoding());
-            return new RpcResponseParser(request).parse(resp.getResponseData());
+            decoder.read(socket.getInputStream(), false);
+            responseData = decoder.readValues();
+            return new RpcResponseParser(request).parse(responseData);
         } catch (UnknownRpcFailureException | UnknownParameterSetException rpcEx) {
             // throw immediately, don't retry the message
             throw rpcEx;
@@ -95,7 +102,8 @@ public class BinRpcClient extends RpcClient<byte[]> {
             }
         } finally {
             if (logger.isTraceEnabled()) {
-                logger.trace("Client BinRpcResponse:\n{}", resp == null ? "null" : resp.toString());
+                logger.trace("Client BinRpcResponse:\n{}",
+                        responseData == null ? "null" : RpcUtils.dumpRpcMessage(null, responseData));
             }
         }
     }
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decodes BIN-RPC messages received from a Homematic gateway.
+ * <p>
+ * A message is read into a buffer which is reused for all following messages of the same decoder, the values are then
+ * read directly from that buffer. Besides decoding all values at once, the calls of a <code>system.multicall</code>
+ * can be decoded and handled one after another, so a large event batch never has to be held in decoded form.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcDecoder {
+    public static final int HEADER_LENGTH = 8;
+
+    public static final int TYPE_INTEGER = 1;
+    public static final int TYPE_BOOLEAN = 2;
+    public static final int TYPE_STRING = 3;
+    public static final int TYPE_DOUBLE = 4;
+    public static final int TYPE_DATE = 5;
+    public static final int TYPE_ARRAY = 0x100;
+    public static final int TYPE_STRUCT = 0x101;
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private static final String MULTICALL_METHOD_NAME = "methodName";
+    private static final String MULTICALL_PARAMS = "params";
+
+    /**
+     * Receives the calls of a <code>system.multicall</code> while it is being decoded.
+     */
+    public interface MulticallHandler {
+        void handleCall(String methodName, Object[] params) throws IOException;
+    }
+
+    private final Charset charset;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer buffer = readBuffer;
+    private String methodName;
+
+    public BinRpcDecoder(String encoding) throws UnsupportedEncodingException {
+        try {
+            charset = Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+    }
+
+    /**
+     * Reads the next message from the given InputStream into the reusable buffer.
+     *
+     * @param methodHeader true if the message is a request starting with a method name
+     */
+    public void read(InputStream is, boolean methodHeader) throws IOException {
+        ByteBuffer buffer = readBuffer;
+        buffer.clear();
+        readFully(is, buffer.array(), 0, HEADER_LENGTH, "reading message header");
+        validateBinXSignature(buffer);
+
+        int datasize = buffer.getInt(4);
+        if (datasize < 0) {
+            throw new IOException("Invalid BIN-RPC message length " + datasize);
+        }
+        int length = HEADER_LENGTH + datasize;
+        if (length > buffer.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+            grown.put(buffer.array(), 0, HEADER_LENGTH);
+            readBuffer = buffer = grown;
+        }
+        readFully(is, buffer.array(), HEADER_LENGTH, datasize, "reading message payload");
+        buffer.limit(length);
+        start(buffer, methodHeader);
+    }
+
+    /**
+     * Decodes the given message in place, the array must not be changed until all values are read.
+     *
+     * @param methodHeader true if the message is a request starting with a method name
+     */
+    public void wrap(byte[] message, boolean methodHeader) throws IOException {
+        if (message.length < HEADER_LENGTH) {
+            throw new EOFException("Only " + message.length + " bytes received");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        validateBinXSignature(buffer);
+        buffer.limit(Math.min(message.length, HEADER_LENGTH + Math.max(0, buffer.getInt(4))));
+        start(buffer, methodHeader);
+    }
+
+    private void start(ByteBuffer buffer, boolean methodHeader) throws IOException {
+        this.buffer = buffer;
+        buffer.position(HEADER_LENGTH);
+        methodName = null;
+        if (methodHeader) {
+            try {
+                methodName = readString();
+                // number of arguments, the values are read until the end of the message
+                buffer.getInt();
+            } catch (BufferUnderflowException e) {
+                throw new EOFException("BIN-RPC message ends within the method header");
+            }
+        }
+    }
+
+    private static void readFully(InputStream is, byte[] data, int offset, int length, String context)
+            throws IOException {
+        int read = 0;
+        while (read < length) {
+            int currentLength = is.read(data, offset + read, length - read);
+            if (currentLength == -1) {
+                throw new EOFException("Only " + read + " bytes received while " + context + ", expected " + length
+                        + " bytes");
+            }
+            read += currentLength;
+        }
+    }
+
+    private static void validateBinXSignature(ByteBuffer buffer) throws UnsupportedEncodingException {
+        if (buffer.get(0) != 'B' || buffer.get(1) != 'i' || buffer.get(2) != 'n') {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+    }
+
+    /**
+     * Returns the method name of the current message, null for responses.
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns the buffer holding the current message, it is overwritten by the next call to
+     * {@link #read(InputStream, boolean)}.
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns true if the current message has values left to read.
+     */
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Decodes all remaining values of the current message.
+     */
+    public Object[] readValues() throws IOException {
+        List<Object> values = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            values.add(readValue());
+        }
+        return values.toArray();
+    }
+
+    /**
+     * Decodes the calls of a <code>system.multicall</code> one by one and passes each of them to the handler before
+     * the next one is decoded.
+     */
+    public void readMulticall(MulticallHandler handler) throws IOException {
+        try {
+            int type = buffer.getInt();
+            if (type != TYPE_ARRAY) {
+                throw new IOException("Expected multicall array but got data type " + type);
+            }
+            int numCalls = readCount(4);
+            while (numCalls-- > 0) {
+                type = buffer.getInt();
+                if (type != TYPE_STRUCT) {
+                    // not a call, skip it
+                    readValue(type);
+                    continue;
+                }
+                String callMethodName = "";
+                Object[] params = null;
+                int numElements = readCount(8);
+                while (numElements-- > 0) {
+                    String name = readString();
+                    Object value = readValue();
+                    if (MULTICALL_METHOD_NAME.equals(name)) {
+                        callMethodName = String.valueOf(value);
+                    } else if (MULTICALL_PARAMS.equals(name) && value instanceof Object[]) {
+                        params = (Object[]) value;
+                    }
+                }
+                handler.handleCall(callMethodName, params);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("BIN-RPC message ends within a multicall");
+        }
+    }
+
+    /**
+     * Decodes the next value of the current message.
+     */
+    public Object readValue() throws IOException {
+        try {
+            return readValue(buffer.getInt());
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("BIN-RPC message ends within a value");
+        }
+    }
+
+    private Object readValue(int type) throws IOException {
+        switch (type) {
+            case TYPE_INTEGER:
+                return Integer.valueOf(buffer.getInt());
+            case TYPE_BOOLEAN:
+                return buffer.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
+            case TYPE_STRING:
+                return readString();
+            case TYPE_DOUBLE:
+                int mantissa = buffer.getInt();
+                int exponent = buffer.getInt();
+                BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
+                return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
+            case TYPE_DATE:
+                return new Date(buffer.getInt() * 1000L);
+            case TYPE_ARRAY:
+                int numElements = readCount(4);
+                Object[] array = new Object[numElements];
+                for (int i = 0; i < numElements; i++) {
+                    array[i] = readValue(buffer.getInt());
+                }
+                return array;
+            case TYPE_STRUCT:
+                numElements = readCount(8);
+                Map<String, Object> struct = new TreeMap<>();
+                while (numElements-- > 0) {
+                    String name = readString();
+                    struct.put(name, readValue(buffer.getInt()));
+                }
+                return struct;
+            default:
+                throw new IOException("Unknown data type " + type + " at position " + (buffer.position() - 4));
+        }
+    }
+
+    /**
+     * Reads the number of elements of an array or struct and checks that the message can hold them.
+     */
+    private int readCount(int minElementSize) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / minElementSize) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private String readString() {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int position = buffer.position();
+        buffer.position(position + length);
+        return new String(buffer.array(), buffer.arrayOffset() + position, length, charset);
+    }
+}
@@ -12,26 +12,19 @@
  */
 package org.openhab.binding.homematic.internal.communicator.message;
 
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-
-import org.apache.commons.lang.ArrayUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Handles BIN-RPC request and response messages to communicate with a Homematic gateway.
@@ -39,7 +32,7 @@ import org.slf4j.LoggerFactory;
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
-    private final Logger logger = LoggerFactory.getLogger(BinRpcMessage.class);
+    private static final byte[] SIGNATURE = { 'B', 'i', 'n' };
 
     public enum TYPE {
         REQUEST,
@@ -47,13 +40,14 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private Object[] messageData;
-    private byte binRpcData[];
-    private int offset;
+    private ByteBuffer binRpcData;
+    private int argCountPosition;
 
     private String methodName;
     private TYPE type;
     private int args;
     private String encoding;
+    private Charset charset;
 
     public BinRpcMessage(String methodName, String encoding) {
         this(methodName, TYPE.REQUEST, encoding);
@@ -74,36 +68,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
         this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
-        if (length != 4) {
-            throw new EOFException("Only " + length + " bytes received reading signature");
-        }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
-        if (length != 4) {
-            throw new EOFException("Only " + length + " bytes received reading message length");
-        }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
-
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
-        }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
-                    + datasize + " bytes");
-        }
-        byte[] message = ArrayUtils.addAll(sig, payload);
-        decodeMessage(message, methodHeader);
-    }
-
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
-        if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
-            throw new UnsupportedEncodingException("No BinX signature");
-        }
+        BinRpcDecoder decoder = new BinRpcDecoder(encoding);
+        decoder.read(is, methodHeader);
+        decodeMessage(decoder);
     }
 
     /**
@@ -111,50 +78,34 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
         this.encoding = encoding;
-        if (message.length < 8) {
-            throw new EOFException("Only " + message.length + " bytes received");
-        }
-        validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        BinRpcDecoder decoder = new BinRpcDecoder(encoding);
+        decoder.wrap(message, methodHeader);
+        decodeMessage(decoder);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
-
-        offset = 8;
-
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
-        }
-        generateResponseData();
+    private void decodeMessage(BinRpcDecoder decoder) throws IOException {
+        methodName = decoder.getMethodName();
+        messageData = decoder.readValues();
+        // the decoder is not shared, so its buffer can be kept without copying the message
+        binRpcData = decoder.getBuffer();
     }
 
     public void setType(TYPE type) {
-        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
-    }
-
-    private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
-        List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
-        }
-        messageData = values.toArray();
-        values.clear();
+        binRpcData.put(3, type == TYPE.RESPONSE ? (byte) 1 : (byte) 0);
     }
 
     private void createHeader() {
-        binRpcData = new byte[256];
-        addString("Bin ");
+        binRpcData = ByteBuffer.allocate(256);
+        binRpcData.put(SIGNATURE);
+        binRpcData.put((byte) 0);
         setType(type);
         addInt(0); // placeholder content length
         if (methodName != null) {
-            addInt(methodName.length());
             addString(methodName);
+            argCountPosition = binRpcData.position();
             addInt(0); // placeholder arguments
         }
-        setInt(4, offset - 8);
+        updateContentLength();
     }
 
     /**
@@ -163,13 +114,17 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public void addArg(Object argument) {
         addObject(argument);
-        setInt(4, offset - 8);
+        updateContentLength();
 
         if (methodName != null) {
-            setInt(12 + methodName.length(), ++args);
+            binRpcData.putInt(argCountPosition, ++args);
         }
     }
 
+    private void updateContentLength() {
+        binRpcData.putInt(4, binRpcData.position() - BinRpcDecoder.HEADER_LENGTH);
+    }
+
     public int getArgCount() {
         return args;
     }
@@ -181,14 +136,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     @Override
     public byte[] createMessage() {
-        trimBinRpcData();
-        return binRpcData;
-    }
-
-    private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        return Arrays.copyOf(binRpcData.array(), binRpcData.position());
     }
 
     @Override
@@ -196,83 +144,24 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         return messageData;
     }
 
-    // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
-    }
-
-    private String readString() throws UnsupportedEncodingException {
-        int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
-    }
-
-    private Object readRpcValue() throws IOException {
-        int type = readInt();
-        switch (type) {
-            case 1:
-                return new Integer(readInt());
-            case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
-            case 3:
-                return readString();
-            case 4:
-                int mantissa = readInt();
-                int exponent = readInt();
-                BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
-                return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
-            case 5:
-                return new Date(readInt() * 1000);
-            case 0x100:
-                // Array
-                int numElements = readInt();
-                Collection<Object> array = new ArrayList<>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
-                }
-                return array.toArray();
-            case 0x101:
-                // Struct
-                numElements = readInt();
-                Map<String, Object> struct = new TreeMap<>();
-                while (numElements-- > 0) {
-                    String name = readString();
-                    struct.put(name, readRpcValue());
-                }
-                return struct;
-
-            default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
-                }
-                throw new IOException("Unknown data type " + type);
+    private void ensureCapacity(int length) {
+        if (binRpcData.remaining() < length) {
+            ByteBuffer grown = ByteBuffer
+                    .allocate(Math.max(binRpcData.capacity() * 2, binRpcData.position() + length));
+            binRpcData.flip();
+            grown.put(binRpcData);
+            binRpcData = grown;
         }
     }
 
-    private void setInt(int position, int value) {
-        int temp = offset;
-        offset = position;
-        addInt(value);
-        offset = temp;
-    }
-
     private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
-        }
-        binRpcData[offset++] = b;
+        ensureCapacity(1);
+        binRpcData.put(b);
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData.putInt(value);
     }
 
     private void addDouble(double value) {
@@ -297,16 +186,25 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         addInt(exp);
     }
 
+    /**
+     * Adds the length of the encoded string followed by the string itself.
+     */
     private void addString(String string) {
-        byte sd[];
-        try {
-            sd = string.getBytes(encoding);
-        } catch (UnsupportedEncodingException use) {
-            sd = string.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
+        byte[] sd = string.getBytes(getCharset());
+        ensureCapacity(4 + sd.length);
+        binRpcData.putInt(sd.length);
+        binRpcData.put(sd);
+    }
+
+    private Charset getCharset() {
+        if (charset == null) {
+            try {
+                charset = Charset.forName(encoding);
+            } catch (IllegalArgumentException e) {
+                charset = Charset.defaultCharset();
+            }
         }
+        return charset;
     }
 
     private void addList(Collection<?> collection) {
@@ -317,47 +215,44 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
-            addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addInt(BinRpcDecoder.TYPE_STRING);
+            addString((String) object);
         } else if (object.getClass() == Boolean.class) {
-            addInt(2);
+            addInt(BinRpcDecoder.TYPE_BOOLEAN);
             addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
         } else if (object.getClass() == Integer.class) {
-            addInt(1);
+            addInt(BinRpcDecoder.TYPE_INTEGER);
             addInt(((Integer) object).intValue());
         } else if (object.getClass() == Double.class) {
-            addInt(4);
+            addInt(BinRpcDecoder.TYPE_DOUBLE);
             addDouble(((Double) object).doubleValue());
         } else if (object.getClass() == Float.class) {
-            addInt(4);
+            addInt(BinRpcDecoder.TYPE_DOUBLE);
             BigDecimal bd = new BigDecimal((Float) object);
             addDouble(bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue());
         } else if (object.getClass() == BigDecimal.class) {
-            addInt(4);
+            addInt(BinRpcDecoder.TYPE_DOUBLE);
             addDouble(((BigDecimal) object).setScale(6, RoundingMode.HALF_DOWN).doubleValue());
         } else if (object.getClass() == BigInteger.class) {
-            addInt(4);
+            addInt(BinRpcDecoder.TYPE_DOUBLE);
             addDouble(((BigInteger) object).doubleValue());
         } else if (object.getClass() == Date.class) {
-            addInt(5);
-            addInt((int) ((Date) object).getTime() / 1000);
+            addInt(BinRpcDecoder.TYPE_DATE);
+            addInt((int) (((Date) object).getTime() / 1000));
         } else if (object instanceof List<?>) {
             Collection<?> list = (Collection<?>) object;
-            addInt(0x100);
+            addInt(BinRpcDecoder.TYPE_ARRAY);
             addInt(list.size());
             addList(list);
         } else if (object instanceof Map<?, ?>) {
             Map<?, ?> map = (Map<?, ?>) object;
-            addInt(0x101);
+            addInt(BinRpcDecoder.TYPE_STRUCT);
             addInt(map.size());
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
                     addString(key);
-                    addList(Collections.singleton(entry.getValue()));
+                    addObject(entry.getValue());
                 }
             }
         }
@@ -370,9 +265,13 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
-            return RpcUtils.dumpRpcMessage(methodName, messageData);
+            Object[] data = messageData;
+            if (data == null) {
+                BinRpcDecoder decoder = new BinRpcDecoder(encoding);
+                decoder.wrap(createMessage(), methodName != null);
+                data = decoder.readValues();
+            }
+            return RpcUtils.dumpRpcMessage(methodName, data);
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
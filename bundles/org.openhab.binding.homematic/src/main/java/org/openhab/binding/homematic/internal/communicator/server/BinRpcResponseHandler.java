@@ -12,12 +12,15 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import static org.openhab.binding.homematic.internal.misc.HomematicConstants.RPC_METHODNAME_SYSTEM_MULTICALL;
+
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
-import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcDecoder;
+import org.openhab.binding.homematic.internal.communicator.message.RpcUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,11 +51,22 @@ public class BinRpcResponseHandler implements Runnable {
     public void run() {
         try {
             boolean isMaxAliveReached;
+            BinRpcDecoder decoder = new BinRpcDecoder(config.getEncoding());
             do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
+                decoder.read(socket.getInputStream(), true);
+                String methodName = decoder.getMethodName();
+                byte[] returnValue;
+                if (RPC_METHODNAME_SYSTEM_MULTICALL.equals(methodName) && !logger.isTraceEnabled()) {
+                    // handle each event of the batch as soon as it is decoded
+                    decoder.readMulticall(rpcResponseHandler::handleMethodCall);
+                    returnValue = rpcResponseHandler.getMulticallResult();
+                } else {
+                    Object[] data = decoder.readValues();
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Event BinRpcMessage: {}", RpcUtils.dumpRpcMessage(methodName, data));
+                    }
+                    returnValue = rpcResponseHandler.handleMethodCall(methodName, data);
+                }
                 if (returnValue != null) {
                     socket.getOutputStream().write(returnValue);
                 }
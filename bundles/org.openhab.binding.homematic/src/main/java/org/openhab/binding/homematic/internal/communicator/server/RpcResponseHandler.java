@@ -68,7 +68,7 @@ public abstract class RpcResponseHandler<T> {
                     handleMethodCall(method, data);
                 }
             }
-            return getEmptyEventListResult();
+            return getMulticallResult();
         } else if (RPC_METHODNAME_SET_CONFIG_READY.equals(methodName)) {
             return getEmptyEventListResult();
         } else {
@@ -77,6 +77,14 @@ public abstract class RpcResponseHandler<T> {
         }
     }
 
+    /**
+     * Returns the result of a system.multicall whose calls have been passed to
+     * {@link #handleMethodCall(String, Object[])} one by one while it was decoded.
+     */
+    public T getMulticallResult() {
+        return getEmptyEventListResult();
+    }
+
     /**
      * Creates a BINRPC message with the supported method names.
      */
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link DeviceMetadataCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceMetadataCacheTest {
+    private static final String KEY = "HM-CC-RT-DN:1.4:4";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setup() {
+        file = new File(folder.getRoot(), "homematic/ccu.metadata");
+    }
+
+    @Test
+    public void testKey() {
+        HmDevice device = new HmDevice("OEQ0000001", HmInterface.RF, "HM-CC-RT-DN", "ccu", null, "1.4");
+        HmChannel channel = new HmChannel("CLIMATECONTROL_RT_TRANSCEIVER", 4);
+        device.addChannel(channel);
+
+        assertEquals(KEY, DeviceMetadataCache.getKey(channel));
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        assertTrue(cache.put(KEY, createDatapoints()));
+        cache.save();
+        assertTrue(file.exists());
+
+        DeviceMetadataCache loaded = new DeviceMetadataCache(file);
+        loaded.load();
+        assertEquals(1, loaded.size());
+
+        List<HmDatapoint> datapoints = loaded.get(KEY);
+        assertEquals(2, datapoints.size());
+
+        HmDatapoint mode = datapoints.get(0);
+        assertEquals("CONTROL_MODE", mode.getName());
+        assertEquals(HmValueType.ENUM, mode.getType());
+        assertEquals(HmParamsetType.VALUES, mode.getParamsetType());
+        assertEquals(0, mode.getMinValue());
+        assertEquals(3, mode.getMaxValue());
+        assertArrayEquals(new String[] { "AUTO-MODE", "MANU-MODE", "PARTY-MODE", "BOOST-MODE" }, mode.getOptions());
+        assertTrue(mode.isReadOnly());
+        assertNull(mode.getValue());
+
+        HmDatapoint temperature = datapoints.get(1);
+        assertEquals("SET_TEMPERATURE", temperature.getName());
+        assertEquals(4.5, temperature.getMinValue());
+        assertEquals(30.5, temperature.getMaxValue());
+        assertEquals(20.0, temperature.getDefaultValue());
+        assertEquals("°C", temperature.getUnit());
+        assertNull(temperature.getOptions());
+        assertFalse(temperature.isReadOnly());
+
+        // every call returns new instances
+        assertNotSame(temperature, loaded.get(KEY).get(1));
+        assertNull(loaded.get("HM-CC-RT-DN:1.4:5"));
+    }
+
+    @Test
+    public void testPutDetectsChanges() {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        assertTrue(cache.put(KEY, createDatapoints()));
+
+        // same metadata in a different order, with values and a virtual datapoint
+        List<HmDatapoint> datapoints = createDatapoints();
+        Collections.reverse(datapoints);
+        datapoints.get(1).setValue(21.5);
+        HmDatapoint virtual = new HmDatapoint("SIGNAL_STRENGTH", "", HmValueType.INTEGER, null, true,
+                HmParamsetType.VALUES);
+        virtual.setVirtual(true);
+        datapoints.add(virtual);
+        assertFalse(cache.put(KEY, datapoints));
+
+        datapoints.get(1).setMaxValue(31.5);
+        assertTrue(cache.put(KEY, datapoints));
+        assertEquals(31.5, cache.get(KEY).get(1).getMaxValue());
+    }
+
+    @Test
+    public void testSaveOnlyWhenChanged() {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.save();
+        assertFalse(file.exists());
+
+        cache.put(KEY, createDatapoints());
+        cache.save();
+        long modified = file.lastModified();
+        assertTrue(file.setLastModified(modified - 10000));
+
+        cache.put(KEY, createDatapoints());
+        cache.save();
+        assertEquals(modified - 10000, file.lastModified());
+    }
+
+    @Test
+    public void testRetainAllAndRemove() {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.put(KEY, createDatapoints());
+        cache.put("HM-CC-RT-DN:1.4:1", createDatapoints());
+        cache.put("HM-LC-Sw1-Pl:2.5:1", createDatapoints());
+
+        cache.retainAll(new HashSet<>(Arrays.asList(KEY, "HM-CC-RT-DN:1.4:1")));
+        assertEquals(2, cache.size());
+        assertFalse(cache.contains("HM-LC-Sw1-Pl:2.5:1"));
+
+        assertTrue(cache.remove(KEY));
+        assertFalse(cache.remove(KEY));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testOutdatedVersionIsIgnored() throws IOException {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.put(KEY, createDatapoints());
+        cache.save();
+
+        byte[] data = Files.readAllBytes(file.toPath());
+        data[3]++;
+        Files.write(file.toPath(), data);
+
+        cache.load();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testTruncatedFileIsIgnored() throws IOException {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.put(KEY, createDatapoints());
+        cache.save();
+
+        byte[] data = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(data, data.length - 10));
+
+        cache.load();
+        assertEquals(0, cache.size());
+    }
+
+    private List<HmDatapoint> createDatapoints() {
+        List<HmDatapoint> datapoints = new ArrayList<>();
+
+        HmDatapoint temperature = new HmDatapoint("SET_TEMPERATURE", "Set temperature", HmValueType.FLOAT, null,
+                false, HmParamsetType.VALUES);
+        temperature.setMinValue(4.5);
+        temperature.setMaxValue(30.5);
+        temperature.setDefaultValue(20.0);
+        temperature.setUnit("°C");
+        datapoints.add(temperature);
+
+        HmDatapoint mode = new HmDatapoint("CONTROL_MODE", "Control mode", HmValueType.ENUM, null, true,
+                HmParamsetType.VALUES);
+        mode.setMinValue(0);
+        mode.setMaxValue(3);
+        mode.setOptions(new String[] { "AUTO-MODE", "MANU-MODE", "PARTY-MODE", "BOOST-MODE" });
+        datapoints.add(mode);
+
+        return datapoints;
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
+import org.openhab.binding.homematic.internal.communicator.server.RpcResponseHandler;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Replays BIN-RPC event messages laid out like those sent by a CCU through the {@link BinRpcDecoder}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcDecoderTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    // system.multicall batch with eight events, as a CCU sends them to the callback server
+    private static final byte[] MULTICALL_CAPTURE = HexUtils.hexToBytes(
+            "42696E00000003AE0000001073797374656D2E6D756C746963616C6C0000000100000100000000080000010100000002"
+            + "0000000A6D6574686F644E616D6500000003000000056576656E7400000006706172616D730000010000000004000000"
+            + "030000000652462D636375000000030000000C4E4551313233343536373A310000000300000005535441544500000002"
+            + "0100000101000000020000000A6D6574686F644E616D6500000003000000056576656E7400000006706172616D730000"
+            + "010000000004000000030000000652462D636375000000030000000C4E4551313233343536373A30000000030000000B"
+            + "525353495F44455649434500000001FFFFFFBF00000101000000020000000A6D6574686F644E616D6500000003000000"
+            + "056576656E7400000006706172616D730000010000000004000000030000000652462D636375000000030000000C4F45"
+            + "51373635343332313A34000000030000001241435455414C5F54454D5045524154555245000000042B00000000000005"
+            + "00000101000000020000000A6D6574686F644E616D6500000003000000056576656E7400000006706172616D73000001"
+            + "0000000004000000030000000652462D636375000000030000000C4F4551373635343332313A34000000030000000F53"
+            + "45545F54454D504552415455524500000004240000000000000300000101000000020000000A6D6574686F644E616D65"
+            + "00000003000000056576656E7400000006706172616D730000010000000004000000030000000652462D636375000000"
+            + "030000000C4F4551373635343332313A34000000030000000C434F4E54524F4C5F4D4F44450000000100000001000001"
+            + "01000000020000000A6D6574686F644E616D6500000003000000056576656E7400000006706172616D73000001000000"
+            + "0004000000030000000652462D636375000000030000000C4D4551303031313232333A3100000003000000054C455645"
+            + "4C00000004300000000000000000000101000000020000000A6D6574686F644E616D6500000003000000056576656E74"
+            + "00000006706172616D730000010000000004000000030000000652462D636375000000030000000C4D45513030313132"
+            + "32333A310000000300000007574F524B494E47000000020000000101000000020000000A6D6574686F644E616D650000"
+            + "0003000000056576656E7400000006706172616D730000010000000004000000030000000652462D6363750000000300"
+            + "00000943454E5452414C3A300000000300000004504F4E47000000030000000652462D636375");
+
+    // single event, STATE of NEQ1234567:1 switched on
+    private static final byte[] EVENT_CAPTURE = HexUtils.hexToBytes(
+            "42696E0000000041000000056576656E7400000004000000030000000652462D636375000000030000000C4E45513132"
+            + "33343536373A31000000030000000553544154450000000201");
+
+    private static final Object[][] MULTICALL_EVENTS = { { "RF-ccu", "NEQ1234567:1", "STATE", true },
+            { "RF-ccu", "NEQ1234567:0", "RSSI_DEVICE", -65 },
+            { "RF-ccu", "OEQ7654321:4", "ACTUAL_TEMPERATURE", 21.5 },
+            { "RF-ccu", "OEQ7654321:4", "SET_TEMPERATURE", 4.5 }, { "RF-ccu", "OEQ7654321:4", "CONTROL_MODE", 1 },
+            { "RF-ccu", "MEQ0011223:1", "LEVEL", 0.75 }, { "RF-ccu", "MEQ0011223:1", "WORKING", false },
+            { "RF-ccu", "CENTRAL:0", "PONG", "RF-ccu" } };
+
+    private BinRpcDecoder decoder;
+
+    @Before
+    public void setup() throws IOException {
+        decoder = new BinRpcDecoder(ENCODING);
+    }
+
+    @Test
+    public void multicallIsDecodedCallByCall() throws IOException {
+        decoder.wrap(MULTICALL_CAPTURE, true);
+        assertThat(decoder.getMethodName(), is("system.multicall"));
+
+        List<String> methodNames = new ArrayList<>();
+        List<Object[]> params = new ArrayList<>();
+        decoder.readMulticall((methodName, data) -> {
+            methodNames.add(methodName);
+            params.add(data);
+        });
+
+        assertFalse(decoder.hasRemaining());
+        assertThat(methodNames.size(), is(MULTICALL_EVENTS.length));
+        for (int i = 0; i < MULTICALL_EVENTS.length; i++) {
+            assertThat(methodNames.get(i), is("event"));
+            assertArrayEquals(MULTICALL_EVENTS[i], params.get(i));
+        }
+    }
+
+    @Test
+    public void multicallIsDecodedAsWhole() throws IOException {
+        decoder.wrap(MULTICALL_CAPTURE, true);
+        Object[] data = decoder.readValues();
+
+        assertThat(data.length, is(1));
+        Object[] calls = (Object[]) data[0];
+        assertThat(calls.length, is(MULTICALL_EVENTS.length));
+        for (int i = 0; i < MULTICALL_EVENTS.length; i++) {
+            Map<?, ?> call = (Map<?, ?>) calls[i];
+            assertThat(call.get("methodName"), is("event"));
+            assertArrayEquals(MULTICALL_EVENTS[i], (Object[]) call.get("params"));
+        }
+    }
+
+    @Test
+    public void messageEncodesLikeTheCcu() throws IOException {
+        List<Map<String, Object>> calls = new ArrayList<>();
+        for (Object[] event : MULTICALL_EVENTS) {
+            Map<String, Object> call = new LinkedHashMap<>();
+            call.put("methodName", "event");
+            call.put("params", Arrays.asList(event));
+            calls.add(call);
+        }
+        BinRpcMessage multicall = new BinRpcMessage("system.multicall", ENCODING);
+        multicall.addArg(calls);
+        assertArrayEquals(MULTICALL_CAPTURE, multicall.createMessage());
+
+        BinRpcMessage event = new BinRpcMessage("event", ENCODING);
+        for (Object value : MULTICALL_EVENTS[0]) {
+            event.addArg(value);
+        }
+        assertThat(event.getArgCount(), is(4));
+        assertArrayEquals(EVENT_CAPTURE, event.createMessage());
+    }
+
+    @Test
+    public void binRpcMessageDecodesCapture() throws Exception {
+        BinRpcMessage message = new BinRpcMessage(EVENT_CAPTURE, true, ENCODING);
+
+        assertThat(message.getMethodName(), is("event"));
+        assertArrayEquals(MULTICALL_EVENTS[0], message.getResponseData());
+        assertArrayEquals(EVENT_CAPTURE, message.createMessage());
+    }
+
+    @Test
+    public void bufferIsReusedForConsecutiveMessages() throws IOException {
+        InputStream is = new ByteArrayInputStream(concat(EVENT_CAPTURE, MULTICALL_CAPTURE, EVENT_CAPTURE));
+
+        decoder.read(is, true);
+        assertArrayEquals(MULTICALL_EVENTS[0], decoder.readValues());
+
+        decoder.read(is, true);
+        assertThat(decoder.getMethodName(), is("system.multicall"));
+        assertThat(((Object[]) decoder.readValues()[0]).length, is(MULTICALL_EVENTS.length));
+
+        decoder.read(is, true);
+        assertThat(decoder.getMethodName(), is("event"));
+        assertArrayEquals(MULTICALL_EVENTS[0], decoder.readValues());
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedMessageIsRejected() throws IOException {
+        decoder.read(new ByteArrayInputStream(Arrays.copyOf(MULTICALL_CAPTURE, 100)), true);
+    }
+
+    @Test(expected = EOFException.class)
+    public void corruptElementCountIsRejected() throws IOException {
+        byte[] corrupt = MULTICALL_CAPTURE.clone();
+        // number of calls of the multicall array
+        corrupt[36] = 0x7F;
+        decoder.wrap(corrupt, true);
+        decoder.readValues();
+    }
+
+    /**
+     * Replays the recorded multicall batch many times through one decoder and dispatches the events like the BIN-RPC
+     * server does. Doubles as a throughput benchmark of the event path when run with a profiler.
+     */
+    @Test
+    public void replaysCapturesThroughEventHandler() throws IOException {
+        final int rounds = 10000;
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < rounds; i++) {
+            stream.write(MULTICALL_CAPTURE);
+            stream.write(EVENT_CAPTURE);
+        }
+        InputStream is = new ByteArrayInputStream(stream.toByteArray());
+
+        CountingListener listener = new CountingListener();
+        RpcResponseHandler<byte[]> handler = new TestResponseHandler(listener);
+        for (int i = 0; i < rounds * 2; i++) {
+            decoder.read(is, true);
+            if ("system.multicall".equals(decoder.getMethodName())) {
+                decoder.readMulticall(handler::handleMethodCall);
+                assertThat(handler.getMulticallResult(), is(TestResponseHandler.EMPTY_EVENT_LIST));
+            } else {
+                handler.handleMethodCall(decoder.getMethodName(), decoder.readValues());
+            }
+        }
+
+        assertThat(listener.events, is(rounds * (MULTICALL_EVENTS.length + 1)));
+        assertThat(listener.lastEvent.getName(), is("STATE"));
+        assertThat(listener.lastValue, is(Boolean.TRUE));
+        assertThat(is.available(), is(0));
+    }
+
+    private static byte[] concat(byte[]... messages) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] message : messages) {
+            stream.write(message);
+        }
+        return stream.toByteArray();
+    }
+
+    private static class CountingListener implements RpcEventListener {
+        private int events;
+        private HmDatapointInfo lastEvent;
+        private Object lastValue;
+
+        @Override
+        public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+            events++;
+            lastEvent = dpInfo;
+            lastValue = newValue;
+        }
+
+        @Override
+        public void newDevices(List<String> adresses) {
+        }
+
+        @Override
+        public void deleteDevices(List<String> addresses) {
+        }
+    }
+
+    private static class TestResponseHandler extends RpcResponseHandler<byte[]> {
+        private static final byte[] EMPTY_EVENT_LIST = new byte[0];
+
+        public TestResponseHandler(RpcEventListener listener) {
+            super(listener);
+        }
+
+        @Override
+        protected byte[] getEmptyStringResult() {
+            return new byte[0];
+        }
+
+        @Override
+        protected byte[] getEmptyArrayResult() {
+            return new byte[0];
+        }
+
+        @Override
+        protected byte[] getEmptyEventListResult() {
+            return EMPTY_EVENT_LIST;
+        }
+
+        @Override
+        protected RpcRequest<byte[]> createRpcRequest() {
+            return new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+        }
+    }
+}
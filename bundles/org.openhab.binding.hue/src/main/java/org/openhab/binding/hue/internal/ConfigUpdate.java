@@ -39,12 +39,4 @@ public class ConfigUpdate {
     public String toJson() {
         return commands.stream().map(c -> c.toJson()).collect(joining(",", "{", "}"));
     }
-
-    /**
-     * Returns the message delay recommended by Philips
-     * Regarding to this article: https://developers.meethue.com/documentation/hue-system-performance
-     */
-    public long getMessageDelay() {
-        return commands.size() * 40L;
-    }
 }
@@ -70,7 +70,9 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final HueCommandQueue commandQueue;
+    private final HueObjectCache<FullLight> lightCache = new HueObjectCache<>();
+    private final HueObjectCache<FullSensor> sensorCache = new HueObjectCache<>();
 
     @Nullable
     private Config cachedConfig;
@@ -93,7 +95,8 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandQueue = new HueCommandQueue((address, body) -> http.put(address, body),
+                groupId -> getRelativeURL("groups/" + enc(groupId) + "/action"), scheduler);
     }
 
     /**
@@ -174,13 +177,20 @@ public class HueBridge {
     /**
      * Returns a list of lights known to the bridge.
      *
+     * Lights which did not change since the last call are returned as the same instances as by the last call.
+     *
      * @return list of known lights as {@link FullLight}s
      * @throws UnauthorizedException thrown if the user no longer exists
      */
     public List<FullLight> getFullLights() throws IOException, ApiException {
         if (ApiVersionUtils.supportsFullLights(getVersion())) {
-            Type gsonType = FullLight.GSON_TYPE;
-            return getTypedLights(gsonType);
+            requireAuthentication();
+
+            Result result = http.get(getRelativeURL("lights"));
+
+            handleErrors(result);
+
+            return getCachedObjects(result.getBody(), lightCache, FullLight.class);
         } else {
             return getFullConfig().getLights();
         }
@@ -219,6 +229,8 @@ public class HueBridge {
     /**
      * Returns a list of sensors known to the bridge
      *
+     * Sensors which did not change since the last call are returned as the same instances as by the last call.
+     *
      * @return list of sensors
      * @throws UnauthorizedException thrown if the user no longer exists
      */
@@ -229,16 +241,20 @@ public class HueBridge {
 
         handleErrors(result);
 
-        Map<String, FullSensor> sensorMap = safeFromJson(result.getBody(), FullSensor.GSON_TYPE);
-        ArrayList<FullSensor> sensorList = new ArrayList<>();
+        return getCachedObjects(result.getBody(), sensorCache, FullSensor.class);
+    }
 
-        for (String id : sensorMap.keySet()) {
-            FullSensor sensor = sensorMap.get(id);
-            sensor.setId(id);
-            sensorList.add(sensor);
+    private <T extends HueObject> List<T> getCachedObjects(String json, HueObjectCache<T> cache, Class<T> classOfT)
+            throws ApiException {
+        try {
+            JsonElement objects = new JsonParser().parse(json);
+            if (!objects.isJsonObject()) {
+                throw new ApiException("API returned unexpected result: " + json);
+            }
+            return cache.update(objects.getAsJsonObject(), object -> gson.fromJson(object, classOfT));
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
         }
-
-        return sensorList;
     }
 
     /**
@@ -346,6 +362,15 @@ public class HueBridge {
         return (String) response.success.get("/lights/" + enc(light.getId()) + "/name");
     }
 
+    /**
+     * Returns whether state or config updates are waiting to be sent to the bridge.
+     *
+     * @return true if updates are queued
+     */
+    public boolean hasPendingUpdates() {
+        return commandQueue.getPendingCount() > 0;
+    }
+
     /**
      * Changes the state of a light.
      *
@@ -359,9 +384,8 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.enqueueLightState(light.getId(), getRelativeURL("lights/" + enc(light.getId()) + "/state"),
+                update);
     }
 
     /**
@@ -377,9 +401,7 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.enqueue(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update);
     }
 
     /**
@@ -394,9 +416,7 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.enqueue(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update);
     }
 
     /**
@@ -437,6 +457,8 @@ public class HueBridge {
             groupList.add(group);
         }
 
+        commandQueue.setGroups(groupList);
+
         return groupList;
     }
 
@@ -608,9 +630,8 @@ public class HueBridge {
     public CompletableFuture<Result> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.enqueueGroupAction(group.getId(), getRelativeURL("groups/" + enc(group.getId()) + "/action"),
+                update);
     }
 
     /**
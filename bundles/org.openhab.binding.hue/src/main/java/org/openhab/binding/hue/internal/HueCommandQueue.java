@@ -0,0 +1,358 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of state and config updates sent to the bridge.
+ *
+ * Updates are sent one at a time, paced according to the bridge performance recommendations of Philips
+ * (https://developers.meethue.com/documentation/hue-system-performance): 40 ms per changed attribute, and at most one
+ * group command per second. While waiting to be sent:
+ * <ul>
+ * <li>updates of the same resource are merged, later attribute values replacing earlier ones. A color replaces the
+ * pending color of any other color mode, as the bridge would otherwise prefer xy over ct over hue and saturation.
+ * Alerts and effects are never merged, so that each of them is executed.</li>
+ * <li>identical updates of all the lights of a group are replaced by a single update of the group</li>
+ * </ul>
+ * Updates are never reordered relative to group updates, so that the resulting light states are the same as when
+ * sending every update.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandQueue {
+
+    static final long DELAY_PER_COMMAND_MILLIS = 40;
+    static final long GROUP_COMMAND_INTERVAL_MILLIS = 1000;
+
+    /** Color mode of each color attribute */
+    private static final Map<String, String> COLOR_MODES = new HashMap<>();
+    /** Attributes triggering an action each time they are sent */
+    private static final Set<String> ACTION_KEYS = new HashSet<>();
+
+    static {
+        COLOR_MODES.put("xy", "xy");
+        COLOR_MODES.put("ct", "ct");
+        COLOR_MODES.put("hue", "hs");
+        COLOR_MODES.put("sat", "hs");
+        ACTION_KEYS.add("alert");
+        ACTION_KEYS.add("effect");
+    }
+
+    /**
+     * Sends an update to the bridge
+     */
+    @FunctionalInterface
+    public interface Sender {
+        Result put(String address, String body) throws IOException;
+    }
+
+    private enum Kind {
+        LIGHT,
+        GROUP,
+        OTHER
+    }
+
+    private static class PendingUpdate {
+        private final Kind kind;
+        private final String id;
+        private final String address;
+        private final long sequence;
+        private final Map<String, Command> commands = new LinkedHashMap<>();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+
+        private PendingUpdate(Kind kind, String id, String address, long sequence) {
+            this.kind = kind;
+            this.id = id;
+            this.address = address;
+            this.sequence = sequence;
+        }
+
+        private void merge(ConfigUpdate update) {
+            Set<String> colorModes = new HashSet<>();
+            for (Command command : update.commands) {
+                String colorMode = COLOR_MODES.get(command.key);
+                if (colorMode != null) {
+                    colorModes.add(colorMode);
+                }
+            }
+            if (!colorModes.isEmpty()) {
+                // the pending color of another mode would take precedence over the new one
+                commands.keySet().removeIf(key -> {
+                    String colorMode = COLOR_MODES.get(key);
+                    return colorMode != null && !colorModes.contains(colorMode);
+                });
+            }
+            for (Command command : update.commands) {
+                // keep the order of the first update, but the value of the last
+                commands.put(command.key, command);
+            }
+        }
+
+        private boolean hasAction() {
+            return commands.keySet().stream().anyMatch(ACTION_KEYS::contains);
+        }
+
+        private String toJson() {
+            return commands.values().stream().map(Command::toJson).collect(joining(",", "{", "}"));
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandQueue.class);
+
+    private final Sender sender;
+    private final Function<String, String> groupActionAddress;
+    private final ScheduledExecutorService scheduler;
+
+    /** Updates in the order they are sent */
+    private final List<PendingUpdate> queue = new ArrayList<>();
+    /** Latest queued update of each address */
+    private final Map<String, PendingUpdate> latest = new HashMap<>();
+    private Map<String, Set<String>> groupLights = Collections.emptyMap();
+    private long sequence;
+    private long lastLightSequence = -1;
+    private long lastGroupSequence = -1;
+    private long nextSendNanos;
+    private long nextGroupSendNanos;
+    private @Nullable Future<?> job;
+
+    /**
+     * Creates the queue
+     *
+     * @param sender sends the updates
+     * @param groupActionAddress returns the address of the action of the group with the given id
+     * @param scheduler scheduler to send the updates with
+     */
+    public HueCommandQueue(Sender sender, Function<String, String> groupActionAddress,
+            ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.groupActionAddress = groupActionAddress;
+        this.scheduler = scheduler;
+        this.nextSendNanos = System.nanoTime();
+        this.nextGroupSendNanos = nextSendNanos;
+    }
+
+    /**
+     * Sets the groups known to the bridge. Identical updates of all the lights of one of the groups are replaced by a
+     * single group update.
+     *
+     * @param groups groups of the bridge
+     */
+    public void setGroups(Collection<FullGroup> groups) {
+        Map<String, Set<String>> lights = new HashMap<>();
+        for (FullGroup group : groups) {
+            List<String> groupLights = group.getLights();
+            if (groupLights != null && groupLights.size() > 1) {
+                lights.put(group.getId(), new HashSet<>(groupLights));
+            }
+        }
+        synchronized (this) {
+            this.groupLights = lights;
+        }
+    }
+
+    /**
+     * Queues an update of the state of a light
+     */
+    public CompletableFuture<Result> enqueueLightState(String lightId, String address, ConfigUpdate update) {
+        return enqueue(Kind.LIGHT, lightId, address, update);
+    }
+
+    /**
+     * Queues an update of the action of a group
+     */
+    public CompletableFuture<Result> enqueueGroupAction(String groupId, String address, ConfigUpdate update) {
+        return enqueue(Kind.GROUP, groupId, address, update);
+    }
+
+    /**
+     * Queues an update of any other resource, e.g. a sensor
+     */
+    public CompletableFuture<Result> enqueue(String address, ConfigUpdate update) {
+        return enqueue(Kind.OTHER, address, address, update);
+    }
+
+    private synchronized CompletableFuture<Result> enqueue(Kind kind, String id, String address,
+            ConfigUpdate update) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        PendingUpdate pendingUpdate = latest.get(address);
+        if (pendingUpdate != null && canMerge(pendingUpdate, update)) {
+            logger.debug("Merging update {} into pending update of {}", update.toJson(), address);
+        } else {
+            pendingUpdate = new PendingUpdate(kind, id, address, sequence++);
+            queue.add(pendingUpdate);
+            latest.put(address, pendingUpdate);
+        }
+        pendingUpdate.merge(update);
+        pendingUpdate.futures.add(future);
+        if (kind == Kind.LIGHT) {
+            lastLightSequence = Math.max(lastLightSequence, pendingUpdate.sequence);
+        } else if (kind == Kind.GROUP) {
+            lastGroupSequence = Math.max(lastGroupSequence, pendingUpdate.sequence);
+        }
+
+        if (job == null) {
+            job = scheduler.submit(this::sendPendingUpdates);
+        }
+        return future;
+    }
+
+    /**
+     * Light updates cannot be merged into an update queued before a group update, and vice versa, as the merged update
+     * would overtake it. Updates with alerts or effects are not merged at all, as repeated alerts would collapse into
+     * one.
+     */
+    private boolean canMerge(PendingUpdate pendingUpdate, ConfigUpdate update) {
+        if (pendingUpdate.hasAction()
+                || update.commands.stream().anyMatch(command -> ACTION_KEYS.contains(command.key))) {
+            return false;
+        }
+        switch (pendingUpdate.kind) {
+            case LIGHT:
+                return pendingUpdate.sequence > lastGroupSequence;
+            case GROUP:
+                return pendingUpdate.sequence > lastLightSequence;
+            default:
+                return true;
+        }
+    }
+
+    private void sendPendingUpdates() {
+        while (true) {
+            PendingUpdate next;
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    job = null;
+                    return;
+                }
+                next = queue.get(0);
+                long now = System.nanoTime();
+                long waitNanos = nextSendNanos - now;
+                if (next.kind == Kind.GROUP) {
+                    waitNanos = Math.max(waitNanos, nextGroupSendNanos - now);
+                }
+                if (waitNanos > 0) {
+                    job = scheduler.schedule(this::sendPendingUpdates, waitNanos, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                // a substituted group update must respect the group command interval, too
+                PendingUpdate groupUpdate = next.kind == Kind.LIGHT && nextGroupSendNanos - now <= 0
+                        ? substituteGroup(next)
+                        : null;
+                if (groupUpdate != null) {
+                    next = groupUpdate;
+                } else {
+                    remove(next);
+                }
+                nextSendNanos = now + TimeUnit.MILLISECONDS.toNanos(next.commands.size() * DELAY_PER_COMMAND_MILLIS);
+                if (next.kind == Kind.GROUP) {
+                    nextGroupSendNanos = now + TimeUnit.MILLISECONDS.toNanos(GROUP_COMMAND_INTERVAL_MILLIS);
+                }
+            }
+            send(next);
+        }
+    }
+
+    private void remove(PendingUpdate update) {
+        queue.remove(update);
+        latest.remove(update.address, update);
+    }
+
+    /**
+     * Replaces identical pending updates of all lights of a group by a single group update. The largest group is
+     * chosen. Only done if no group update is pending, so that no update is overtaken.
+     */
+    private @Nullable PendingUpdate substituteGroup(PendingUpdate lightUpdate) {
+        if (queue.size() < 2) {
+            return null;
+        }
+        String body = lightUpdate.toJson();
+        Map<String, PendingUpdate> identicalUpdates = new HashMap<>();
+        for (PendingUpdate update : queue) {
+            if (update.kind == Kind.GROUP) {
+                return null;
+            }
+            if (update.kind == Kind.LIGHT && body.equals(update.toJson())) {
+                identicalUpdates.put(update.id, update);
+            }
+        }
+        String substitutedGroup = null;
+        Set<String> substitutedLights = Collections.emptySet();
+        for (Map.Entry<String, Set<String>> group : groupLights.entrySet()) {
+            Set<String> lights = group.getValue();
+            if (lights.size() > substitutedLights.size() && lights.contains(lightUpdate.id)
+                    && identicalUpdates.keySet().containsAll(lights)) {
+                substitutedGroup = group.getKey();
+                substitutedLights = lights;
+            }
+        }
+        if (substitutedGroup == null) {
+            return null;
+        }
+        logger.debug("Sending update {} of {} lights as update of group {}", body, substitutedLights.size(),
+                substitutedGroup);
+        PendingUpdate groupUpdate = new PendingUpdate(Kind.GROUP, substitutedGroup,
+                groupActionAddress.apply(substitutedGroup), lightUpdate.sequence);
+        groupUpdate.commands.putAll(lightUpdate.commands);
+        for (String lightId : substitutedLights) {
+            PendingUpdate update = identicalUpdates.get(lightId);
+            if (update != null) {
+                remove(update);
+                groupUpdate.futures.addAll(update.futures);
+            }
+        }
+        return groupUpdate;
+    }
+
+    private void send(PendingUpdate update) {
+        String body = update.toJson();
+        logger.debug("Async sending put to address: {} body: {}", update.address, body);
+        try {
+            Result result = sender.put(update.address, body);
+            update.futures.forEach(future -> future.complete(result));
+        } catch (IOException | RuntimeException e) {
+            update.futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Returns the number of updates waiting to be sent
+     */
+    synchronized int getPendingCount() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Cache of the objects of the last poll of a bridge resource, e.g. all lights.
+ *
+ * The JSON of each object is kept as its fingerprint. Objects whose JSON did not change since the last poll are not
+ * deserialized again, the instance of the last poll is returned instead. Callers can hence detect unchanged objects
+ * by identity.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class HueObjectCache<T extends HueObject> {
+
+    private static class Entry<T> {
+        private final String fingerprint;
+        private final T object;
+
+        private Entry(String fingerprint, T object) {
+            this.fingerprint = fingerprint;
+            this.object = object;
+        }
+    }
+
+    private Map<String, Entry<T>> entries = new HashMap<>();
+
+    /**
+     * Updates the cache with the result of a poll
+     *
+     * @param objects JSON object mapping the id of each object to the object
+     * @param deserializer deserializes changed objects
+     * @return all objects of the poll, in the order of the JSON object
+     */
+    synchronized List<T> update(JsonObject objects, Function<JsonElement, T> deserializer) {
+        Map<String, Entry<T>> updatedEntries = new HashMap<>();
+        List<T> result = new ArrayList<>(objects.size());
+        for (Map.Entry<String, JsonElement> object : objects.entrySet()) {
+            String id = object.getKey();
+            String fingerprint = object.getValue().toString();
+            Entry<T> entry = entries.get(id);
+            if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+                T deserialized = deserializer.apply(object.getValue());
+                deserialized.setId(id);
+                entry = new Entry<>(fingerprint, deserialized);
+            }
+            updatedEntries.put(id, entry);
+            result.add(entry.object);
+        }
+        entries = updatedEntries;
+        return result;
+    }
+}
@@ -19,8 +19,10 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -85,6 +87,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long BYPASS_MIN_DURATION_BEFORE_CMD = 1500L;
 
+    // a sensor poll is done after this many sensor polls in a row were skipped because the bridge was busy
+    private static final int MAX_SKIPPED_SENSOR_POLLS = 3;
+
     private static final String DEVICE_TYPE = "EclipseSmartHome";
 
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
@@ -165,6 +170,22 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     }
 
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
+        private int skippedPolls;
+
+        @Override
+        public void run() {
+            // at short intervals, skip a poll instead of delaying light polling or queued commands, but not so often
+            // that a steady stream of commands stops sensor updates
+            if (skippedPolls < MAX_SKIPPED_SENSOR_POLLS
+                    && (pollingLock.isLocked() || (hueBridge != null && hueBridge.hasPendingUpdates()))) {
+                skippedPolls++;
+                logger.trace("Skipping sensor polling, the Hue bridge is busy");
+                return;
+            }
+            skippedPolls = 0;
+            super.run();
+        }
+
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
             Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
@@ -184,7 +205,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastSensorStates.put(sensorId, sensor);
-                } else {
+                } else if (sensor != lastSensorStates.get(sensorId)) {
+                    // the bridge returns the same instance if the sensor did not change since the last poll
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
                     }
@@ -221,6 +243,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             }
 
             final HueLightDiscoveryService discovery = discoveryService;
+            final Set<String> changedLights = new HashSet<>();
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
@@ -235,9 +258,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastLightStates.put(lightId, fullLight);
-                } else {
+                    changedLights.add(lightId);
+                } else if (fullLight != lastLightStates.get(lightId)) {
+                    // the bridge returns the same instance if the light did not change since the last poll
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                        changedLights.add(lightId);
                     }
                 }
             }
@@ -246,6 +272,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             lastLightStateCopy.forEach((lightId, light) -> {
                 logger.debug("Hue light '{}' removed.", lightId);
                 lastLightStates.remove(lightId);
+                changedLights.add(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener != null) {
@@ -260,6 +287,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             Map<String, FullGroup> lastGroupStateCopy = new HashMap<>(lastGroupStates);
 
             for (final FullGroup fullGroup : hueBridge.getGroups()) {
+                String groupId = fullGroup.getId();
+                lastGroupStateCopy.remove(groupId);
+
+                final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
+                if (groupStatusListener != null
+                        && isUnchanged(fullGroup, lastGroupStates.get(groupId), changedLights)) {
+                    logger.trace("Group {} ({}) unchanged", fullGroup.getName(), groupId);
+                    continue;
+                }
+
                 State groupState = new State();
                 boolean on = false;
                 int sumBri = 0;
@@ -306,10 +343,6 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                         groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
                         groupState.getXY());
 
-                String groupId = fullGroup.getId();
-                lastGroupStateCopy.remove(groupId);
-
-                final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener == null) {
                     logger.debug("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
                             fullGroup.getLights().size());
@@ -341,6 +374,20 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 }
             });
         }
+
+        /**
+         * The state of a group is computed from the states of its lights, it is hence unchanged if the group itself
+         * and all its lights are unchanged.
+         */
+        private boolean isUnchanged(FullGroup group, @Nullable FullGroup lastGroup, Set<String> changedLights) {
+            if (lastGroup == null || !Objects.equals(group.getName(), lastGroup.getName())
+                    || !Objects.equals(group.getType(), lastGroup.getType())
+                    || !Objects.equals(group.getLights(), lastGroup.getLights())) {
+                return false;
+            }
+            List<String> lights = group.getLights();
+            return lights == null || lights.stream().noneMatch(changedLights::contains);
+        }
     };
 
     private boolean lastBridgeConnectionState = false;
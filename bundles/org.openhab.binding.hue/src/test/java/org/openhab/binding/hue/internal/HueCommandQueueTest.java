@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.binding.hue.internal.State.AlertMode;
+import org.openhab.binding.hue.internal.State.Effect;
+
+import com.google.gson.Gson;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class HueCommandQueueTest {
+
+    private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> sentNanos = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch firstSendReleased = new CountDownLatch(1);
+
+    private ScheduledExecutorService scheduler;
+    private HueCommandQueue queue;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        queue = new HueCommandQueue((address, body) -> {
+            sentNanos.add(System.nanoTime());
+            sent.add(address + " " + body);
+            firstSendStarted.countDown();
+            try {
+                firstSendReleased.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Result("[]", 200);
+        }, groupId -> "groups/" + groupId + "/action", scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private void blockSending() throws InterruptedException {
+        queue.enqueue("sensors/9/state", new StateUpdate().setOn(true));
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    private void setGroup(String id, String... lights) {
+        FullGroup group = new Gson().fromJson("{\"lights\":" + new Gson().toJson(lights) + "}", FullGroup.class);
+        group.setId(id);
+        queue.setGroups(Collections.singletonList(group));
+    }
+
+    private void complete(List<CompletableFuture<Result>> futures) throws Exception {
+        for (CompletableFuture<Result> future : futures) {
+            assertEquals(200, future.get(5, TimeUnit.SECONDS).getResponseCode());
+        }
+    }
+
+    @Test
+    public void testUpdatesOfSameLightAreMerged() throws Exception {
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setBrightness(10)));
+        futures.add(queue.enqueueLightState("1", "lights/1/state",
+                new StateUpdate().setBrightness(20).setColorTemperature(300)));
+        assertEquals(1, queue.getPendingCount());
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(2, sent.size());
+        assertEquals("lights/1/state {\"bri\":20,\"ct\":300}", sent.get(1));
+    }
+
+    @Test
+    public void testNewerColorModeReplacesPendingColor() throws Exception {
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setXY(0.3f, 0.4f)));
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setColorTemperature(300)));
+        futures.add(queue.enqueueLightState("2", "lights/2/state", new StateUpdate().setColorTemperature(300)));
+        futures.add(queue.enqueueLightState("2", "lights/2/state", new StateUpdate().setHue(1000)));
+        futures.add(queue.enqueueLightState("2", "lights/2/state", new StateUpdate().setSat(200)));
+        futures.add(queue.enqueueLightState("3", "lights/3/state", new StateUpdate().setHue(1000).setSat(200)));
+        futures.add(queue.enqueueLightState("3", "lights/3/state", new StateUpdate().setBrightness(50)));
+        futures.add(queue.enqueueLightState("3", "lights/3/state", new StateUpdate().setXY(0.3f, 0.4f)));
+        assertEquals(3, queue.getPendingCount());
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(4, sent.size());
+        assertEquals("lights/1/state {\"ct\":300}", sent.get(1));
+        // hue and saturation are the same color mode
+        assertEquals("lights/2/state {\"hue\":1000,\"sat\":200}", sent.get(2));
+        assertEquals("lights/3/state {\"bri\":50,\"xy\":[0.3,0.4]}", sent.get(3));
+    }
+
+    @Test
+    public void testAlertsAreNotMerged() throws Exception {
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setBrightness(10)));
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setAlert(AlertMode.SELECT)));
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setAlert(AlertMode.SELECT)));
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setBrightness(20)));
+        assertEquals(4, queue.getPendingCount());
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(5, sent.size());
+        assertEquals("lights/1/state {\"bri\":10}", sent.get(1));
+        assertEquals("lights/1/state {\"alert\":\"select\"}", sent.get(2));
+        assertEquals("lights/1/state {\"alert\":\"select\"}", sent.get(3));
+        assertEquals("lights/1/state {\"bri\":20}", sent.get(4));
+    }
+
+    @Test
+    public void testEffectsAreNotMerged() throws Exception {
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueGroupAction("5", "groups/5/action", new StateUpdate().setEffect(Effect.COLORLOOP)));
+        futures.add(queue.enqueueGroupAction("5", "groups/5/action", new StateUpdate().setEffect(Effect.NONE)));
+        assertEquals(2, queue.getPendingCount());
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(3, sent.size());
+        assertEquals("groups/5/action {\"effect\":\"colorloop\"}", sent.get(1));
+        assertEquals("groups/5/action {\"effect\":\"none\"}", sent.get(2));
+    }
+
+    @Test
+    public void testIdenticalUpdatesOfGroupLightsAreSentToGroup() throws Exception {
+        setGroup("5", "1", "2");
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setOn(true)));
+        futures.add(queue.enqueueLightState("2", "lights/2/state", new StateUpdate().setOn(true)));
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(2, sent.size());
+        assertEquals("groups/5/action {\"on\":true}", sent.get(1));
+    }
+
+    @Test
+    public void testDifferentUpdatesOfGroupLightsAreSentToLights() throws Exception {
+        setGroup("5", "1", "2");
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setOn(true)));
+        futures.add(queue.enqueueLightState("2", "lights/2/state", new StateUpdate().setOn(false)));
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testUpdatesDoNotOvertakeGroupUpdates() throws Exception {
+        setGroup("5", "1", "2");
+        blockSending();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setBrightness(10)));
+        futures.add(queue.enqueueGroupAction("5", "groups/5/action", new StateUpdate().setBrightness(50)));
+        futures.add(queue.enqueueLightState("1", "lights/1/state", new StateUpdate().setBrightness(20)));
+        assertEquals(3, queue.getPendingCount());
+        firstSendReleased.countDown();
+
+        complete(futures);
+        assertEquals(4, sent.size());
+        assertEquals("lights/1/state {\"bri\":10}", sent.get(1));
+        assertEquals("groups/5/action {\"bri\":50}", sent.get(2));
+        assertEquals("lights/1/state {\"bri\":20}", sent.get(3));
+    }
+
+    @Test
+    public void testUpdatesArePaced() throws Exception {
+        firstSendReleased.countDown();
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        futures.add(queue.enqueueLightState("1", "lights/1/state",
+                new StateUpdate().setOn(true).setBrightness(10).setColorTemperature(300)));
+        futures.add(queue.enqueueLightState("2", "lights/2/state", new StateUpdate().setOn(true)));
+        futures.add(queue.enqueueGroupAction("5", "groups/5/action", new StateUpdate().setOn(true)));
+        futures.add(queue.enqueueGroupAction("6", "groups/6/action", new StateUpdate().setOn(true)));
+
+        complete(futures);
+        assertEquals(4, sent.size());
+        // 3 commands of 40 ms each
+        assertTrue(sentNanos.get(1) - sentNanos.get(0) >= TimeUnit.MILLISECONDS.toNanos(120));
+        // at most one group command per second
+        assertTrue(sentNanos.get(3) - sentNanos.get(2) >= TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+}
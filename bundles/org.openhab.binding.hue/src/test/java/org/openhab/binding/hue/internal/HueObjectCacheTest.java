@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class HueObjectCacheTest {
+
+    private final Gson gson = new Gson();
+    private final AtomicInteger deserialized = new AtomicInteger();
+    private final HueObjectCache<FullLight> cache = new HueObjectCache<>();
+
+    private List<FullLight> poll(String json) {
+        JsonObject objects = new JsonParser().parse(json).getAsJsonObject();
+        return cache.update(objects, object -> {
+            deserialized.incrementAndGet();
+            return gson.fromJson(object, FullLight.class);
+        });
+    }
+
+    @Test
+    public void unchangedObjectsAreReused() {
+        List<FullLight> first = poll(
+                "{\"1\":{\"name\":\"a\",\"state\":{\"on\":true,\"bri\":1}},\"2\":{\"name\":\"b\",\"state\":{\"on\":false}}}");
+        List<FullLight> second = poll(
+                "{\"1\":{\"name\":\"a\",\"state\":{\"on\":true,\"bri\":1}},\"2\":{\"name\":\"b\",\"state\":{\"on\":true}}}");
+
+        assertEquals(3, deserialized.get());
+        assertSame(first.get(0), second.get(0));
+        assertNotSame(first.get(1), second.get(1));
+        assertEquals("1", second.get(0).getId());
+        assertEquals("2", second.get(1).getId());
+        assertTrue(second.get(1).getState().isOn());
+    }
+
+    @Test
+    public void removedObjectsAreForgotten() {
+        List<FullLight> first = poll("{\"1\":{\"name\":\"a\"}}");
+        poll("{}");
+        List<FullLight> third = poll("{\"1\":{\"name\":\"a\"}}");
+
+        assertEquals(2, deserialized.get());
+        assertNotSame(first.get(0), third.get(0));
+    }
+}
@@ -13,8 +13,6 @@
 package org.openhab.binding.knx.internal.client;
 
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -72,7 +70,6 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private final int responseTimeout;
     private final int readingPause;
     private final int autoReconnectPeriod;
-    private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
 
@@ -84,9 +81,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
+    private long nextReadNanos;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerIndex groupAddressListeners = new GroupAddressListenerIndex();
+    private final TelegramStatistics telegramStatistics = new TelegramStatistics();
+    private final ReadScheduler readScheduler;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -103,21 +102,21 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
-            processEvent("Group Write", e, (listener, source, destination, asdu) -> {
+            processEvent("Group Write", e, true, (listener, source, destination, asdu) -> {
                 listener.onGroupWrite(AbstractKNXClient.this, source, destination, asdu);
             });
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
-            processEvent("Group Read Request", e, (listener, source, destination, asdu) -> {
+            processEvent("Group Read Request", e, false, (listener, source, destination, asdu) -> {
                 listener.onGroupRead(AbstractKNXClient.this, source, destination, asdu);
             });
         }
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
-            processEvent("Group Read Response", e, (listener, source, destination, asdu) -> {
+            processEvent("Group Read Response", e, true, (listener, source, destination, asdu) -> {
                 listener.onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu);
             });
         }
@@ -129,7 +128,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
-        this.readRetriesLimit = readRetriesLimit;
+        this.readScheduler = new ReadScheduler(readingPause, readRetriesLimit);
+        this.nextReadNanos = System.nanoTime();
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
     }
@@ -223,7 +223,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @SuppressWarnings("null")
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
+        readScheduler.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -246,16 +246,29 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return null;
     }
 
-    private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
+    private void processEvent(String task, ProcessEvent event, boolean carriesValue, ListenerNotification action) {
         GroupAddress destination = event.getDestination();
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        telegramStatistics.record(destination);
+        readScheduler.received(destination, carriesValue, System.nanoTime());
+        Set<GroupAddressListener> listeners = groupAddressListeners.get(destination);
+        if (listeners.isEmpty()) {
+            return;
         }
+        knxScheduler.execute(() -> {
+            for (GroupAddressListener listener : listeners) {
+                if (listener.listensTo(destination)) {
+                    try {
+                        action.apply(listener, source, destination, asdu);
+                    } catch (RuntimeException e) {
+                        logger.warn("Error while processing a {} telegram to '{}': {}", task, destination,
+                                e.getMessage(), e);
+                    }
+                }
+            }
+        });
     }
 
     /**
@@ -272,6 +285,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @SuppressWarnings("null")
     private void readNextQueuedDatapoint() {
+        if (System.nanoTime() - nextReadNanos < 0) {
+            // the reading pause is stretched while reads fail or the bus is busy
+            return;
+        }
         if (!connectIfNotAutomatic()) {
             return;
         }
@@ -279,15 +296,15 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        ReadDatapoint datapoint = readScheduler.next();
         if (datapoint != null) {
             datapoint.incrementRetries();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                readScheduler.succeeded();
             } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                if (readScheduler.failed(datapoint)) {
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -298,6 +315,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
                 logger.debug("Interrupted sending KNX read request");
                 return;
             }
+            long now = System.nanoTime();
+            nextReadNanos = now + TimeUnit.MILLISECONDS.toNanos(readScheduler.getPause(now) - readingPause);
         }
     }
 
@@ -367,12 +386,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readDatapoint(datapoint, ReadPriority.NORMAL);
+    }
+
+    @Override
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readScheduler.add(datapoint, priority);
     }
 
     @Override
@@ -380,6 +399,24 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return groupAddressListeners.add(listener);
     }
 
+    /**
+     * Get the statistics of the telegrams received by this client.
+     *
+     * @return the telegram statistics by group address
+     */
+    public TelegramStatistics getTelegramStatistics() {
+        return telegramStatistics;
+    }
+
+    /**
+     * Get the scheduler of the read requests, e.g. to inspect its progress.
+     *
+     * @return the read scheduler
+     */
+    public ReadScheduler getReadScheduler() {
+        return readScheduler;
+    }
+
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
         return groupAddressListeners.remove(listener);
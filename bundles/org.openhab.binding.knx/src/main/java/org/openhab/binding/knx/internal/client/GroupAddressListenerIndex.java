@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the registered {@link GroupAddressListener}s by the group addresses they listen to, so that the listeners
+ * of a telegram are found without asking every registered listener.
+ *
+ * The group addresses of a listener are taken when it is registered. Registering a listener again updates them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressListenerIndex {
+
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, Set<GroupAddress>> addressesByListener = new HashMap<>();
+
+    /**
+     * Add the given listener, or update its group addresses if it is already registered.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't registered before
+     */
+    synchronized boolean add(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = new HashSet<>(listener.getGroupAddresses());
+        Set<GroupAddress> previousAddresses = addressesByListener.put(listener, addresses);
+        if (previousAddresses != null) {
+            unindex(listener, previousAddresses);
+        }
+        for (GroupAddress address : addresses) {
+            listenersByAddress.computeIfAbsent(address, a -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+        return previousAddresses == null;
+    }
+
+    /**
+     * Remove the given listener.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was registered
+     */
+    synchronized boolean remove(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = addressesByListener.remove(listener);
+        if (addresses == null) {
+            return false;
+        }
+        unindex(listener, addresses);
+        return true;
+    }
+
+    private void unindex(GroupAddressListener listener, Set<GroupAddress> addresses) {
+        for (GroupAddress address : addresses) {
+            Set<GroupAddressListener> listeners = listenersByAddress.get(address);
+            if (listeners != null) {
+                listeners.remove(listener);
+                if (listeners.isEmpty()) {
+                    listenersByAddress.remove(address);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the listeners of the given group address.
+     *
+     * @param destination the group address
+     * @return the listeners, empty if there are none
+     */
+    Set<GroupAddressListener> get(GroupAddress destination) {
+        Set<GroupAddressListener> listeners = listenersByAddress.get(destination);
+        return listeners != null ? listeners : Collections.emptySet();
+    }
+}
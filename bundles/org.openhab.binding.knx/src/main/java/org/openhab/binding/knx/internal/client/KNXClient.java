@@ -83,6 +83,14 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Schedule the given data point for asynchronous reading with the given priority.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority of the read
+     */
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
     /**
      * Write a command to the KNX bus.
      *
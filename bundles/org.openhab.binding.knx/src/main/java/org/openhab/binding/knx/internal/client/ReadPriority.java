@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority of a queued read request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** Reads somebody is waiting for, e.g. after a channel was linked or refreshed */
+    HIGH,
+    /** Initial and periodic reads */
+    NORMAL
+}
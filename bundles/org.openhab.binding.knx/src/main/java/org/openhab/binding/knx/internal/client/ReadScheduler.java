@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Each group address is queued at most once. Reads with {@link ReadPriority#HIGH} are sent before all others, and a
+ * queued read is dropped when a value for its group address is received from the bus in the meantime.
+ *
+ * The pause between two reads is the configured reading pause, stretched while reads are not acknowledged and while
+ * the bus is busy.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /** Maximum factor the reading pause is stretched by when reads fail */
+    static final int MAX_BACKOFF = 16;
+
+    /** Telegrams per second up to which the bus is not considered busy (about a third of a TP1 line) */
+    static final double BUS_LOAD_THRESHOLD = 15;
+
+    private static final double LOAD_TIME_CONSTANT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final int readingPause;
+    private final int readRetriesLimit;
+
+    private final Map<GroupAddress, ReadDatapoint> highPriority = new LinkedHashMap<>();
+    private final Map<GroupAddress, ReadDatapoint> normalPriority = new LinkedHashMap<>();
+
+    private int backoff = 1;
+    /** Telegrams per nanosecond at {@link #lastTelegramNanos} */
+    private double busLoad;
+    private long lastTelegramNanos;
+
+    private long completed;
+    private long retried;
+    private long failed;
+    private long satisfied;
+
+    /**
+     * @param readingPause the minimum pause between two reads in milliseconds
+     * @param readRetriesLimit the number of attempts to read a datapoint
+     */
+    public ReadScheduler(int readingPause, int readRetriesLimit) {
+        this.readingPause = readingPause;
+        this.readRetriesLimit = readRetriesLimit;
+    }
+
+    /**
+     * Queue a datapoint to be read.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority of the read
+     * @return {@code true} if the read was queued or moved up, {@code false} if it was queued already
+     */
+    public synchronized boolean add(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress address = datapoint.getMainAddress();
+        if (highPriority.containsKey(address)) {
+            return false;
+        }
+        ReadDatapoint queued = normalPriority.get(address);
+        if (queued != null) {
+            if (priority == ReadPriority.NORMAL) {
+                return false;
+            }
+            normalPriority.remove(address);
+            highPriority.put(address, queued);
+            return true;
+        }
+        queue(priority).put(address, new ReadDatapoint(datapoint, readRetriesLimit));
+        return true;
+    }
+
+    /**
+     * Take the next datapoint to read from the queue.
+     *
+     * @return the datapoint or {@code null} if there is nothing to read
+     */
+    public synchronized @Nullable ReadDatapoint next() {
+        ReadDatapoint datapoint = poll(highPriority);
+        return datapoint != null ? datapoint : poll(normalPriority);
+    }
+
+    private static @Nullable ReadDatapoint poll(Map<GroupAddress, ReadDatapoint> queue) {
+        Iterator<ReadDatapoint> iterator = queue.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        ReadDatapoint datapoint = iterator.next();
+        iterator.remove();
+        return datapoint;
+    }
+
+    /**
+     * Record that a datapoint taken by {@link #next()} was read successfully.
+     */
+    public synchronized void succeeded() {
+        completed++;
+        backoff = Math.max(1, backoff / 2);
+    }
+
+    /**
+     * Record that a datapoint taken by {@link #next()} could not be read. It is queued again at the end of the normal
+     * priority reads unless its retries are exhausted.
+     *
+     * @param datapoint the datapoint
+     * @return {@code true} if the read will be retried
+     */
+    public synchronized boolean failed(ReadDatapoint datapoint) {
+        backoff = Math.min(MAX_BACKOFF, backoff * 2);
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (datapoint.getRetries() < datapoint.getLimit() && !highPriority.containsKey(address)
+                && !normalPriority.containsKey(address)) {
+            normalPriority.put(address, datapoint);
+            retried++;
+            return true;
+        }
+        failed++;
+        return false;
+    }
+
+    /**
+     * Record a telegram received from the bus.
+     *
+     * @param destination the group address of the telegram
+     * @param carriesValue {@code true} for write and read response telegrams, which make a queued read of the group
+     *            address obsolete
+     * @param nanos the current time as returned by {@link System#nanoTime()}
+     */
+    public synchronized void received(GroupAddress destination, boolean carriesValue, long nanos) {
+        busLoad = getBusLoad(nanos) + 1 / LOAD_TIME_CONSTANT_NANOS;
+        lastTelegramNanos = nanos;
+        if (carriesValue && (highPriority.remove(destination) != null || normalPriority.remove(destination) != null)) {
+            satisfied++;
+        }
+    }
+
+    private double getBusLoad(long nanos) {
+        return busLoad * Math.exp(-(nanos - lastTelegramNanos) / LOAD_TIME_CONSTANT_NANOS);
+    }
+
+    /**
+     * Get the pause before the next read.
+     *
+     * @param nanos the current time as returned by {@link System#nanoTime()}
+     * @return the pause in milliseconds
+     */
+    public synchronized long getPause(long nanos) {
+        double telegramsPerSecond = getBusLoad(nanos) * TimeUnit.SECONDS.toNanos(1);
+        double loadFactor = Math.max(1, telegramsPerSecond / BUS_LOAD_THRESHOLD);
+        return Math.round(readingPause * backoff * loadFactor);
+    }
+
+    /**
+     * Remove all queued reads.
+     */
+    public synchronized void clear() {
+        highPriority.clear();
+        normalPriority.clear();
+        backoff = 1;
+    }
+
+    private Map<GroupAddress, ReadDatapoint> queue(ReadPriority priority) {
+        return priority == ReadPriority.HIGH ? highPriority : normalPriority;
+    }
+
+    /**
+     * Get the number of queued reads.
+     */
+    public synchronized int getPending() {
+        return highPriority.size() + normalPriority.size();
+    }
+
+    /**
+     * Get the number of successful reads.
+     */
+    public synchronized long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Get the number of reads which were queued again after a failure.
+     */
+    public synchronized long getRetried() {
+        return retried;
+    }
+
+    /**
+     * Get the number of reads which were given up after the maximum number of retries.
+     */
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Get the number of queued reads which were dropped because a value was received from the bus before.
+     */
+    public synchronized long getSatisfied() {
+        return satisfied;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Statistics of the telegrams received for each group address.
+ *
+ * The rate of each group address is an exponentially weighted moving average with a time constant of one minute, so
+ * that it follows changes of the bus traffic within a few minutes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TelegramStatistics {
+
+    private static final double TIME_CONSTANT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Statistics of the telegrams received for a group address.
+     */
+    public static class AddressStatistics {
+        private long count;
+        private long lastNanos;
+        /** Telegrams per nanosecond at {@link #lastNanos} */
+        private double rate;
+
+        private synchronized void record(long nanos) {
+            if (count > 0) {
+                rate *= Math.exp(-(nanos - lastNanos) / TIME_CONSTANT_NANOS);
+            }
+            rate += 1 / TIME_CONSTANT_NANOS;
+            count++;
+            lastNanos = nanos;
+        }
+
+        private synchronized AddressStatistics copy() {
+            AddressStatistics copy = new AddressStatistics();
+            copy.count = count;
+            copy.lastNanos = lastNanos;
+            copy.rate = rate;
+            return copy;
+        }
+
+        /**
+         * Get the number of telegrams received
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Get the recent rate of telegrams
+         *
+         * @param nanos the current time as returned by {@link System#nanoTime()}
+         * @return telegrams per minute
+         */
+        public double getRatePerMinute(long nanos) {
+            return rate * Math.exp(-(nanos - lastNanos) / TIME_CONSTANT_NANOS) * TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+
+    private final Map<GroupAddress, AddressStatistics> statistics = new ConcurrentHashMap<>();
+
+    void record(GroupAddress destination) {
+        record(destination, System.nanoTime());
+    }
+
+    void record(GroupAddress destination, long nanos) {
+        statistics.computeIfAbsent(destination, d -> new AddressStatistics()).record(nanos);
+    }
+
+    /**
+     * Get a snapshot of the statistics of all group addresses telegrams were received for.
+     *
+     * @return the statistics by group address
+     */
+    public Map<GroupAddress, AddressStatistics> getStatistics() {
+        Map<GroupAddress, AddressStatistics> snapshot = new HashMap<>();
+        statistics.forEach((address, addressStatistics) -> snapshot.put(address, addressStatistics.copy()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Reset the statistics of all group addresses.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.console;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.binding.knx.internal.client.ReadScheduler;
+import org.openhab.binding.knx.internal.client.TelegramStatistics;
+import org.openhab.binding.knx.internal.client.TelegramStatistics.AddressStatistics;
+import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * The {@link KNXCommandExtension} provides console commands for inspecting the bus traffic and the read requests
+ * of the KNX bridges
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class KNXCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String STATISTICS = "statistics";
+    private static final String RESET = "reset";
+    private static final String READS = "reads";
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public KNXCommandExtension(final @Reference ThingRegistry thingRegistry) {
+        super("knx", "Inspect the KNX bridges.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && STATISTICS.equals(args[0])) {
+            forEachBridge(console, (thing, bridgeHandler) -> printStatistics(console, thing, bridgeHandler));
+        } else if (args.length == 2 && STATISTICS.equals(args[0]) && RESET.equals(args[1])) {
+            forEachBridge(console, (thing, bridgeHandler) -> bridgeHandler.getTelegramStatistics()
+                    .ifPresent(TelegramStatistics::reset));
+            console.println("Statistics reset");
+        } else if (args.length == 1 && READS.equals(args[0])) {
+            forEachBridge(console, (thing, bridgeHandler) -> printReads(console, thing, bridgeHandler));
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void forEachBridge(Console console, BiConsumer<Thing, KNXBridgeBaseThingHandler> action) {
+        boolean found = false;
+        for (Thing thing : thingRegistry.getAll()) {
+            ThingHandler thingHandler = thing.getHandler();
+            if (thingHandler instanceof KNXBridgeBaseThingHandler) {
+                action.accept(thing, (KNXBridgeBaseThingHandler) thingHandler);
+                found = true;
+            }
+        }
+        if (!found) {
+            console.println("No KNX bridges are initialized");
+        }
+    }
+
+    private void printStatistics(Console console, Thing thing, KNXBridgeBaseThingHandler bridgeHandler) {
+        console.println(String.format("Bridge %s:", thing.getUID()));
+        Map<GroupAddress, AddressStatistics> statistics = bridgeHandler.getTelegramStatistics()
+                .map(TelegramStatistics::getStatistics).orElse(null);
+        if (statistics == null || statistics.isEmpty()) {
+            console.println("  No telegrams have been received");
+            return;
+        }
+        long nanos = System.nanoTime();
+        statistics.entrySet().stream().sorted(Comparator.comparingInt(entry -> entry.getKey().getRawAddress()))
+                .forEach(entry -> console.println(String.format("  %-10s telegrams %d, %.1f per minute",
+                        entry.getKey(), entry.getValue().getCount(), entry.getValue().getRatePerMinute(nanos))));
+    }
+
+    private void printReads(Console console, Thing thing, KNXBridgeBaseThingHandler bridgeHandler) {
+        ReadScheduler readScheduler = bridgeHandler.getReadScheduler().orElse(null);
+        if (readScheduler == null) {
+            console.println(String.format("Bridge %s: not connected", thing.getUID()));
+            return;
+        }
+        console.println(String.format(
+                "Bridge %s: reads pending %d, completed %d, retried %d, failed %d, satisfied by bus %d",
+                thing.getUID(), readScheduler.getPending(), readScheduler.getCompleted(), readScheduler.getRetried(),
+                readScheduler.getFailed(), readScheduler.getSatisfied()));
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(STATISTICS, "show the telegrams received per group address"),
+                buildCommandUsage(STATISTICS + " " + RESET, "reset the telegram statistics"),
+                buildCommandUsage(READS, "show the progress of the read requests per bridge"));
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StopMoveType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
+
+/**
+ * Decodes the ASDU of the most common datapoint types directly into openHAB types, without creating a calimero
+ * translator and going through its string representation.
+ *
+ * The decoded types are the same as the ones of the generic mapping in {@link KNXCoreTypeMapper}. Only datapoint
+ * types of the main numbers 1, 5, 9, 13 and 14 are supported, {@link #decode(String, byte[])} returns
+ * <code>null</code> for all other datapoint types, and for data too short for the datapoint type.
+ *
+ * @author agent - Initial contribution
+ */
+class KNXBinaryTypeDecoder {
+
+    @FunctionalInterface
+    private interface Decoder {
+        Type decode(byte[] data);
+    }
+
+    private static final Map<String, Decoder> DECODERS = new HashMap<>();
+
+    static {
+        /** MainType: 1, the value is the lowest bit */
+        for (int subNumber = 1; subNumber <= 19; subNumber++) {
+            register(dptId(1, subNumber), 1, data -> (data[0] & 0x01) != 0 ? OnOffType.ON : OnOffType.OFF);
+        }
+        register("1.008", 1, data -> (data[0] & 0x01) != 0 ? UpDownType.DOWN : UpDownType.UP);
+        register("1.009", 1, data -> (data[0] & 0x01) != 0 ? OpenClosedType.OPEN : OpenClosedType.CLOSED);
+        register("1.010", 1, data -> (data[0] & 0x01) != 0 ? StopMoveType.MOVE : StopMoveType.STOP);
+        register("1.019", 1, data -> (data[0] & 0x01) != 0 ? OpenClosedType.OPEN : OpenClosedType.CLOSED);
+        register("1.022", 1, data -> DecimalType.valueOf((data[0] & 0x01) != 0 ? "1" : "0"));
+
+        /** MainType: 5, 8 bit unsigned, scaled for 5.001 and 5.003 as calimero does */
+        register("5.001", 1,
+                data -> new PercentType(BigDecimal.valueOf(Math.round((data[0] & 0xff) * 100.0f / 255))));
+        register("5.003", 1, data -> new DecimalType((double) Math.round((data[0] & 0xff) * 360.0f / 255)));
+        register("5.004", 1, data -> new PercentType(BigDecimal.valueOf(data[0] & 0xff)));
+        register("5.005", 1, data -> new DecimalType((double) (data[0] & 0xff)));
+        register("5.006", 1, data -> new DecimalType((double) (data[0] & 0xff)));
+        register("5.010", 1, data -> new DecimalType((double) (data[0] & 0xff)));
+
+        /** MainType: 9, 2 byte float */
+        for (int subNumber = 1; subNumber <= 28; subNumber++) {
+            if (subNumber <= 11 || subNumber >= 20) {
+                register(dptId(9, subNumber), 2, data -> new DecimalType(decode2ByteFloat(data)));
+            }
+        }
+        register("9.007", 2, data -> new PercentType(BigDecimal.valueOf(Math.round(decode2ByteFloat(data)))));
+
+        /** MainType: 13, 4 byte signed */
+        for (String id : new String[] { "13.001", "13.002", "13.010", "13.011", "13.012", "13.013", "13.014",
+                "13.015", "13.100" }) {
+            register(id, 4, data -> new DecimalType((double) decode4ByteSigned(data)));
+        }
+
+        /** MainType: 14, 4 byte IEEE float */
+        for (int subNumber = 0; subNumber <= 79; subNumber++) {
+            register(dptId(14, subNumber), 4,
+                    data -> new DecimalType((double) Float.intBitsToFloat(decode4ByteSigned(data))));
+        }
+    }
+
+    private KNXBinaryTypeDecoder() {
+        // utility class
+    }
+
+    private static String dptId(int mainNumber, int subNumber) {
+        return String.format(Locale.ROOT, "%d.%03d", mainNumber, subNumber);
+    }
+
+    private static void register(String dptId, int length, Decoder decoder) {
+        DECODERS.put(dptId, data -> data.length < length ? null : decoder.decode(data));
+    }
+
+    /**
+     * Decodes the given ASDU
+     *
+     * @param dptId the datapoint type id, e.g. "9.001"
+     * @param data the ASDU
+     * @return the openHAB type, or <code>null</code> if the datapoint type is not supported or the data is too short
+     */
+    static Type decode(String dptId, byte[] data) {
+        Decoder decoder = DECODERS.get(dptId);
+        return decoder != null ? decoder.decode(data) : null;
+    }
+
+    /**
+     * The value is 0.01 * mantissa * 2^exponent, the high byte being MEEEEMMM, the low byte MMMMMMMM, with the
+     * mantissa in two's complement. Computed like calimero, rounded to float precision.
+     */
+    private static double decode2ByteFloat(byte[] data) {
+        int mantissa = ((data[0] & 0x07) << 8) | (data[1] & 0xff);
+        if ((data[0] & 0x80) != 0) {
+            mantissa -= 0x800;
+        }
+        int exponent = (data[0] & 0x78) >> 3;
+        return (float) ((1 << exponent) * mantissa * 0.01);
+    }
+
+    private static int decode4ByteSigned(byte[] data) {
+        return ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff);
+    }
+}
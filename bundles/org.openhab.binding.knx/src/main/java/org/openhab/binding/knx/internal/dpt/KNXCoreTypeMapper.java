@@ -672,6 +672,22 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        // fast path for the most common datapoint types, without creating a translator
+        Type type = KNXBinaryTypeDecoder.decode(datapoint.getDPT(), data);
+        if (type != null) {
+            return type;
+        }
+        return toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Maps a datapoint value to an openHAB type using the calimero translator of the datapoint type.
+     *
+     * @param datapoint the source datapoint
+     * @param data the datapoint value as an ASDU byte array
+     * @return a command or state of openHAB
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -26,8 +27,11 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.knx.internal.client.AbstractKNXClient;
 import org.openhab.binding.knx.internal.client.KNXClient;
+import org.openhab.binding.knx.internal.client.ReadScheduler;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
+import org.openhab.binding.knx.internal.client.TelegramStatistics;
 
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.mgmt.Destination;
@@ -51,6 +55,32 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
 
     protected abstract KNXClient getClient();
 
+    /**
+     * Get the statistics of the telegrams received through this bridge.
+     *
+     * @return the telegram statistics, or nothing if the bridge has no client collecting them
+     */
+    public Optional<TelegramStatistics> getTelegramStatistics() {
+        KNXClient client = getClient();
+        if (client instanceof AbstractKNXClient) {
+            return Optional.of(((AbstractKNXClient) client).getTelegramStatistics());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get the scheduler of the read requests sent through this bridge.
+     *
+     * @return the read scheduler, or nothing if the bridge has no client scheduling reads
+     */
+    public Optional<ReadScheduler> getReadScheduler() {
+        KNXClient client = getClient();
+        if (client instanceof AbstractKNXClient) {
+            return Optional.of(((AbstractKNXClient) client).getReadScheduler());
+        }
+        return Optional.empty();
+    }
+
     @Override
     public void handleUpdate(ChannelUID channelUID, State newState) {
         // Nothing to do here
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class GroupAddressListenerIndexTest {
+
+    private static class TestListener implements GroupAddressListener {
+        private final Set<GroupAddress> groupAddresses = new HashSet<>();
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    @Test
+    public void testReplayedTraceMatchesLinearScan() {
+        Random random = new Random(42);
+        GroupAddress[] addresses = new GroupAddress[2000];
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = new GroupAddress(i + 1);
+        }
+
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        List<TestListener> listeners = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            TestListener listener = new TestListener();
+            for (int j = random.nextInt(6); j >= 0; j--) {
+                listener.groupAddresses.add(addresses[random.nextInt(addresses.length)]);
+            }
+            listeners.add(listener);
+            assertTrue(index.add(listener));
+        }
+        // things being disposed while the bus is busy
+        for (int i = 0; i < 50; i++) {
+            assertTrue(index.remove(listeners.remove(random.nextInt(listeners.size()))));
+        }
+
+        // a few addresses carry most of the traffic, as on a real bus
+        for (int i = 0; i < 100_000; i++) {
+            int bound = random.nextInt(10) < 8 ? 50 : addresses.length;
+            GroupAddress destination = addresses[random.nextInt(bound)];
+
+            Set<GroupAddressListener> expected = new HashSet<>();
+            for (TestListener listener : listeners) {
+                if (listener.listensTo(destination)) {
+                    expected.add(listener);
+                }
+            }
+            assertEquals(expected, new HashSet<>(index.get(destination)));
+        }
+    }
+
+    @Test
+    public void testRegisteringAgainUpdatesAddresses() {
+        GroupAddress first = new GroupAddress(1);
+        GroupAddress second = new GroupAddress(2);
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        TestListener listener = new TestListener();
+        listener.groupAddresses.add(first);
+
+        assertTrue(index.add(listener));
+        listener.groupAddresses.clear();
+        listener.groupAddresses.add(second);
+        assertFalse(index.add(listener));
+
+        assertTrue(index.get(first).isEmpty());
+        assertTrue(index.get(second).contains(listener));
+
+        listener.groupAddresses.clear();
+        assertTrue(index.remove(listener));
+        assertTrue(index.get(second).isEmpty());
+        assertFalse(index.remove(listener));
+    }
+
+    @Test
+    public void testTelegramRate() {
+        GroupAddress address = new GroupAddress(1);
+        TelegramStatistics statistics = new TelegramStatistics();
+        long nanos = 0;
+        // one telegram per second for ten minutes
+        for (int i = 0; i < 600; i++) {
+            nanos += 1_000_000_000L;
+            statistics.record(address, nanos);
+        }
+
+        Map<GroupAddress, TelegramStatistics.AddressStatistics> snapshot = statistics.getStatistics();
+        assertEquals(600, snapshot.get(address).getCount());
+        assertEquals(60, snapshot.get(address).getRatePerMinute(nanos), 1);
+
+        statistics.reset();
+        assertTrue(statistics.getStatistics().isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private static final int READING_PAUSE = 50;
+
+    private static Datapoint datapoint(int address) {
+        return new CommandDP(new GroupAddress(address), "test", 0, "1.001");
+    }
+
+    private static int next(ReadScheduler scheduler) {
+        ReadDatapoint datapoint = scheduler.next();
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().getRawAddress();
+    }
+
+    @Test
+    public void testDuplicatesAreQueuedOnce() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint(1 + i % 2), ReadPriority.NORMAL);
+        }
+        assertEquals(2, scheduler.getPending());
+        assertEquals(1, next(scheduler));
+        assertEquals(2, next(scheduler));
+        assertNull(scheduler.next());
+    }
+
+    @Test
+    public void testHighPriorityIsReadFirst() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        scheduler.add(datapoint(1), ReadPriority.NORMAL);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL);
+        scheduler.add(datapoint(3), ReadPriority.HIGH);
+        assertTrue(scheduler.add(datapoint(2), ReadPriority.HIGH));
+        assertFalse(scheduler.add(datapoint(3), ReadPriority.NORMAL));
+
+        assertEquals(3, scheduler.getPending());
+        assertEquals(3, next(scheduler));
+        assertEquals(2, next(scheduler));
+        assertEquals(1, next(scheduler));
+    }
+
+    @Test
+    public void testFailedReadsAreRetriedUpToTheLimit() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 2);
+        scheduler.add(datapoint(1), ReadPriority.HIGH);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL);
+
+        ReadDatapoint datapoint = scheduler.next();
+        assertNotNull(datapoint);
+        datapoint.incrementRetries();
+        assertTrue(scheduler.failed(datapoint));
+        // retries go to the end of the queue
+        assertEquals(2, next(scheduler));
+        scheduler.succeeded();
+
+        datapoint = scheduler.next();
+        assertNotNull(datapoint);
+        datapoint.incrementRetries();
+        assertFalse(scheduler.failed(datapoint));
+        assertNull(scheduler.next());
+
+        assertEquals(1, scheduler.getCompleted());
+        assertEquals(1, scheduler.getRetried());
+        assertEquals(1, scheduler.getFailed());
+    }
+
+    @Test
+    public void testReceivedValueMakesReadObsolete() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        scheduler.add(datapoint(1), ReadPriority.NORMAL);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL);
+
+        scheduler.received(new GroupAddress(1), false, 0);
+        assertEquals(2, scheduler.getPending());
+        scheduler.received(new GroupAddress(1), true, 0);
+        assertEquals(1, scheduler.getPending());
+        assertEquals(1, scheduler.getSatisfied());
+        assertEquals(2, next(scheduler));
+    }
+
+    @Test
+    public void testPauseIsStretchedOnFailures() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 100);
+        assertEquals(READING_PAUSE, scheduler.getPause(0));
+
+        scheduler.add(datapoint(1), ReadPriority.NORMAL);
+        for (int i = 0; i < 10; i++) {
+            ReadDatapoint datapoint = scheduler.next();
+            assertNotNull(datapoint);
+            datapoint.incrementRetries();
+            scheduler.failed(datapoint);
+        }
+        assertEquals(READING_PAUSE * ReadScheduler.MAX_BACKOFF, scheduler.getPause(0));
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.succeeded();
+        }
+        assertEquals(READING_PAUSE, scheduler.getPause(0));
+    }
+
+    @Test
+    public void testPauseIsStretchedOnBusLoad() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        long nanos = 0;
+        // twice the threshold for a minute
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / (2 * ReadScheduler.BUS_LOAD_THRESHOLD));
+        for (int i = 0; i < 60 * 2 * ReadScheduler.BUS_LOAD_THRESHOLD; i++) {
+            nanos += interval;
+            scheduler.received(new GroupAddress(1), true, nanos);
+        }
+        long pause = scheduler.getPause(nanos);
+        assertTrue("pause " + pause, pause > READING_PAUSE * 1.8 && pause < READING_PAUSE * 2.2);
+
+        // the load decays once the bus is quiet again
+        assertEquals(READING_PAUSE, scheduler.getPause(nanos + TimeUnit.MINUTES.toNanos(1)));
+    }
+}
@@ -14,9 +14,19 @@ package org.openhab.binding.knx.internal.dpt;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -29,4 +39,76 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_binaryDecodingMatchesTranslators() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        List<String> dpts = new ArrayList<>();
+        for (int subNumber = 1; subNumber <= 22; subNumber++) {
+            dpts.add(String.format("1.%03d", subNumber));
+        }
+        for (String dpt : new String[] { "5.001", "5.003", "5.004", "5.005", "5.006", "5.010" }) {
+            dpts.add(dpt);
+        }
+        for (String dpt : dpts) {
+            for (int value = 0; value < 256; value++) {
+                assertSameType(mapper, dpt, new byte[] { (byte) value });
+            }
+        }
+
+        for (String dpt : new String[] { "9.001", "9.004", "9.007", "9.020", "9.028" }) {
+            for (int value = 0; value < 0x10000; value++) {
+                assertSameType(mapper, dpt, new byte[] { (byte) (value >> 8), (byte) value });
+            }
+        }
+
+        Random random = new Random(42);
+        for (String dpt : new String[] { "13.001", "13.010", "13.100", "14.000", "14.019", "14.068" }) {
+            assertSameType(mapper, dpt, new byte[] { 0, 0, 0, 0 });
+            assertSameType(mapper, dpt, new byte[] { (byte) 0x80, 0, 0, 0 });
+            assertSameType(mapper, dpt, new byte[] { (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff });
+            assertSameType(mapper, dpt, new byte[] { 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff });
+            for (int i = 0; i < 10000; i++) {
+                byte[] data = new byte[4];
+                random.nextBytes(data);
+                assertSameType(mapper, dpt, data);
+            }
+        }
+    }
+
+    @Test
+    public void testToType_tooShortDataFallsBackToTranslators() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        for (String dpt : new String[] { "1.001", "5.001", "9.001", "13.001", "14.019" }) {
+            assertSameType(mapper, dpt, new byte[0]);
+        }
+        assertSameType(mapper, "9.001", new byte[] { 0x0c });
+        assertSameType(mapper, "14.019", new byte[] { 0x42, 0x28 });
+    }
+
+    private void assertSameType(KNXCoreTypeMapper mapper, String dpt, byte[] data) {
+        Datapoint datapoint = new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+        assertEquals(dpt + " " + toHex(data), map(() -> mapper.toTypeWithTranslator(datapoint, data)),
+                map(() -> mapper.toType(datapoint, data)));
+    }
+
+    /**
+     * Returns the mapped type, or the class of the exception thrown while mapping
+     */
+    private Object map(Supplier<Type> mapping) {
+        try {
+            Type type = mapping.get();
+            return type == null ? "null" : type.getClass().getSimpleName() + " " + type.toString();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private String toHex(byte[] data) {
+        StringBuilder sb = new StringBuilder("0x");
+        for (byte b : data) {
+            sb.append(String.format("%02X", b));
+        }
+        return sb.toString();
+    }
 }
@@ -30,6 +30,8 @@ public class ModbusPollerConfiguration {
     private String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private long maxRefresh;
+    private String priority = "normal";
 
     /**
      * Gets refresh period in milliseconds
@@ -116,4 +118,34 @@ public class ModbusPollerConfiguration {
     public void setCacheMillis(long cacheMillis) {
         this.cacheMillis = cacheMillis;
     }
+
+    /**
+     * Gets maximum refresh period in milliseconds, used with adaptive polling.
+     *
+     * Adaptive polling is enabled when the maximum is larger than the refresh period.
+     */
+    public long getMaxRefresh() {
+        return maxRefresh;
+    }
+
+    /**
+     * Sets maximum refresh period in milliseconds
+     */
+    public void setMaxRefresh(long maxRefresh) {
+        this.maxRefresh = maxRefresh;
+    }
+
+    /**
+     * Gets priority of the adaptive polling
+     */
+    public String getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets priority of the adaptive polling
+     */
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
 }
@@ -43,6 +43,7 @@ public class ModbusSerialConfiguration {
     private int timeBetweenTransactionsMillis;
     private int connectMaxTries;
     private int connectTimeoutMillis;
+    private int coalescingGapTolerance = -1;
     private boolean enableDiscovery;
 
     public @Nullable String getPort() {
@@ -157,6 +158,14 @@ public class ModbusSerialConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getCoalescingGapTolerance() {
+        return coalescingGapTolerance;
+    }
+
+    public void setCoalescingGapTolerance(int coalescingGapTolerance) {
+        this.coalescingGapTolerance = coalescingGapTolerance;
+    }
+
     public boolean isDiscoveryEnabled() {
         return enableDiscovery;
     }
@@ -32,6 +32,8 @@ public class ModbusTcpConfiguration {
     private int connectMaxTries;
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
+    private int maxPipelinedTransactions;
+    private int coalescingGapTolerance = -1;
     private boolean enableDiscovery;
 
     public @Nullable String getHost() {
@@ -98,6 +100,22 @@ public class ModbusTcpConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxPipelinedTransactions() {
+        return maxPipelinedTransactions;
+    }
+
+    public void setMaxPipelinedTransactions(int maxPipelinedTransactions) {
+        this.maxPipelinedTransactions = maxPipelinedTransactions;
+    }
+
+    public int getCoalescingGapTolerance() {
+        return coalescingGapTolerance;
+    }
+
+    public void setCoalescingGapTolerance(int coalescingGapTolerance) {
+        this.coalescingGapTolerance = coalescingGapTolerance;
+    }
+
     public boolean isDiscoveryEnabled() {
         return enableDiscovery;
     }
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.NotImplementedException;
@@ -651,6 +652,85 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         });
     }
 
+    /**
+     * Whether the poller may skip passing unchanged data to this thing
+     *
+     * Skipping is not allowed when every poll has visible effect: unchanged values are always updated, last read
+     * success channel is linked, or the thing should be brought back online.
+     */
+    private boolean isSkippingUnchangedDataAllowed() {
+        return isReadEnabled && !hasConfigurationError() && updateUnchangedValuesEveryMillis > 0L
+                && getThing().getStatus() == ThingStatus.ONLINE
+                && !isLinked(getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS));
+    }
+
+    /**
+     * Compute fingerprint of the registers read by this thing
+     *
+     * The fingerprint packs the raw register values read by this thing. Since value types are at most 64 bits, equal
+     * fingerprints imply equal data. Sub-register value types (e.g. bit or int8) use the whole register.
+     *
+     * @param registers registers received by the poller
+     * @return fingerprint of the data, or empty if the poller should always pass the data to this thing
+     */
+    public OptionalLong fingerprint(ModbusRegisterArray registers) {
+        ValueType readValueType = this.readValueType;
+        Optional<Integer> readIndex = this.readIndex;
+        if (readValueType == null || !readIndex.isPresent() || !isSkippingUnchangedDataAllowed()) {
+            return OptionalLong.empty();
+        }
+        int first = readIndex.get() - pollStart;
+        int count = Math.max(1, readValueType.getBits() / 16);
+        if (first < 0 || first + count > registers.size()) {
+            return OptionalLong.empty();
+        }
+        long fingerprint = 0;
+        for (int i = first; i < first + count; i++) {
+            fingerprint = (fingerprint << 16) | registers.getRegister(i).toUnsignedShort();
+        }
+        return OptionalLong.of(fingerprint);
+    }
+
+    /**
+     * Compute fingerprint of the bit read by this thing
+     *
+     * @param bits bits received by the poller
+     * @return fingerprint of the data, or empty if the poller should always pass the data to this thing
+     */
+    public OptionalLong fingerprint(BitArray bits) {
+        Optional<Integer> readIndex = this.readIndex;
+        if (!readIndex.isPresent() || !isSkippingUnchangedDataAllowed()) {
+            return OptionalLong.empty();
+        }
+        int index = readIndex.get() - pollStart;
+        if (index < 0 || index >= bits.size()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(bits.getBit(index) ? 1L : 0L);
+    }
+
+    /**
+     * Get the interval for updating unchanged values
+     *
+     * @return interval in milliseconds. Non-positive value means that all values are updated with every poll.
+     */
+    public long getUpdateUnchangedValuesEveryMillis() {
+        return updateUnchangedValuesEveryMillis;
+    }
+
+    /**
+     * Get the time when the least recently updated channel was updated
+     *
+     * @return time in milliseconds, or {@link Long#MAX_VALUE} if no channels have been updated
+     */
+    public synchronized long getOldestChannelUpdateMillis() {
+        long oldest = Long.MAX_VALUE;
+        for (ChannelUID uid : channelLastState.keySet()) {
+            oldest = Math.min(oldest, channelLastUpdated.getOrDefault(uid, 0L));
+        }
+        return oldest;
+    }
+
     @Override
     public synchronized void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
         if (hasConfigurationError()) {
@@ -14,7 +14,11 @@ package org.openhab.binding.modbus.internal.handler;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -38,6 +42,8 @@ import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.AtomicStampedKeyValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration.Priority;
 import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.BasicPollTaskImpl;
 import org.openhab.io.transport.modbus.BitArray;
@@ -75,6 +81,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, ModbusRegisterArray> lastRegisters;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, BitArray> lastCoils;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, Exception> lastError;
+        private final Map<ModbusDataThingHandler, DispatchedFingerprint> fingerprints = new ConcurrentHashMap<>();
 
         @Override
         public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
@@ -92,7 +99,16 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received registers {} for request {}", thing.getUID(), registers, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onRegisters(request, registers));
+            long now = System.currentTimeMillis();
+            childCallbacks.forEach(handler -> {
+                if (handler instanceof ModbusDataThingHandler) {
+                    ModbusDataThingHandler dataHandler = (ModbusDataThingHandler) handler;
+                    dispatchIfChanged(dataHandler, now, dataHandler.fingerprint(registers),
+                            () -> handler.onRegisters(request, registers));
+                } else {
+                    handler.onRegisters(request, registers);
+                }
+            });
         }
 
         @Override
@@ -111,7 +127,16 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received coils {} for request {}", thing.getUID(), coils, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onBits(request, coils));
+            long now = System.currentTimeMillis();
+            childCallbacks.forEach(handler -> {
+                if (handler instanceof ModbusDataThingHandler) {
+                    ModbusDataThingHandler dataHandler = (ModbusDataThingHandler) handler;
+                    dispatchIfChanged(dataHandler, now, dataHandler.fingerprint(coils),
+                            () -> handler.onBits(request, coils));
+                } else {
+                    handler.onBits(request, coils);
+                }
+            });
         }
 
         @Override
@@ -129,11 +154,59 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
                 }
             }
             logger.debug("Thing {} received error {} for request {}", thing.getUID(), error, request);
+            resetFingerprints();
             childCallbacks.forEach(handler -> handler.onError(request, error));
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     String.format("Error with read: %s: %s", error.getClass().getName(), error.getMessage()));
         }
 
+        /**
+         * Pass data to the data thing, unless the data read by the thing is unchanged since the last time and the
+         * thing is not due for updating unchanged values.
+         *
+         * @param handler data thing handler
+         * @param now time when the data was received
+         * @param fingerprint fingerprint of the data read by the thing, or empty if the data should be always passed
+         * @param dispatch action passing the data to the thing
+         */
+        private void dispatchIfChanged(ModbusDataThingHandler handler, long now, OptionalLong fingerprint,
+                Runnable dispatch) {
+            if (!fingerprint.isPresent()) {
+                fingerprints.remove(handler);
+                dispatch.run();
+                return;
+            }
+            DispatchedFingerprint last = fingerprints.get(handler);
+            if (last != null && last.fingerprint == fingerprint.getAsLong()
+                    && now - last.oldestChannelUpdateMillis <= handler.getUpdateUnchangedValuesEveryMillis()) {
+                logger.trace("Thing {} data is unchanged, not updating child {}", thing.getUID(),
+                        handler.getThing().getUID());
+                return;
+            }
+            dispatch.run();
+            // Channels are updated with the data only after the handler has been called. Thus, we measure the
+            // time of the oldest channel update afterwards, to ensure that the unchanged values are updated
+            // at the latest on the first poll after updateUnchangedValuesEveryMillis has elapsed.
+            long oldestChannelUpdate = Math.min(System.currentTimeMillis(), handler.getOldestChannelUpdateMillis());
+            fingerprints.put(handler, new DispatchedFingerprint(fingerprint.getAsLong(), oldestChannelUpdate));
+        }
+
+        /**
+         * Forget the fingerprints of data passed to children, making sure the next data is passed to all children
+         */
+        public void resetFingerprints() {
+            fingerprints.clear();
+        }
+
+        /**
+         * Forget the fingerprint of data passed to a child
+         *
+         * @param handler child handler
+         */
+        public void resetFingerprint(ThingHandler handler) {
+            fingerprints.remove(handler);
+        }
+
         private void resetCommunicationError() {
             ThingStatusInfo statusInfo = thing.getStatusInfo();
             if (ThingStatus.OFFLINE.equals(statusInfo.getStatus())
@@ -216,6 +289,23 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             lastRegisters = null;
             lastCoils = null;
             lastError = null;
+            resetFingerprints();
+        }
+    }
+
+    /**
+     * Fingerprint of the data last passed to a data thing
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class DispatchedFingerprint {
+        private final long fingerprint;
+        private final long oldestChannelUpdateMillis;
+
+        public DispatchedFingerprint(long fingerprint, long oldestChannelUpdateMillis) {
+            this.fingerprint = fingerprint;
+            this.oldestChannelUpdateMillis = oldestChannelUpdateMillis;
         }
     }
 
@@ -382,6 +472,20 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
+        } else if (config.getMaxRefresh() > config.getRefresh()) {
+            Priority priority;
+            try {
+                priority = Priority.valueOf(config.getPriority().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                pollTask = null;
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                        String.format("Invalid priority '%s'", config.getPriority()));
+                return;
+            }
+            logger.debug("Registering adaptive polling with ModbusManager");
+            managerRef.get().registerAdaptivePoll(task,
+                    new AdaptivePollConfiguration(config.getRefresh(), config.getMaxRefresh(), priority), 0);
+            updateStatus(ThingStatus.ONLINE);
         } else {
             logger.debug("Registering polling with ModbusManager");
             managerRef.get().registerRegularPoll(task, config.getRefresh(), 0);
@@ -405,6 +509,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     @Override
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
+            this.callbackDelegator.resetFingerprint(childHandler);
             this.childCallbacks.add((ModbusReadCallback) childHandler);
         }
     }
@@ -414,6 +519,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
             this.childCallbacks.remove(childHandler);
+            this.callbackDelegator.resetFingerprint(childHandler);
         }
     }
 
@@ -439,6 +545,8 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             return;
         }
 
+        // Refresh should update all children, even if the data is unchanged
+        this.callbackDelegator.resetFingerprints();
         long oldDataThreshold = System.currentTimeMillis() - cacheMillis;
         boolean cacheWasRecentEnoughForUpdate = cacheMillis > 0
                 && this.callbackDelegator.updateChildrenWithOldData(oldDataThreshold);
@@ -61,6 +61,8 @@ public class ModbusTcpThingHandler
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+        poolConfiguration.setMaxPipelinedTransactions(Math.max(1, config.getMaxPipelinedTransactions()));
+        poolConfiguration.setCoalescingGapTolerance(config.getCoalescingGapTolerance());
     }
 
     @Override
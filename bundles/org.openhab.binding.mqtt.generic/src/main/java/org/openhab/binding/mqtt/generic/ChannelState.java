@@ -152,9 +152,17 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
+        // String value: Apply transformations. The first transformation might be able to work on the shared,
+        // already parsed message.
+        int transformationIndex = 0;
+        String strValue = transformationsIn.isEmpty() ? null : transformationsIn.get(0).processMessage(topic, payload);
+        if (strValue != null) {
+            transformationIndex = 1;
+        } else {
+            strValue = new String(payload, StandardCharsets.UTF_8);
+        }
+        for (; transformationIndex < transformationsIn.size(); transformationIndex++) {
+            ChannelStateTransformation t = transformationsIn.get(transformationIndex);
             String transformedValue = t.processValue(strValue);
             if (transformedValue != null) {
                 strValue = transformedValue;
@@ -18,9 +18,13 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.openhab.binding.mqtt.generic.tools.JsonDocumentCache;
+import org.openhab.binding.mqtt.generic.tools.SimpleJsonPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * A transformation for a {@link ChannelState}. It is applied for each received value on an MQTT topic.
  *
@@ -28,11 +32,14 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class ChannelStateTransformation {
+    private static final String JSONPATH_SERVICE = "JSONPATH";
+
     private final Logger logger = LoggerFactory.getLogger(ChannelStateTransformation.class);
     private final TransformationServiceProvider provider;
     private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
     final String pattern;
     final String serviceName;
+    private final @Nullable SimpleJsonPath jsonPath;
 
     /**
      * Creates a new channel state transformer.
@@ -53,6 +60,7 @@ public class ChannelStateTransformation {
         String type = pattern.substring(0, index).toUpperCase();
         this.pattern = pattern.substring(index + 1);
         this.serviceName = type;
+        this.jsonPath = compileJsonPath(this.serviceName, this.pattern);
     }
 
     /**
@@ -68,6 +76,45 @@ public class ChannelStateTransformation {
         this.serviceName = serviceName;
         this.pattern = pattern;
         this.provider = provider;
+        this.jsonPath = compileJsonPath(serviceName, pattern);
+    }
+
+    private static @Nullable SimpleJsonPath compileJsonPath(String serviceName, String pattern) {
+        return JSONPATH_SERVICE.equals(serviceName) ? SimpleJsonPath.compile(pattern) : null;
+    }
+
+    private @Nullable TransformationService getTransformationService() {
+        TransformationService transformationService = this.transformationService.get();
+        if (transformationService == null) {
+            transformationService = provider.getTransformationService(serviceName);
+            if (transformationService != null) {
+                this.transformationService = new WeakReference<>(transformationService);
+            }
+        }
+        return transformationService;
+    }
+
+    /**
+     * Will be called by the {@link ChannelState} for each incoming MQTT message, before decoding the message.
+     *
+     * Simple JSONPath expressions are evaluated directly on the JSON document, which is parsed only once per message
+     * for all channels of the same topic.
+     *
+     * @param topic The MQTT topic
+     * @param payload The MQTT message payload
+     * @return The transformed value, or null if the direct evaluation is not applicable. The value should then be
+     *         transformed using {@link #processValue(String)}.
+     */
+    protected @Nullable String processMessage(String topic, byte[] payload) {
+        SimpleJsonPath jsonPath = this.jsonPath;
+        if (jsonPath == null || getTransformationService() == null) {
+            return null;
+        }
+        JsonElement document = JsonDocumentCache.getInstance().getDocument(topic, payload);
+        if (document == null) {
+            return null;
+        }
+        return jsonPath.extract(document);
     }
 
     /**
@@ -77,14 +124,10 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected @Nullable String processValue(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        TransformationService transformationService = getTransformationService();
         if (transformationService == null) {
-            transformationService = provider.getTransformationService(serviceName);
-            if (transformationService == null) {
-                logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return value;
-            }
-            this.transformationService = new WeakReference<>(transformationService);
+            logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
+            return value;
         }
         String returnValue = null;
         try {
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Caches the parsed JSON document of the latest message of each MQTT topic.
+ *
+ * All channels subscribed to the same topic receive the same message. With this cache, the message is parsed only
+ * once, no matter how many channels extract values from it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonDocumentCache {
+    /**
+     * Maximum number of topics to cache. The cache is cleared when exceeded.
+     */
+    private static final int MAX_TOPICS = 1024;
+
+    private static final JsonDocumentCache INSTANCE = new JsonDocumentCache();
+
+    private static class Entry {
+        final byte[] payload;
+        final @Nullable JsonElement document;
+
+        Entry(byte[] payload, @Nullable JsonElement document) {
+            this.payload = payload;
+            this.document = document;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final JsonParser parser = new JsonParser();
+
+    /**
+     * Return the cache shared by all channels
+     */
+    public static JsonDocumentCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return the parsed document of the message, parsing it if it is not the latest message of the topic.
+     *
+     * The payload is expected not to be modified after it has been received.
+     *
+     * @param topic MQTT topic
+     * @param payload MQTT message payload
+     * @return the parsed document, or null if the payload is not valid JSON
+     */
+    public @Nullable JsonElement getDocument(String topic, byte[] payload) {
+        Entry entry = entries.get(topic);
+        if (entry != null && (entry.payload == payload || Arrays.equals(entry.payload, payload))) {
+            return entry.document;
+        }
+        @Nullable
+        JsonElement document;
+        try {
+            document = parser.parse(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+        } catch (JsonParseException e) {
+            document = null;
+        }
+        if (entries.size() >= MAX_TOPICS) {
+            entries.clear();
+        }
+        entries.put(topic, new Entry(payload, document));
+        return document;
+    }
+
+    /**
+     * Forget all cached documents
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
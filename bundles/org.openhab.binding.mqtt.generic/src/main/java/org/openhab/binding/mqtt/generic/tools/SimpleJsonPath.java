@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * A compiled, definite JSONPath expression, consisting only of member names and array indices, e.g.
+ * <code>$.device.status.temperature</code>, <code>$['device'].values[0]</code>.
+ *
+ * The path is evaluated against an already parsed document, allowing many channels to share a single parse of the
+ * same MQTT message. Only primitive values are extracted. They are formatted the same way as the JSONPATH
+ * transformation service does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleJsonPath {
+    /**
+     * Numbers with more digits are returned as BigDecimal / BigInteger by the JSONPATH transformation service. We
+     * leave formatting of those to the service.
+     */
+    private static final int MAX_NUMBER_LENGTH = 18;
+
+    private final String path;
+    // Either String (member name) or Integer (array index)
+    private final Object[] segments;
+
+    private SimpleJsonPath(String path, Object[] segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * Compile the given JSONPath expression
+     *
+     * @param path JSONPath expression
+     * @return compiled path, or null if the expression is not a simple, definite path
+     */
+    public static @Nullable SimpleJsonPath compile(String path) {
+        String expression = path.trim();
+        if (!expression.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        int length = expression.length();
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < length && isNameChar(expression.charAt(i))) {
+                    i++;
+                }
+                if (i == start) {
+                    return null;
+                }
+                segments.add(expression.substring(start, i));
+            } else if (c == '[' && i + 1 < length) {
+                char quote = expression.charAt(i + 1);
+                if (quote == '\'' || quote == '"') {
+                    int end = expression.indexOf(quote, i + 2);
+                    if (end < 0 || end + 1 >= length || expression.charAt(end + 1) != ']') {
+                        return null;
+                    }
+                    segments.add(expression.substring(i + 2, end));
+                    i = end + 2;
+                } else {
+                    int start = ++i;
+                    while (i < length && Character.isDigit(expression.charAt(i))) {
+                        i++;
+                    }
+                    if (i == start || i >= length || expression.charAt(i) != ']' || i - start > 9) {
+                        return null;
+                    }
+                    segments.add(Integer.valueOf(expression.substring(start, i)));
+                    i++;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (segments.isEmpty()) {
+            return null;
+        }
+        return new SimpleJsonPath(path, segments.toArray());
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
+    /**
+     * Extract the value from the document
+     *
+     * @param document parsed JSON document
+     * @return the value as string, or null if the path does not point to a string, boolean or number value
+     */
+    public @Nullable String extract(JsonElement document) {
+        JsonElement current = document;
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                if (!current.isJsonObject()) {
+                    return null;
+                }
+                JsonElement member = ((JsonObject) current).get((String) segment);
+                if (member == null) {
+                    return null;
+                }
+                current = member;
+            } else {
+                int index = (Integer) segment;
+                if (!current.isJsonArray() || index >= ((JsonArray) current).size()) {
+                    return null;
+                }
+                current = ((JsonArray) current).get(index);
+            }
+        }
+        if (!current.isJsonPrimitive()) {
+            return null;
+        }
+        JsonPrimitive primitive = (JsonPrimitive) current;
+        if (!primitive.isNumber()) {
+            return primitive.getAsString();
+        }
+        String number = primitive.getAsString();
+        if (number.length() > MAX_NUMBER_LENGTH) {
+            return null;
+        }
+        try {
+            if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+                return Double.toString(Double.parseDouble(number));
+            }
+            return Long.toString(Long.parseLong(number));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Tests cases for {@link SimpleJsonPath} and {@link JsonDocumentCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SimpleJsonPathTests {
+    private static final String JSON = "{ \"device\": { \"status\": { \"temperature\": 23.20, \"count\": 12,"
+            + " \"exp\": 1e3, \"on\": true, \"name\": \"kitchen\", \"none\": null },"
+            + " \"values\": [ 1, 2, { \"last\": \"x\" } ], \"with space\": 5 } }";
+
+    private final JsonDocumentCache cache = new JsonDocumentCache();
+
+    private JsonElement document() {
+        JsonElement document = cache.getDocument("topic", JSON.getBytes(StandardCharsets.UTF_8));
+        assertThat(document, is(notNullValue()));
+        return document;
+    }
+
+    private String extract(String path) {
+        SimpleJsonPath jsonPath = SimpleJsonPath.compile(path);
+        assertThat(jsonPath, is(notNullValue()));
+        return jsonPath.extract(document());
+    }
+
+    @Test
+    public void extractsPrimitivesLikeJsonPathService() {
+        assertThat(extract("$.device.status.temperature"), is("23.2"));
+        assertThat(extract("$.device.status.count"), is("12"));
+        assertThat(extract("$.device.status.exp"), is("1000.0"));
+        assertThat(extract("$.device.status.on"), is("true"));
+        assertThat(extract("$.device.status.name"), is("kitchen"));
+        assertThat(extract("$['device'][\"values\"][1]"), is("2"));
+        assertThat(extract("$.device.values[2].last"), is("x"));
+        assertThat(extract("$.device['with space']"), is("5"));
+    }
+
+    @Test
+    public void returnsNullForNonPrimitivesAndMissingValues() {
+        assertThat(extract("$.device.status"), is(nullValue()));
+        assertThat(extract("$.device.values"), is(nullValue()));
+        assertThat(extract("$.device.status.none"), is(nullValue()));
+        assertThat(extract("$.device.status.missing"), is(nullValue()));
+        assertThat(extract("$.device.values[3]"), is(nullValue()));
+        assertThat(extract("$.device.status[0]"), is(nullValue()));
+    }
+
+    @Test
+    public void doesNotCompileComplexPaths() {
+        assertThat(SimpleJsonPath.compile("$"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$..temperature"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$.values[*]"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$.values[?(@.a > 1)]"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$.values[-1]"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("device.status"), is(nullValue()));
+    }
+
+    @Test
+    public void cachesDocumentPerTopicAndMessage() {
+        byte[] payload = JSON.getBytes(StandardCharsets.UTF_8);
+        JsonElement document = cache.getDocument("topic", payload);
+        assertThat(cache.getDocument("topic", payload), is(sameInstance(document)));
+        assertThat(cache.getDocument("topic", JSON.getBytes(StandardCharsets.UTF_8)), is(sameInstance(document)));
+        assertThat(cache.getDocument("other", payload), is(not(sameInstance(document))));
+        assertThat(cache.getDocument("topic", "{}".getBytes(StandardCharsets.UTF_8)), is(not(sameInstance(document))));
+        assertThat(cache.getDocument("topic", "{".getBytes(StandardCharsets.UTF_8)), is(nullValue()));
+    }
+}
@@ -29,6 +29,7 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +43,7 @@ import org.slf4j.LoggerFactory;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.network")
 public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private @NonNullByDefault({}) PresenceDetectionEngine presenceDetectionEngine;
 
     private final Logger logger = LoggerFactory.getLogger(NetworkHandlerFactory.class);
 
@@ -72,15 +74,24 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         logger.debug("Updated binding configuration to {}", configuration);
     }
 
+    @Reference
+    protected void setPresenceDetectionEngine(PresenceDetectionEngine presenceDetectionEngine) {
+        this.presenceDetectionEngine = presenceDetectionEngine;
+    }
+
+    protected void unsetPresenceDetectionEngine(PresenceDetectionEngine presenceDetectionEngine) {
+        this.presenceDetectionEngine = null;
+    }
+
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(NetworkBindingConstants.PING_DEVICE)
                 || thingTypeUID.equals(NetworkBindingConstants.BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, false, configuration);
+            return new NetworkHandler(thing, false, configuration, presenceDetectionEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, true, configuration);
+            return new NetworkHandler(thing, true, configuration, presenceDetectionEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SPEEDTEST_DEVICE)) {
             return new SpeedTestHandler(thing);
         }
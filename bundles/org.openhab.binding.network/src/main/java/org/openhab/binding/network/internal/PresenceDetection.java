@@ -18,9 +18,10 @@ import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +54,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
     NetworkUtils networkUtils = new NetworkUtils();
+    PresenceDetectionEngine engine;
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -84,9 +86,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     Integer currentCheck = 0;
     int detectionChecks;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS,
+            PresenceDetectionEngine engine) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.engine = engine;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -178,6 +181,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
+    /**
+     * Sets the ping method without a feature test, for example to reuse the result of a single feature test for many
+     * presence detections.
+     *
+     * @param pingMethod The ping method or null to disable ICMP pings.
+     */
+    public void setIcmpPingMethod(@Nullable IpPingMethodEnum pingMethod) {
+        this.pingMethod = pingMethod;
+        ipPingState = pingMethod == null ? "Disabled" : pingMethod.name();
+    }
+
     /**
      * Enables or disables ARP pings. Will be automatically disabled if the destination
      * is not an IPv4 address. If the feature test for the native arping utility fails,
@@ -279,14 +293,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
+    /**
+     * Return an executor for the given number of checks. The checks run on the bounded thread pool of the
+     * {@link PresenceDetectionEngine}, which is shared by all presence detections.
+     */
     public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+        return engine.newProbeGroup();
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are executed by the {@link PresenceDetectionEngine}.
+     * TCP connection attempts and combined ICMP pings do not occupy a thread while waiting for the device.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -332,9 +350,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         for (Integer tcpPort : tcpPorts) {
             executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
+                performServicePing(tcpPort).whenComplete((result, exception) -> checkIfFinished(executorService));
             });
         }
 
@@ -342,17 +358,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         // each own executor for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
             executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
                 performARPping("");
-                checkIfFinished();
+                checkIfFinished(executorService);
             });
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
                 executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
                     performARPping(interfaceName);
-                    checkIfFinished();
+                    checkIfFinished(executorService);
                 });
             }
         }
@@ -361,15 +375,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (pingMethod != null) {
             executorService.execute(() -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
+                    performSystemPing().whenComplete((result, exception) -> checkIfFinished(executorService));
                 } else {
                     performJavaPing();
+                    checkIfFinished(executorService);
                 }
-                checkIfFinished();
             });
         }
 
+        // Submit the result even if a check does not finish in time
+        engine.schedule(() -> finishDetection(executorService), timeoutInMS + 100, TimeUnit.MILLISECONDS);
+
         if (waitForDetectionToFinish) {
             waitForPresenceDetection();
         }
@@ -414,13 +430,28 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.finalDetectionResult(v);
     }
 
+    /**
+     * Submits the final result of the given presence detection, if it is still ongoing.
+     */
+    private synchronized void finishDetection(ExecutorService service) {
+        if (executorService == service) {
+            submitFinalResult();
+        }
+    }
+
     /**
      * This method is called after each individual check and increases a check counter.
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
+     * Checks completing after their presence detection has finished are ignored.
      * Thread safe.
+     *
+     * @param service The executor of the presence detection the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(ExecutorService service) {
+        if (executorService != service) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -473,12 +504,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    protected CompletableFuture<@Nullable Void> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
         try {
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
+                return engine.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).thenAccept(o -> {
                     if (o.isSuccess()) {
                         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
                                 getLatency(o, preferResponseTimeAsLatency));
@@ -491,6 +522,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             // This should not happen and might be a user configuration issue, we log a warning message therefore.
             logger.warn("Could not create a socket connection", e);
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -551,26 +583,38 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
-    protected void performSystemPing() {
+    /**
+     * Performs a native ping. The ping is combined with the pings of other devices into a single process if the
+     * {@link PresenceDetectionEngine} supports this.
+     */
+    protected CompletableFuture<@Nullable Void> performSystemPing() {
         try {
             logger.trace("Perform native ping presence detection for {}", hostname);
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress == null) {
-                return;
+                return CompletableFuture.completedFuture(null);
             }
 
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
+            CompletableFuture<Optional<PingResult>> pingResult;
+            if (pingMethod != IpPingMethodEnum.WINDOWS_PING && engine.isBatchPingAvailable()) {
+                pingResult = engine.batchPing(destinationAddress.getHostAddress(), timeoutInMS);
+            } else {
+                pingResult = CompletableFuture.completedFuture(
+                        networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS));
+            }
+            return pingResult.thenAccept(result -> result.ifPresent(o -> {
                 if (o.isSuccess()) {
                     PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
                             getLatency(o, preferResponseTimeAsLatency));
                     updateListener.partialDetectionResult(v);
                 }
-            });
+            }));
         } catch (IOException e) {
             logger.trace("Failed to execute a native ping for ip {}", hostname, e);
         } catch (InterruptedException e) {
             // This can be ignored, the thread will end anyway
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     private double getLatency(PingResult pingResult, boolean preferResponseTimeAsLatency) {
@@ -602,7 +646,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (future != null && !future.isDone()) {
             future.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(false), 0,
                 refreshIntervalInMS, TimeUnit.MILLISECONDS);
     }
 
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.TcpConnector;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceDetectionEngine} performs the checks of all {@link PresenceDetection}s of the binding.
+ *
+ * Checks which need a thread, like ARP pings, run on a bounded thread pool shared by all devices. TCP connection
+ * attempts do not need a thread at all, and ICMP pings of many devices are combined into a single fping process if
+ * fping is installed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = PresenceDetectionEngine.class)
+public class PresenceDetectionEngine {
+    static final int PROBE_THREADS = 8;
+    static final int BATCH_PING_WINDOW_IN_MS = 50;
+    static final int MAX_BATCH_PING_SIZE = 256;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceDetectionEngine.class);
+
+    NetworkUtils networkUtils = new NetworkUtils();
+    private final ThreadPoolExecutor probeExecutor;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final TcpConnector tcpConnector = new TcpConnector("presenceDetectionTCP");
+
+    private final Map<String, List<CompletableFuture<Optional<PingResult>>>> pendingPings = new HashMap<>();
+    private int pendingPingTimeoutInMS;
+    private @Nullable Boolean batchPingAvailable;
+
+    /**
+     * The checks of a single presence detection. They are executed by the shared thread pool, but can be shut down
+     * and awaited like an executor of their own.
+     */
+    private class ProbeGroup extends AbstractExecutorService {
+        private final List<Future<?>> futures = new ArrayList<>();
+        private boolean shutdown;
+
+        @Override
+        public synchronized void execute(@Nullable Runnable command) {
+            if (command == null) {
+                throw new NullPointerException();
+            }
+            if (shutdown) {
+                throw new RejectedExecutionException("The presence detection is finished");
+            }
+            futures.add(probeExecutor.submit(() -> {
+                try {
+                    command.run();
+                } finally {
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }));
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            shutdown = true;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            shutdown();
+            futures.forEach(future -> future.cancel(true));
+            return Collections.emptyList();
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return shutdown && futures.stream().allMatch(Future::isDone);
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, @Nullable TimeUnit unit)
+                throws InterruptedException {
+            long deadline = System.nanoTime() + (unit != null ? unit.toNanos(timeout) : 0);
+            while (!isTerminated()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    public PresenceDetectionEngine() {
+        probeExecutor = new ThreadPoolExecutor(PROBE_THREADS, PROBE_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("presenceDetection"));
+        probeExecutor.allowCoreThreadTimeOut(true);
+        scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("presenceDetectionScheduler"));
+        scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Return an executor for the checks of a single presence detection. The checks run on the thread pool of this
+     * engine, which is shared by all presence detections.
+     */
+    public ExecutorService newProbeGroup() {
+        return new ProbeGroup();
+    }
+
+    /**
+     * Run the given task after the given delay.
+     */
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return scheduler.schedule(command, delay, unit);
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port without blocking a thread while waiting for the
+     * connection.
+     *
+     * @param host The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeoutInMS Timeout in ms
+     * @return Ping result information. The result is completed on the thread pool of this engine.
+     * @throws IOException If no socket could be created
+     */
+    public CompletableFuture<PingResult> servicePing(String host, int port, int timeoutInMS) throws IOException {
+        return tcpConnector.connect(new InetSocketAddress(host, port), timeoutInMS).thenApplyAsync(result -> result,
+                probeExecutor);
+    }
+
+    /**
+     * Return true if ICMP pings can be combined by {@link #batchPing(String, int)}.
+     */
+    public synchronized boolean isBatchPingAvailable() {
+        Boolean available = batchPingAvailable;
+        if (available == null) {
+            available = networkUtils.isBatchPingAvailable();
+            logger.debug("fping is {}available for combined ICMP pings", available ? "" : "not ");
+            batchPingAvailable = available;
+        }
+        return available;
+    }
+
+    /**
+     * Ping the given address together with all other addresses requested within {@value #BATCH_PING_WINDOW_IN_MS}
+     * ms by a single fping process.
+     *
+     * @param ipAddress The IPv4 or IPv6 address.
+     * @param timeoutInMS Timeout in milliseconds.
+     * @return Ping result information. Optional is empty if the ping command was not executed.
+     */
+    public CompletableFuture<Optional<PingResult>> batchPing(String ipAddress, int timeoutInMS) {
+        CompletableFuture<Optional<PingResult>> result = new CompletableFuture<>();
+        synchronized (pendingPings) {
+            if (pendingPings.isEmpty()) {
+                scheduler.schedule(this::flushPings, BATCH_PING_WINDOW_IN_MS, TimeUnit.MILLISECONDS);
+            }
+            pendingPings.computeIfAbsent(ipAddress, a -> new ArrayList<>()).add(result);
+            pendingPingTimeoutInMS = Math.max(pendingPingTimeoutInMS, timeoutInMS);
+        }
+        return result;
+    }
+
+    private void flushPings() {
+        List<Map<String, List<CompletableFuture<Optional<PingResult>>>>> batches = new ArrayList<>();
+        int timeoutInMS;
+        synchronized (pendingPings) {
+            timeoutInMS = pendingPingTimeoutInMS;
+            int batchSize = getBatchSize(timeoutInMS);
+            Map<String, List<CompletableFuture<Optional<PingResult>>>> batch = new HashMap<>();
+            for (Map.Entry<String, List<CompletableFuture<Optional<PingResult>>>> entry : pendingPings.entrySet()) {
+                if (batch.size() == batchSize) {
+                    batches.add(batch);
+                    batch = new HashMap<>();
+                }
+                batch.put(entry.getKey(), entry.getValue());
+            }
+            batches.add(batch);
+            pendingPings.clear();
+            pendingPingTimeoutInMS = 0;
+        }
+        for (Map<String, List<CompletableFuture<Optional<PingResult>>>> batch : batches) {
+            probeExecutor.execute(() -> runBatchPing(batch, timeoutInMS));
+        }
+    }
+
+    /**
+     * fping sends the pings of a batch one after another, so a batch is limited to the number of pings which can be
+     * sent within half of the timeout. Otherwise the last hosts of a batch would be answered too late.
+     */
+    static int getBatchSize(int timeoutInMS) {
+        int pingsWithinTimeout = timeoutInMS / (2 * NetworkUtils.BATCH_PING_INTERVAL_IN_MS);
+        return Math.max(1, Math.min(MAX_BATCH_PING_SIZE, pingsWithinTimeout));
+    }
+
+    void runBatchPing(Map<String, List<CompletableFuture<Optional<PingResult>>>> batch, int timeoutInMS) {
+        try {
+            logger.trace("Perform combined ICMP ping for {} addresses", batch.size());
+            // complete the pings one by one, the process only ends after the last unreachable host timed out
+            networkUtils.nativeBatchPing(batch.keySet(), timeoutInMS, (address, pingResult) -> {
+                List<CompletableFuture<Optional<PingResult>>> futures = batch.get(address);
+                if (futures != null) {
+                    Optional<PingResult> result = Optional.of(pingResult);
+                    futures.forEach(future -> future.complete(result));
+                }
+            });
+        } catch (IOException e) {
+            logger.trace("Failed to execute a combined ICMP ping", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Reset interrupt flag
+        } finally {
+            // pings fping did not report on
+            for (List<CompletableFuture<Optional<PingResult>>> futures : batch.values()) {
+                futures.forEach(future -> future.complete(Optional.empty()));
+            }
+        }
+    }
+
+    @Deactivate
+    public void dispose() {
+        tcpConnector.close();
+        scheduler.shutdownNow();
+        probeExecutor.shutdownNow();
+        synchronized (pendingPings) {
+            pendingPings.values().forEach(futures -> futures.forEach(future -> future.complete(Optional.empty())));
+            pendingPings.clear();
+        }
+    }
+}
@@ -19,8 +19,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -34,13 +32,17 @@ import org.eclipse.smarthome.config.discovery.DiscoveryService;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,15 +67,34 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable NetworkScanner scanner;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private NetworkDiscoveryConfiguration discoveryConfiguration = new NetworkDiscoveryConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private @NonNullByDefault({}) PresenceDetectionEngine presenceDetectionEngine;
+    private volatile int scanTimeout;
 
     public NetworkDiscoveryService() {
-        super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
-                false);
+        // The timeout depends on the configuration, see getScanTimeout()
+        super(SUPPORTED_THING_TYPES_UIDS, 0, false);
+    }
+
+    /**
+     * Estimate the duration of a scan in seconds, limited either by the number of addresses probed at the same time
+     * or by the packet budget.
+     *
+     * @param addresses The number of addresses to probe
+     * @param discoveryConfiguration The limits of the scan
+     * @param packetsPerAddress The number of packets sent to probe an address
+     */
+    static int estimateScanTimeout(int addresses, NetworkDiscoveryConfiguration discoveryConfiguration,
+            int packetsPerAddress) {
+        int concurrency = Math.max(1, discoveryConfiguration.scanConcurrency.intValue());
+        int packetsPerSecond = Math.max(1, discoveryConfiguration.scanPacketsPerSecond.intValue());
+        double byConcurrency = Math.ceil((double) addresses / concurrency) * PING_TIMEOUT_IN_MS / 1000.0;
+        double byPacketBudget = (double) addresses * Math.max(1, packetsPerAddress) / packetsPerSecond;
+        // Leave time for the last probes and the slower ARP pings
+        return (int) Math.ceil(Math.max(byConcurrency, byPacketBudget) * 2) + 5;
     }
 
     @Override
@@ -91,13 +112,46 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        discoveryConfiguration = new Configuration(config).as(NetworkDiscoveryConfiguration.class);
+        updateScanTimeout(networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size(), getPacketsPerAddress());
+    }
+
+    @Override
+    public int getScanTimeout() {
+        return scanTimeout;
+    }
+
+    private void updateScanTimeout(int addresses, int packetsPerAddress) {
+        scanTimeout = estimateScanTimeout(addresses, discoveryConfiguration, packetsPerAddress);
+        logger.trace("Estimated scan of {} IPs to take up to {} s", addresses, scanTimeout);
+    }
+
+    /**
+     * The number of packets sent to probe an address: an iOS wake up packet, an ICMP ping, an ARP ping per interface
+     * and the TCP connection attempts.
+     */
+    private int getPacketsPerAddress() {
+        int arpPings = configuration.arpPingUtilMethod != ArpPingUtilEnum.UNKNOWN_TOOL
+                ? networkUtils.getInterfaceNames().size()
+                : 0;
+        return 2 + arpPings + tcpServicePorts.size();
+    }
+
+    @Reference
+    protected void setPresenceDetectionEngine(PresenceDetectionEngine presenceDetectionEngine) {
+        this.presenceDetectionEngine = presenceDetectionEngine;
+    }
+
+    protected void unsetPresenceDetectionEngine(PresenceDetectionEngine presenceDetectionEngine) {
+        this.presenceDetectionEngine = null;
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
+        NetworkScanner scanner = this.scanner;
+        if (scanner != null) {
+            scanner.cancel();
         }
         super.deactivate();
     }
@@ -120,64 +174,76 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts a presence detection for each IP on each interface on the network. The number of detections in flight
+     * and the rate of packets are limited by the discovery configuration. Devices are reported as soon as they
+     * respond.
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+    protected synchronized void startScan() {
+        NetworkScanner previousScanner = scanner;
+        if (previousScanner != null) {
+            previousScanner.cancel();
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount = 0;
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            s.setHostname(ip);
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
-                }
-            });
+        // The feature test runs a ping process, do it once for all addresses
+        final IpPingMethodEnum pingMethod = networkUtils.determinePingMethod();
+        int packetsPerAddress = getPacketsPerAddress();
+        // The stop of this scan is already scheduled, the estimate of the current network applies to the next scans
+        updateScanTimeout(networkIPs.size(), packetsPerAddress);
+
+        NetworkScanner scanner = new NetworkScanner(presenceDetectionEngine, networkIPs.iterator(), networkIPs.size(),
+                discoveryConfiguration.scanConcurrency.intValue(),
+                discoveryConfiguration.scanPacketsPerSecond.intValue(), packetsPerAddress,
+                (ip, finished) -> startPresenceDetection(ip, pingMethod, finished), this::scanFinished);
+        this.scanner = scanner;
+        scanner.start();
+    }
+
+    private boolean startPresenceDetection(String ip, @Nullable IpPingMethodEnum pingMethod, Runnable finished) {
+        final PresenceDetection s = new PresenceDetection(new PresenceDetectionListener() {
+            @Override
+            public void partialDetectionResult(PresenceDetectionValue value) {
+                NetworkDiscoveryService.this.partialDetectionResult(value);
+            }
+
+            @Override
+            public void finalDetectionResult(PresenceDetectionValue value) {
+                finished.run();
+            }
+        }, 2000, presenceDetectionEngine);
+        s.setHostname(ip);
+        s.setIOSDevice(true);
+        s.setUseDhcpSniffing(false);
+        s.setTimeout(PING_TIMEOUT_IN_MS);
+        // Ping devices
+        s.setIcmpPingMethod(pingMethod);
+        s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
+        // TCP devices
+        s.setServicePorts(tcpServicePorts);
+        return s.performPresenceDetection(false);
+    }
+
+    private synchronized void scanFinished() {
+        NetworkScanner scanner = this.scanner;
+        // A cancelled scan never finishes, so this is the current scan
+        if (scanner != null && scanner.getScannedCount() == scanner.getTotal()) {
+            logger.trace("Scan of {} IPs successful", scanner.getTotal());
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+        NetworkScanner scanner = this.scanner;
+        if (scanner != null) {
+            // Detections in flight still report their devices
+            scanner.cancel();
+            this.scanner = null;
         }
-        service.shutdown();
-        executorService = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
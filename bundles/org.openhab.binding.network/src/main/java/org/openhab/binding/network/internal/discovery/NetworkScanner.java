@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
+
+/**
+ * Probes a range of IP addresses with a limited number of addresses in flight and a limited rate of packets.
+ *
+ * Probing an address is asynchronous: a {@link Probe} is started for each address and reports its end. Nothing
+ * blocks while a probe is in flight, the next probes are started when a probe finishes or when the packet budget
+ * allows it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkScanner {
+    /**
+     * Probes a single address.
+     */
+    @FunctionalInterface
+    public interface Probe {
+        /**
+         * Start probing an address.
+         *
+         * @param address The address
+         * @param finished To be called once when the probe ends
+         * @return false if the probe did not start. The address counts as scanned right away then and finished must
+         *         not be called.
+         */
+        boolean start(String address, Runnable finished);
+    }
+
+    private final PresenceDetectionEngine engine;
+    private final Iterator<String> addresses;
+    private final int total;
+    private final int concurrency;
+    private final long nanosPerAddress;
+    private final Probe probe;
+    private final Runnable finished;
+
+    private final AtomicInteger scanned = new AtomicInteger();
+    private int inFlight;
+    private long nextStartNanos;
+    private boolean waiting;
+    private boolean starting;
+    private boolean cancelled;
+
+    /**
+     * @param engine The engine used to wait for the packet budget
+     * @param addresses The addresses to probe
+     * @param total The number of addresses
+     * @param concurrency The maximum number of addresses probed at the same time
+     * @param packetsPerSecond The maximum number of packets sent per second
+     * @param packetsPerAddress The number of packets sent to probe an address
+     * @param probe Probes an address
+     * @param finished Called when all addresses are scanned
+     */
+    public NetworkScanner(PresenceDetectionEngine engine, Iterator<String> addresses, int total, int concurrency,
+            int packetsPerSecond, int packetsPerAddress, Probe probe, Runnable finished) {
+        this.engine = engine;
+        this.addresses = addresses;
+        this.total = total;
+        this.concurrency = Math.max(1, concurrency);
+        this.nanosPerAddress = TimeUnit.SECONDS.toNanos(Math.max(1, packetsPerAddress))
+                / Math.max(1, packetsPerSecond);
+        this.probe = probe;
+        this.finished = finished;
+    }
+
+    /**
+     * Start probing.
+     */
+    public void start() {
+        nextStartNanos = System.nanoTime();
+        if (total == 0) {
+            finished.run();
+            return;
+        }
+        startProbes();
+    }
+
+    private void budgetAvailable() {
+        synchronized (this) {
+            waiting = false;
+        }
+        startProbes();
+    }
+
+    private void startProbes() {
+        synchronized (this) {
+            if (starting) {
+                // The loop of the starting thread checks again before it ends
+                return;
+            }
+            starting = true;
+        }
+        while (true) {
+            String address;
+            synchronized (this) {
+                if (cancelled || waiting || inFlight >= concurrency || !addresses.hasNext()) {
+                    starting = false;
+                    return;
+                }
+                long now = System.nanoTime();
+                if (nextStartNanos - now > 0) {
+                    waiting = true;
+                    starting = false;
+                    engine.schedule(this::budgetAvailable, nextStartNanos - now, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                address = addresses.next();
+                inFlight++;
+                // Do not save up budget while the window is full
+                nextStartNanos = Math.max(nextStartNanos, now - nanosPerAddress) + nanosPerAddress;
+            }
+            if (!probe.start(address, this::probeFinished)) {
+                probeFinished();
+            }
+        }
+    }
+
+    private void probeFinished() {
+        synchronized (this) {
+            inFlight--;
+        }
+        if (scanned.incrementAndGet() == total) {
+            finished.run();
+        } else {
+            startProbes();
+        }
+    }
+
+    /**
+     * Do not start further probes. Probes in flight still end.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Return the number of addresses that are scanned completely.
+     */
+    public int getScannedCount() {
+        return scanned.get();
+    }
+
+    /**
+     * Return the number of addresses to scan.
+     */
+    public int getTotal() {
+        return total;
+    }
+}
@@ -17,6 +17,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.*;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -37,6 +40,15 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final Pattern BATCH_PING_PATTERN = Pattern
+            .compile("^(\\S+) is (alive|unreachable)(?: \\((\\S+) ms\\))?");
+
+    /**
+     * Time between two pings sent by fping. Slows down a batch of many hosts, see
+     * {@link #nativeBatchPing(Collection, int, BiConsumer)}.
+     */
+    public static final int BATCH_PING_INTERVAL_IN_MS = 10;
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -275,6 +287,72 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Return true if the fping utility, which is able to ping many hosts at once, is available.
+     */
+    public boolean isBatchPingAvailable() {
+        String result = ExecUtil.executeCommandLineAndWaitResponse("fping -v", 100);
+        return StringUtils.isNotBlank(result) && result.contains("fping");
+    }
+
+    /**
+     * Use the fping utility to ping many hosts with a single process. The pings are sent
+     * {@value #BATCH_PING_INTERVAL_IN_MS} ms apart, the process ends after the last unreachable host timed out.
+     *
+     * @param ipAddresses The IPv4 or IPv6 addresses. Must not be empty.
+     * @param timeoutInMS Timeout in milliseconds.
+     * @param resultConsumer Receives the ping result of each host as soon as fping reports it. Addresses fping does
+     *            not report on are left out.
+     * @throws IOException The fping command could probably not be found
+     */
+    public void nativeBatchPing(Collection<String> ipAddresses, int timeoutInMS,
+            BiConsumer<String, PingResult> resultConsumer) throws IOException, InterruptedException {
+        double execStartTimeInMS = System.currentTimeMillis();
+
+        List<String> command = new ArrayList<>(ipAddresses.size() + 8);
+        Collections.addAll(command, "fping", "-e", "-r", "0", "-i", String.valueOf(BATCH_PING_INTERVAL_IN_MS),
+                "-t", String.valueOf(timeoutInMS));
+        command.addAll(ipAddresses);
+        Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        // The return code is 1 if some hosts are unreachable, which is expected, so the output is all that matters
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            parseBatchPingOutput(r, execStartTimeInMS, resultConsumer);
+        }
+        proc.waitFor();
+    }
+
+    /**
+     * Parse the output of fping -e, which is one line per host like "192.168.1.1 is alive (1.23 ms)" or
+     * "192.168.1.2 is unreachable". All other lines are ignored. Each result is passed on as soon as its line has
+     * been read.
+     */
+    void parseBatchPingOutput(BufferedReader reader, double execStartTimeInMS,
+            BiConsumer<String, PingResult> resultConsumer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Matcher m = BATCH_PING_PATTERN.matcher(line);
+            if (!m.find()) {
+                continue;
+            }
+            double executionTimeInMS = System.currentTimeMillis() - execStartTimeInMS;
+            Double responseTimeInMS = null;
+            if (m.group(3) != null) {
+                try {
+                    responseTimeInMS = Double.parseDouble(m.group(3));
+                    // The process pinged all hosts, its execution time says nothing about this one
+                    executionTimeInMS = responseTimeInMS;
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            PingResult pingResult = new PingResult("alive".equals(m.group(2)), executionTimeInMS);
+            if (responseTimeInMS != null) {
+                pingResult.setResponseTimeInMS(responseTimeInMS);
+            }
+            resultConsumer.accept(m.group(1), pingResult);
+        }
+    }
+
     public enum ArpPingUtilEnum {
         UNKNOWN_TOOL,
         IPUTILS_ARPING,
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP connection attempts ("port knocks") without blocking a thread per attempt. All connection attempts
+ * are driven by a single selector thread, which is started with the first attempt.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnector {
+    private final Logger logger = LoggerFactory.getLogger(TcpConnector.class);
+
+    private final String threadName;
+    private final Queue<PendingConnect> registrations = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    private static class PendingConnect {
+        final SocketChannel channel;
+        final CompletableFuture<PingResult> result = new CompletableFuture<>();
+        final long startNanos;
+        final long deadlineNanos;
+
+        PendingConnect(SocketChannel channel, long startNanos, int timeoutInMS) {
+            this.channel = channel;
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+
+        void complete(boolean success) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            result.complete(new PingResult(success, (System.nanoTime() - startNanos) / 1000000.0));
+        }
+    }
+
+    /**
+     * @param threadName The name of the selector thread
+     */
+    public TcpConnector(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Try to establish a tcp connection to the given address. The result is not successful if the timeout elapsed
+     * or the connection was denied.
+     *
+     * @param address The IP and tcp port. The port must be not 0.
+     * @param timeoutInMS Timeout in ms
+     * @return The ping result, completed when the connection is established, denied or timed out.
+     * @throws IOException If no socket could be created
+     */
+    public CompletableFuture<PingResult> connect(InetSocketAddress address, int timeoutInMS) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        PendingConnect pending = new PendingConnect(channel, System.nanoTime(), timeoutInMS);
+        try {
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                pending.complete(true);
+                return pending.result;
+            }
+        } catch (IOException e) {
+            // Denied right away, for example because there is no route to the host
+            pending.complete(false);
+            return pending.result;
+        }
+        registrations.add(pending);
+        startSelector().wakeup();
+        return pending.result;
+    }
+
+    private synchronized Selector startSelector() throws IOException {
+        Selector selector = this.selector;
+        if (selector == null || !selector.isOpen()) {
+            selector = Selector.open();
+            this.selector = selector;
+            Selector runSelector = selector;
+            Thread thread = new Thread(() -> run(runSelector), threadName);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return selector;
+    }
+
+    private synchronized boolean isRunning(Selector selector) {
+        return this.selector == selector;
+    }
+
+    private void run(Selector selector) {
+        while (isRunning(selector)) {
+            try {
+                registerPending(selector);
+                selector.select(TimeUnit.NANOSECONDS.toMillis(nextDeadline(selector) - System.nanoTime()) + 1);
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    finishConnect(key);
+                }
+                expire(selector);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("TCP connection attempts failed", e);
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            ((PendingConnect) key.attachment()).complete(false);
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void registerPending(Selector selector) {
+        PendingConnect pending;
+        while ((pending = registrations.poll()) != null) {
+            try {
+                pending.channel.register(selector, SelectionKey.OP_CONNECT, pending);
+            } catch (IOException e) {
+                pending.complete(false);
+            }
+        }
+    }
+
+    private long nextDeadline(Selector selector) {
+        long now = System.nanoTime();
+        long next = now + TimeUnit.SECONDS.toNanos(1);
+        for (SelectionKey key : selector.keys()) {
+            PendingConnect pending = (PendingConnect) key.attachment();
+            if (key.isValid() && pending.deadlineNanos - next < 0) {
+                next = pending.deadlineNanos;
+            }
+        }
+        return next - now < 0 ? now : next;
+    }
+
+    private void finishConnect(SelectionKey key) {
+        PendingConnect pending = (PendingConnect) key.attachment();
+        boolean success;
+        try {
+            success = pending.channel.finishConnect();
+        } catch (IOException e) {
+            // Connection refused, host unreachable, ...
+            success = false;
+        }
+        key.cancel();
+        pending.complete(success);
+    }
+
+    private void expire(Selector selector) {
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            PendingConnect pending = (PendingConnect) key.attachment();
+            if (key.isValid() && now - pending.deadlineNanos >= 0) {
+                key.cancel();
+                pending.complete(false);
+            }
+        }
+    }
+
+    /**
+     * Stops the selector thread. All pending connection attempts fail.
+     */
+    public synchronized void close() {
+        Selector selector = this.selector;
+        this.selector = null;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        PendingConnect pending;
+        while ((pending = registrations.poll()) != null) {
+            pending.complete(false);
+        }
+    }
+}
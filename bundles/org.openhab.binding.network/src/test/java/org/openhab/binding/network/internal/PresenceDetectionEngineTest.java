@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link PresenceDetectionEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceDetectionEngineTest {
+    private static final String ALIVE = "192.168.1.1";
+    private static final String UNREACHABLE = "192.168.1.2";
+    private static final String UNREPORTED = "192.168.1.3";
+
+    @Mock
+    NetworkUtils networkUtils;
+
+    PresenceDetectionEngine engine;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        engine = new PresenceDetectionEngine();
+        engine.networkUtils = networkUtils;
+    }
+
+    @After
+    public void shutDown() {
+        engine.dispose();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void batchPingCompletesEachHostWhenReported() throws Exception {
+        Map<String, List<CompletableFuture<Optional<PingResult>>>> batch = new HashMap<>();
+        CompletableFuture<Optional<PingResult>> alive = addPing(batch, ALIVE);
+        CompletableFuture<Optional<PingResult>> unreachable = addPing(batch, UNREACHABLE);
+        CompletableFuture<Optional<PingResult>> unreported = addPing(batch, UNREPORTED);
+
+        doAnswer(invocation -> {
+            BiConsumer<String, PingResult> resultConsumer = invocation.getArgument(2);
+            resultConsumer.accept(ALIVE, new PingResult(true, 1.5));
+            // fping is still waiting for the unreachable host, the alive one has to be completed already
+            assertTrue(alive.isDone());
+            assertFalse(unreachable.isDone());
+
+            resultConsumer.accept(UNREACHABLE, new PingResult(false, 500));
+            assertTrue(unreachable.isDone());
+            assertFalse(unreported.isDone());
+            return null;
+        }).when(networkUtils).nativeBatchPing(anyCollection(), eq(500), any(BiConsumer.class));
+
+        engine.runBatchPing(batch, 500);
+
+        assertTrue(alive.get().get().isSuccess());
+        assertFalse(unreachable.get().get().isSuccess());
+        assertFalse(unreported.get().isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void failedBatchPingCompletesAllHosts() throws Exception {
+        Map<String, List<CompletableFuture<Optional<PingResult>>>> batch = new HashMap<>();
+        CompletableFuture<Optional<PingResult>> first = addPing(batch, ALIVE);
+        CompletableFuture<Optional<PingResult>> second = addPing(batch, ALIVE);
+
+        doThrow(new IOException("fping not found")).when(networkUtils).nativeBatchPing(anyCollection(),
+                anyInt(), any(BiConsumer.class));
+
+        engine.runBatchPing(batch, 500);
+
+        assertFalse(first.get().isPresent());
+        assertFalse(second.get().isPresent());
+    }
+
+    @Test
+    public void batchSizeFitsPingsIntoTimeout() {
+        assertEquals(PresenceDetectionEngine.MAX_BATCH_PING_SIZE, PresenceDetectionEngine.getBatchSize(60000));
+        // the pings of a batch are sent within half of the timeout
+        assertEquals(25, PresenceDetectionEngine.getBatchSize(500));
+        assertEquals(1, PresenceDetectionEngine.getBatchSize(5));
+    }
+
+    private CompletableFuture<Optional<PingResult>> addPing(
+            Map<String, List<CompletableFuture<Optional<PingResult>>>> batch, String address) {
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        batch.computeIfAbsent(address, a -> new ArrayList<>()).add(future);
+        return future;
+    }
+}
@@ -21,10 +21,12 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -57,6 +59,8 @@ public class PresenceDetectionTest {
     @Mock
     Consumer<PresenceDetectionValue> callback;
 
+    PresenceDetectionEngine engine;
+
     PresenceDetection subject;
 
     @Before
@@ -68,7 +72,11 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        // Do not depend on fping being installed on the test system
+        engine = spy(new PresenceDetectionEngine());
+        doReturn(false).when(engine).isBatchPingAvailable();
+
+        subject = spy(new PresenceDetection(listener, (int) CACHETIME, engine));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -89,6 +97,7 @@ public class PresenceDetectionTest {
     @After
     public void shutDown() {
         subject.waitForPresenceDetection();
+        engine.dispose();
     }
 
     // Depending on the amount of test methods an according amount of threads is spawned.
@@ -99,8 +108,8 @@ public class PresenceDetectionTest {
 
         doNothing().when(subject).performARPping(any());
         doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performSystemPing();
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
@@ -119,7 +128,8 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(new PingResult(true, 10))).when(engine).servicePing(anyString(),
+                anyInt(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -136,13 +146,40 @@ public class PresenceDetectionTest {
         assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, ICMP_PING, TCP_CONNECTION"));
     }
 
+    @Test
+    public void lateCheckOfFinishedDetectionIsIgnored() throws InterruptedException {
+        CompletableFuture<@Nullable Void> lateSystemPing = new CompletableFuture<>();
+        doNothing().when(subject).performARPping(any());
+        doReturn(lateSystemPing).when(subject).performSystemPing();
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performServicePing(anyInt());
+
+        // the system ping does not complete in time, so the detection is finished by its timeout
+        assertTrue(subject.performPresenceDetection(false));
+        subject.waitForPresenceDetection();
+        verify(listener, times(1)).finalDetectionResult(any());
+        assertNull(subject.executorService);
+
+        // the checks of the next detection are not run
+        subject.cache.invalidateValue();
+        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        assertTrue(subject.performPresenceDetection(false));
+        assertThat(subject.currentCheck, is(0));
+
+        // completing the check of the first detection must not count for the next one
+        lateSystemPing.complete(null);
+        assertThat(subject.currentCheck, is(0));
+        assertSame(executorService, subject.executorService);
+        verify(listener, times(1)).finalDetectionResult(any());
+    }
+
     @Test
     public void cacheTest() throws InterruptedException, IOException {
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(new PingResult(true, 10))).when(engine).servicePing(anyString(),
+                anyInt(), anyInt());
 
         doReturn(executorService).when(subject).getThreadsFor(anyInt());
 
@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 
 import org.eclipse.smarthome.config.discovery.DiscoveryListener;
@@ -87,4 +88,19 @@ public class DiscoveryTest {
         Assert.assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
         Assert.assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
     }
+
+    @Test
+    public void scanTimeoutFollowsConfiguration() {
+        NetworkDiscoveryConfiguration configuration = new NetworkDiscoveryConfiguration();
+        // limited by the packet budget: 256 addresses * 7 packets at 500 packets/s
+        Assert.assertThat(NetworkDiscoveryService.estimateScanTimeout(256, configuration, 7), is(13));
+        // limited by the concurrency: 4 rounds of 64 addresses, 500 ms each
+        Assert.assertThat(NetworkDiscoveryService.estimateScanTimeout(256, configuration, 2), is(9));
+
+        configuration.scanPacketsPerSecond = BigDecimal.valueOf(100);
+        Assert.assertThat(NetworkDiscoveryService.estimateScanTimeout(256, configuration, 7), is(41));
+        configuration.scanConcurrency = BigDecimal.valueOf(1);
+        configuration.scanPacketsPerSecond = BigDecimal.valueOf(10000);
+        Assert.assertThat(NetworkDiscoveryService.estimateScanTimeout(256, configuration, 7), is(261));
+    }
 }
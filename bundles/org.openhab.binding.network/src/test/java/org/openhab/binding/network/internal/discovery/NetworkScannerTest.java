@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
+
+/**
+ * Tests cases for {@link NetworkScanner}.
+ *
+ * @author agent - Initial contribution
+ */
+public class NetworkScannerTest {
+    private final PresenceDetectionEngine engine = new PresenceDetectionEngine();
+
+    @After
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    private static List<String> addresses(int count) {
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addresses.add("192.168." + (i / 256) + "." + (i % 256));
+        }
+        return addresses;
+    }
+
+    @Test
+    public void concurrencyIsLimited() throws InterruptedException {
+        List<String> addresses = addresses(1000);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        NetworkScanner scanner = new NetworkScanner(engine, addresses.iterator(), addresses.size(), 16,
+                Integer.MAX_VALUE, 1, (address, done) -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    engine.schedule(() -> {
+                        inFlight.decrementAndGet();
+                        done.run();
+                    }, 1, TimeUnit.MILLISECONDS);
+                    return true;
+                }, finished::countDown);
+        scanner.start();
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(addresses.size(), scanner.getScannedCount());
+        assertTrue("max in flight " + maxInFlight.get(), maxInFlight.get() <= 16);
+    }
+
+    @Test
+    public void packetRateIsLimited() throws InterruptedException {
+        List<String> addresses = addresses(50);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        // 5 packets per address at 500 packets per second are 100 addresses per second
+        NetworkScanner scanner = new NetworkScanner(engine, addresses.iterator(), addresses.size(), 1000, 500, 5,
+                (address, done) -> {
+                    done.run();
+                    return true;
+                }, finished::countDown);
+        long start = System.nanoTime();
+        scanner.start();
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("scan took " + millis + " ms", millis >= 450);
+    }
+
+    @Test
+    public void probesThatDoNotStartCountAsScanned() throws InterruptedException {
+        List<String> addresses = addresses(5000);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        NetworkScanner scanner = new NetworkScanner(engine, addresses.iterator(), addresses.size(), 8,
+                Integer.MAX_VALUE, 1, (address, done) -> false, finished::countDown);
+        scanner.start();
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(addresses.size(), scanner.getScannedCount());
+    }
+
+    @Test
+    public void emptyRangeFinishesImmediately() {
+        AtomicInteger finished = new AtomicInteger();
+        NetworkScanner scanner = new NetworkScanner(engine, Collections.<String> emptyList().iterator(), 0, 8, 500, 1,
+                (address, done) -> true, finished::incrementAndGet);
+        scanner.start();
+        assertEquals(1, finished.get());
+    }
+
+    @Test
+    public void cancelStopsStartingProbes() throws InterruptedException {
+        List<String> addresses = addresses(100);
+        AtomicInteger started = new AtomicInteger();
+        List<Runnable> pending = Collections.synchronizedList(new ArrayList<>());
+
+        NetworkScanner scanner = new NetworkScanner(engine, addresses.iterator(), addresses.size(), 10,
+                Integer.MAX_VALUE, 1, (address, done) -> {
+                    started.incrementAndGet();
+                    pending.add(done);
+                    return true;
+                }, () -> fail("A cancelled scan must not finish"));
+        scanner.start();
+        assertEquals(10, started.get());
+
+        scanner.cancel();
+        new ArrayList<>(pending).forEach(Runnable::run);
+        assertEquals(10, started.get());
+        assertEquals(10, scanner.getScannedCount());
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link NetworkUtils}.
+ *
+ * @author agent - Initial contribution
+ */
+public class NetworkUtilsTest {
+
+    @Test
+    public void parseBatchPingOutput() throws IOException {
+        String output = "192.168.1.1 is alive (1.23 ms)\n" //
+                + "ICMP Host Unreachable from 192.168.1.10 for ICMP Echo sent to 192.168.1.2\n" //
+                + "192.168.1.2 is unreachable\n" //
+                + "fe80::1 is alive (0.05 ms)\n";
+
+        Map<String, PingResult> results = new HashMap<>();
+        new NetworkUtils().parseBatchPingOutput(new BufferedReader(new StringReader(output)),
+                System.currentTimeMillis(), results::put);
+
+        assertEquals(3, results.size());
+        assertTrue(results.get("192.168.1.1").isSuccess());
+        assertEquals(1.23, results.get("192.168.1.1").getResponseTimeInMS().get(), 0);
+        assertEquals(1.23, results.get("192.168.1.1").getExecutionTimeInMS(), 0);
+        assertFalse(results.get("192.168.1.2").isSuccess());
+        assertFalse(results.get("192.168.1.2").getResponseTimeInMS().isPresent());
+        assertTrue(results.get("fe80::1").isSuccess());
+    }
+
+    @Test(timeout = 10000)
+    public void parseBatchPingOutputReportsEachHostWhenRead() throws Exception {
+        PipedWriter writer = new PipedWriter();
+        BufferedReader reader = new BufferedReader(new PipedReader(writer));
+        CountDownLatch firstResult = new CountDownLatch(1);
+
+        // fping keeps running until the unreachable host timed out
+        CompletableFuture<Void> fping = CompletableFuture.runAsync(() -> {
+            try {
+                writer.write("192.168.1.1 is alive (1.23 ms)\n");
+                writer.flush();
+                assertTrue(firstResult.await(5, TimeUnit.SECONDS));
+                writer.write("192.168.1.2 is unreachable\n");
+                writer.close();
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Map<String, PingResult> results = new HashMap<>();
+        new NetworkUtils().parseBatchPingOutput(reader, System.currentTimeMillis(), (address, result) -> {
+            results.put(address, result);
+            firstResult.countDown();
+        });
+        fping.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get("192.168.1.1").isSuccess());
+        assertFalse(results.get("192.168.1.2").isSuccess());
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link TcpConnector}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TcpConnectorTest {
+    private final TcpConnector connector = new TcpConnector("TcpConnectorTest");
+
+    @After
+    public void tearDown() {
+        connector.close();
+    }
+
+    @Test
+    public void openPortIsReachable() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            PingResult result = connector
+                    .connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()), 1000)
+                    .get(2, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void closedPortIsNotReachable() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = server.getLocalPort();
+        }
+        PingResult result = connector.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1000)
+                .get(2, TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void manyConnectionsShareOneThread() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 200, InetAddress.getLoopbackAddress())) {
+            int threadsBefore = Thread.activeCount();
+            List<CompletableFuture<PingResult>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(connector.connect(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()), 1000));
+            }
+            assertTrue(Thread.activeCount() <= threadsBefore + 1);
+            for (CompletableFuture<PingResult> result : results) {
+                assertTrue(result.get(2, TimeUnit.SECONDS).isSuccess());
+            }
+        }
+    }
+
+    @Test
+    public void closeFailsPendingConnections() throws IOException {
+        // A connection attempt which is still pending when the connector is closed must not hang forever
+        CompletableFuture<PingResult> result = connector.connect(new InetSocketAddress("10.255.255.1", 9), 10000);
+        connector.close();
+        try {
+            assertFalse(result.get(2, TimeUnit.SECONDS).isSuccess());
+        } catch (Exception e) {
+            fail("Pending connection was not completed: " + e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Configuration of adaptively scheduled regular poll
+ *
+ * The poll period is adjusted between the minimum and maximum period: polls with frequently changing data are polled
+ * close to the minimum period, while polls with rarely changing data are polled close to the maximum period. When
+ * the endpoint cannot keep up with the polls, the periods of lower priority polls are stretched first.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptivePollConfiguration {
+
+    /**
+     * Priority of the poll
+     */
+    public static enum Priority {
+        /**
+         * Poll is never stretched due to transaction budget, and it gets the connection before lower priority polls
+         */
+        HIGH,
+        /**
+         * Poll is stretched when the endpoint cannot keep up with the polls
+         */
+        NORMAL,
+        /**
+         * Poll is stretched more than polls with normal priority
+         */
+        LOW
+    }
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final long minPollPeriodMillis;
+    private final long maxPollPeriodMillis;
+    private final Priority priority;
+
+    /**
+     * Construct configuration
+     *
+     * @param minPollPeriodMillis minimum poll period, in milliseconds
+     * @param maxPollPeriodMillis maximum poll period, in milliseconds
+     * @param priority priority of the poll
+     * @throws IllegalArgumentException when minimum period is not positive, or maximum period is less than minimum
+     *             period
+     */
+    public AdaptivePollConfiguration(long minPollPeriodMillis, long maxPollPeriodMillis, Priority priority) {
+        if (minPollPeriodMillis <= 0) {
+            throw new IllegalArgumentException("minPollPeriodMillis should be positive");
+        }
+        if (maxPollPeriodMillis < minPollPeriodMillis) {
+            throw new IllegalArgumentException("maxPollPeriodMillis should be at least minPollPeriodMillis");
+        }
+        this.minPollPeriodMillis = minPollPeriodMillis;
+        this.maxPollPeriodMillis = maxPollPeriodMillis;
+        this.priority = priority;
+    }
+
+    /**
+     * Get minimum poll period, in milliseconds
+     */
+    public long getMinPollPeriodMillis() {
+        return minPollPeriodMillis;
+    }
+
+    /**
+     * Get maximum poll period, in milliseconds
+     */
+    public long getMaxPollPeriodMillis() {
+        return maxPollPeriodMillis;
+    }
+
+    /**
+     * Get priority of the poll
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(83, 29).append(minPollPeriodMillis).append(maxPollPeriodMillis).append(priority)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("minPollPeriodMillis", minPollPeriodMillis)
+                .append("maxPollPeriodMillis", maxPollPeriodMillis).append("priority", priority).toString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        AdaptivePollConfiguration rhs = (AdaptivePollConfiguration) obj;
+        return new EqualsBuilder().append(minPollPeriodMillis, rhs.minPollPeriodMillis)
+                .append(maxPollPeriodMillis, rhs.maxPollPeriodMillis).append(priority, rhs.priority).isEquals();
+    }
+}
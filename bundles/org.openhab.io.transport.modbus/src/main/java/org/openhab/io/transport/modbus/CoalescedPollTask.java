@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Poll task reading the union of several poll tasks with a single transaction
+ *
+ * Created by {@link ModbusReadRequestPlanner}. The response is sliced and delivered to the callbacks of the original
+ * tasks.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Read callback slicing the data for each of the original tasks
+     */
+    private class FanOutCallback implements ModbusReadCallback {
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            recordTransactionsSaved();
+            for (PollTask task : tasks) {
+                ModbusReadCallback callback = task.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint originalRequest = task.getRequest();
+                callback.onRegisters(originalRequest, new RegisterArraySlice(registers,
+                        originalRequest.getReference() - request.getReference(), originalRequest.getDataLength()));
+            }
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            recordTransactionsSaved();
+            for (PollTask task : tasks) {
+                ModbusReadCallback callback = task.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint originalRequest = task.getRequest();
+                callback.onBits(originalRequest, new BitArraySlice(bits,
+                        originalRequest.getReference() - request.getReference(), originalRequest.getDataLength()));
+            }
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            for (PollTask task : tasks) {
+                ModbusReadCallback callback = task.getCallback();
+                if (callback != null) {
+                    callback.onError(task.getRequest(), error);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read-only view to a range of registers
+     */
+    private static class RegisterArraySlice implements ModbusRegisterArray {
+        private final ModbusRegisterArray wrapped;
+        private final int offset;
+        private final int length;
+
+        private RegisterArraySlice(ModbusRegisterArray wrapped, int offset, int length) {
+            this.wrapped = wrapped;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public ModbusRegister getRegister(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return wrapped.getRegister(offset + index);
+        }
+
+        @Override
+        public int getUnsignedShort(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return wrapped.getUnsignedShort(offset + index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            if (length == 0) {
+                return "ModbusRegisterArrayImpl(<empty>)";
+            }
+            StringBuffer buffer = new StringBuffer(length * 2).append("ModbusRegisterArrayImpl(");
+            return appendHexString(buffer).append(')').toString();
+        }
+    }
+
+    /**
+     * Read-only view to a range of bits
+     */
+    private static class BitArraySlice implements BitArray {
+        private final BitArray wrapped;
+        private final int offset;
+        private final int length;
+
+        private BitArraySlice(BitArray wrapped, int offset, int length) {
+            this.wrapped = wrapped;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public boolean getBit(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return wrapped.getBit(offset + index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("BitArrayImpl(bits=").append(length == 0 ? "<empty>" : toBinaryString())
+                    .append(")").toString();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return sizeAndValuesEquals(obj);
+        }
+    }
+
+    private final @Nullable ModbusEndpointMetrics metrics;
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> tasks;
+    private final ModbusReadCallback callback = new FanOutCallback();
+
+    CoalescedPollTask(@Nullable ModbusEndpointMetrics metrics, ModbusSlaveEndpoint endpoint,
+            ModbusReadRequestBlueprint request, List<PollTask> tasks) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+        this.request = request;
+        this.tasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Record the transactions saved by reading the original tasks with single transaction. Called only with
+     * successful reads.
+     */
+    private void recordTransactionsSaved() {
+        ModbusEndpointMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordTransactionsSaved(tasks.size() - 1);
+        }
+    }
+
+    /**
+     * Get the original tasks covered by this task
+     *
+     * @return unmodifiable list of the original tasks
+     */
+    public List<PollTask> getCoalescedTasks() {
+        return tasks;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(71, 7).append(request).append(endpoint).append(tasks).toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("tasks", tasks.size()).toString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        CoalescedPollTask rhs = (CoalescedPollTask) obj;
+        return new EqualsBuilder().append(request, rhs.request).append(endpoint, rhs.endpoint)
+                .append(tasks, rhs.tasks).isEquals();
+    }
+}
@@ -13,9 +13,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -101,6 +98,29 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        checkIndex(registers, index, type);
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP: {
+                float value = Float.intBitsToFloat((int) decodeLong(registers, index, type));
+                if (Float.isNaN(value) || Float.isInfinite(value)) {
+                    // floating point NaN or infinity encountered
+                    return Optional.empty();
+                }
+                return Optional.of(new DecimalType(value));
+            }
+            case UINT64:
+            case UINT64_SWAP: {
+                long value = decodeLong(registers, index, type);
+                return Optional.of(value >= 0 ? new DecimalType(value)
+                        : new DecimalType(new BigDecimal(Long.toUnsignedString(value))));
+            }
+            default:
+                return Optional.of(new DecimalType(decodeLong(registers, index, type)));
+        }
+    }
+
+    private static void checkIndex(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -109,104 +129,45 @@ public class ModbusBitUtilities {
                     String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
                             registers.size()));
         }
+    }
+
+    private static long uint16(ModbusRegisterArray registers, int index) {
+        return registers.getUnsignedShort(index);
+    }
+
+    /**
+     * Decode value from registers. Floating point types are returned as raw bits.
+     */
+    private static long decodeLong(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                return (uint16(registers, index / 16) >> (index % 16)) & 1;
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                return (byte) (uint16(registers, index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                return (uint16(registers, index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) uint16(registers, index);
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+                return uint16(registers, index);
+            case INT32:
+                return (int) ((uint16(registers, index) << 16) | uint16(registers, index + 1));
+            case UINT32:
+            case FLOAT32:
+                return (uint16(registers, index) << 16) | uint16(registers, index + 1);
+            case INT64:
+            case UINT64:
+                return (uint16(registers, index) << 48) | (uint16(registers, index + 1) << 32)
+                        | (uint16(registers, index + 2) << 16) | uint16(registers, index + 3);
+            case INT32_SWAP:
+                return (int) ((uint16(registers, index + 1) << 16) | uint16(registers, index));
+            case UINT32_SWAP:
+            case FLOAT32_SWAP:
+                return (uint16(registers, index + 1) << 16) | uint16(registers, index);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return (uint16(registers, index + 3) << 48) | (uint16(registers, index + 2) << 32)
+                        | (uint16(registers, index + 1) << 16) | uint16(registers, index);
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Performance metrics of single endpoint
+ *
+ * Latencies are recorded per operation phase. Errors are counted per exception type, once for each failed try.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointMetrics {
+
+    /**
+     * Phases of a modbus operation
+     */
+    public static enum Phase {
+        /**
+         * Waiting for connection from the pool
+         */
+        CONNECTION_BORROW,
+        /**
+         * All connection related actions: borrow, invalidate and return
+         */
+        CONNECTION,
+        /**
+         * Actual transaction with the slave
+         */
+        TRANSACTION,
+        /**
+         * Calling the callback
+         */
+        CALLBACK,
+        /**
+         * Total operation
+         */
+        TOTAL
+    }
+
+    private final Map<Phase, ModbusLatencyHistogram> latencies = new EnumMap<>(Phase.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong transactionsSaved = new AtomicLong();
+
+    public ModbusEndpointMetrics() {
+        for (Phase phase : Phase.values()) {
+            latencies.put(phase, new ModbusLatencyHistogram());
+        }
+    }
+
+    /**
+     * Record latency of an operation phase
+     *
+     * @param phase phase of the operation
+     * @param millis duration in milliseconds
+     */
+    public void recordLatency(Phase phase, long millis) {
+        getLatency(phase).record(millis);
+        if (phase == Phase.TOTAL) {
+            operations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record error
+     *
+     * @param error error occurred with the endpoint
+     */
+    public void recordError(Exception error) {
+        errors.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record transactions saved by reading several regular polls with a single transaction
+     *
+     * @param saved number of transactions saved
+     */
+    public void recordTransactionsSaved(long saved) {
+        transactionsSaved.addAndGet(saved);
+    }
+
+    /**
+     * Get latency histogram of an operation phase
+     *
+     * @param phase phase of the operation
+     * @return histogram of the phase
+     */
+    public ModbusLatencyHistogram getLatency(Phase phase) {
+        ModbusLatencyHistogram histogram = latencies.get(phase);
+        if (histogram == null) {
+            throw new IllegalStateException(phase.toString());
+        }
+        return histogram;
+    }
+
+    /**
+     * Get number of completed operations
+     */
+    public long getOperationCount() {
+        return operations.get();
+    }
+
+    /**
+     * Get number of transactions saved by coalescing regular polls, see
+     * {@link ModbusReadRequestPlanner}
+     */
+    public long getTransactionsSaved() {
+        return transactionsSaved.get();
+    }
+
+    /**
+     * Get number of errors, per exception type
+     *
+     * @return map from exception simple class name to number of errors
+     */
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((type, counter) -> counts.put(type, counter.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Get total number of errors
+     */
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Clear all metrics
+     */
+    public void reset() {
+        latencies.values().forEach(ModbusLatencyHistogram::reset);
+        errors.clear();
+        operations.set(0);
+        transactionsSaved.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ModbusEndpointMetrics(operations=").append(getOperationCount())
+                .append(", transactionsSaved=").append(getTransactionsSaved()).append(", errors=")
+                .append(getErrorCounts()).append(", latencies=").append(latencies).append(')').toString();
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Thread-safe histogram of latencies, in milliseconds
+ *
+ * Values are recorded to log-linear buckets, similar to HDR histograms: values below 16 ms are recorded exactly,
+ * larger values with 8 sub-buckets per power of two (that is, relative error of at most 12.5%). Recording does not
+ * allocate.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusLatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_MAGNITUDE = 4; // log2(LINEAR_BUCKETS)
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - LINEAR_MAGNITUDE) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (magnitude - LINEAR_MAGNITUDE) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_MAGNITUDE;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long lowerBound = (1L << magnitude) + ((long) subBucket << (magnitude - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Record latency
+     *
+     * @param millis latency in milliseconds. Negative values are recorded as zero.
+     */
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Get number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get smallest recorded value, or zero when nothing has been recorded
+     */
+    public long getMinMillis() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Get largest recorded value, or zero when nothing has been recorded
+     */
+    public long getMaxMillis() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * Get mean of the recorded values, or zero when nothing has been recorded
+     */
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * Get the value at given percentile
+     *
+     * The returned value is the upper bound of the histogram bucket containing the percentile, capped to the largest
+     * recorded value.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return value at the given percentile, or zero when nothing has been recorded
+     */
+    public long getPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile should be between 0 and 100");
+        }
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold) {
+                return Math.min(bucketUpperBound(i), getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Clear all recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{count=%d, mean=%.1f ms, p50=%d ms, p95=%d ms, p99=%d ms, max=%d ms}", getCount(),
+                getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99),
+                getMaxMillis());
+    }
+}
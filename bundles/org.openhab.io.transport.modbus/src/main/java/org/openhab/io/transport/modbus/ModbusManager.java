@@ -12,6 +12,7 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -41,11 +42,28 @@ public interface ModbusManager {
      * Register regularly polled task. The method returns immediately, and the execution of the poll task will happen in
      * the background.
      *
+     * With endpoints configured with non-negative
+     * {@link org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration#getCoalescingGapTolerance()}, the
+     * regular polls having the same poll period are read together, see {@link ModbusReadRequestPlanner}.
+     *
      * @param task
      * @return
      */
     public void registerRegularPoll(PollTask task, long pollPeriodMillis, long initialDelayMillis);
 
+    /**
+     * Register regularly polled task with adaptive poll period. The method returns immediately, and the execution of
+     * the poll task will happen in the background.
+     *
+     * The poll period is adjusted within the configured bounds, based on how often the polled data changes, and how
+     * many transactions the endpoint can handle. The task is unregistered with {@link #unregisterRegularPoll(PollTask)}.
+     *
+     * @param task poll task to register
+     * @param configuration configuration of the adaptive poll period
+     * @param initialDelayMillis delay before the first poll, in milliseconds
+     */
+    public void registerAdaptivePoll(PollTask task, AdaptivePollConfiguration configuration, long initialDelayMillis);
+
     /**
      * Unregister regularly polled task
      *
@@ -103,4 +121,25 @@ public interface ModbusManager {
      * @return set of registered regular polls
      */
     public Set<PollTask> getRegisteredRegularPolls();
+
+    /**
+     * Get performance metrics of the endpoints
+     *
+     * @return metrics per endpoint, for all the endpoints that have been communicated with
+     */
+    public Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> getEndpointMetrics();
+
+    /**
+     * Get number of tasks waiting in the queue of the poller thread pool
+     *
+     * @return current queue size, or -1 if the size cannot be determined
+     */
+    public int getTaskQueueSize();
+
+    /**
+     * Get maximum number of tasks observed in the queue of the poller thread pool
+     *
+     * @return maximum queue size observed, or -1 if the size cannot be determined
+     */
+    public int getMaxTaskQueueSize();
 }
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Planner for coalescing read requests sharing the same endpoint
+ *
+ * Poll tasks with the same endpoint, slave id and function code are merged into a single physical read when their
+ * address ranges overlap, are adjacent, or are separated by at most {@code gapTolerance} items. The merged request
+ * never exceeds the protocol limit of the function code (125 registers, 2000 coils/discrete inputs).
+ *
+ * The planned tasks deliver the slices of the response back to the callbacks of the original tasks, with the original
+ * request blueprints. Errors are delivered to all original callbacks.
+ *
+ * The modbus manager plans the regular polls of endpoints having non-negative
+ * {@link org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration#getCoalescingGapTolerance()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadRequestPlanner {
+
+    /**
+     * Maximum number of registers that can be read with single request (FC3 and FC4)
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs that can be read with single request (FC1 and FC2)
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private final int gapTolerance;
+    private final @Nullable Function<ModbusSlaveEndpoint, ModbusEndpointMetrics> metricsProvider;
+
+    /**
+     * Construct planner
+     *
+     * @param gapTolerance maximum number of unrequested registers/bits between two requests that are still merged
+     *            together. Use 0 to merge only overlapping or adjacent requests.
+     */
+    public ModbusReadRequestPlanner(int gapTolerance) {
+        this(gapTolerance, null);
+    }
+
+    /**
+     * Construct planner recording the transactions saved by the planned reads
+     *
+     * @param gapTolerance maximum number of unrequested registers/bits between two requests that are still merged
+     *            together. Use 0 to merge only overlapping or adjacent requests.
+     * @param metricsProvider metrics of the endpoint, see {@link ModbusEndpointMetrics#getTransactionsSaved()}. Saved
+     *            transactions are recorded once a merged read has succeeded.
+     */
+    public ModbusReadRequestPlanner(int gapTolerance,
+            @Nullable Function<ModbusSlaveEndpoint, ModbusEndpointMetrics> metricsProvider) {
+        if (gapTolerance < 0) {
+            throw new IllegalArgumentException("gapTolerance should be non-negative");
+        }
+        this.gapTolerance = gapTolerance;
+        this.metricsProvider = metricsProvider;
+    }
+
+    /**
+     * Plan the physical reads for the given poll tasks
+     *
+     * Tasks that cannot be merged with any other task are returned as is.
+     *
+     * @param tasks poll tasks to plan
+     * @return list of poll tasks covering all the given tasks
+     */
+    public List<PollTask> plan(Collection<PollTask> tasks) {
+        Map<GroupKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            GroupKey key = new GroupKey(task.getEndpoint(), request.getUnitID(), request.getFunctionCode());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> planned = new ArrayList<>();
+        groups.forEach((key, groupTasks) -> planGroup(key, groupTasks, planned));
+        return planned;
+    }
+
+    private void planGroup(GroupKey key, List<PollTask> groupTasks, List<PollTask> planned) {
+        List<PollTask> sorted = new ArrayList<>(groupTasks);
+        sorted.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                .thenComparingInt(task -> task.getRequest().getDataLength()));
+        int maxLength = key.functionCode == ModbusReadFunctionCode.READ_COILS
+                || key.functionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES ? MAX_BITS_PER_READ
+                        : MAX_REGISTERS_PER_READ;
+
+        List<PollTask> batch = new ArrayList<>();
+        int batchStart = 0;
+        int batchEnd = 0; // exclusive
+        for (PollTask task : sorted) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            int start = request.getReference();
+            int end = start + request.getDataLength();
+            boolean fitsBatch = start <= batchEnd + gapTolerance
+                    && Math.max(end, batchEnd) - batchStart <= maxLength;
+            if (!batch.isEmpty() && fitsBatch) {
+                batch.add(task);
+                batchEnd = Math.max(end, batchEnd);
+                continue;
+            }
+            flushBatch(key, batch, batchStart, batchEnd, planned);
+            batch = new ArrayList<>();
+            batch.add(task);
+            batchStart = start;
+            batchEnd = end;
+        }
+        flushBatch(key, batch, batchStart, batchEnd, planned);
+    }
+
+    private void flushBatch(GroupKey key, List<PollTask> batch, int batchStart, int batchEnd,
+            List<PollTask> planned) {
+        if (batch.isEmpty()) {
+            return;
+        } else if (batch.size() == 1) {
+            planned.add(batch.get(0));
+            return;
+        }
+        int maxTries = batch.stream().mapToInt(task -> task.getMaxTries()).max().getAsInt();
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(key.slaveId, key.functionCode,
+                batchStart, batchEnd - batchStart, maxTries);
+        Function<ModbusSlaveEndpoint, ModbusEndpointMetrics> metricsProvider = this.metricsProvider;
+        ModbusEndpointMetrics metrics = metricsProvider == null ? null : metricsProvider.apply(key.endpoint);
+        planned.add(new CoalescedPollTask(metrics, key.endpoint, request, batch));
+    }
+
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int slaveId;
+        private final ModbusReadFunctionCode functionCode;
+
+        private GroupKey(ModbusSlaveEndpoint endpoint, int slaveId, ModbusReadFunctionCode functionCode) {
+            this.endpoint = endpoint;
+            this.slaveId = slaveId;
+            this.functionCode = functionCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, slaveId, functionCode);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            GroupKey rhs = (GroupKey) obj;
+            return endpoint.equals(rhs.endpoint) && slaveId == rhs.slaveId && functionCode == rhs.functionCode;
+        }
+    }
+}
@@ -35,6 +35,19 @@ public interface ModbusRegisterArray extends Iterable<ModbusRegister> {
      */
     ModbusRegister getRegister(int index);
 
+    /**
+     * Return value of the register at the given index, interpreted as unsigned 16 bit integer
+     *
+     * Implementations should read the value directly, without constructing {@link ModbusRegister} instances.
+     *
+     * @param index the index of the register
+     * @return the register content as unsigned integer
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    default int getUnsignedShort(int index) {
+        return getRegister(index).toUnsignedShort();
+    }
+
     /**
      * Get number of registers stored in this instance
      *
@@ -61,6 +61,19 @@ public class EndpointPoolConfiguration {
      */
     private int connectTimeoutMillis;
 
+    /**
+     * How many read transactions can be outstanding at the same time on a single connection. Responses are matched to
+     * requests using the transaction ID. Only effective with TCP endpoints. Default of one disables pipelining.
+     */
+    private int maxPipelinedTransactions = 1;
+
+    /**
+     * Maximum number of unrequested registers/bits between regular polls which are still merged to a single read, see
+     * {@link org.openhab.io.transport.modbus.ModbusReadRequestPlanner}. Only regular polls with the same poll period
+     * are merged. Default of -1 disables merging.
+     */
+    private int coalescingGapTolerance = -1;
+
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
 
     static {
@@ -107,10 +120,27 @@ public class EndpointPoolConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxPipelinedTransactions() {
+        return maxPipelinedTransactions;
+    }
+
+    public void setMaxPipelinedTransactions(int maxPipelinedTransactions) {
+        this.maxPipelinedTransactions = maxPipelinedTransactions;
+    }
+
+    public int getCoalescingGapTolerance() {
+        return coalescingGapTolerance;
+    }
+
+    public void setCoalescingGapTolerance(int coalescingGapTolerance) {
+        this.coalescingGapTolerance = coalescingGapTolerance;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(2149, 3117).append(interTransactionDelayMillis).append(interConnectDelayMillis)
-                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis).toHashCode();
+                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis)
+                .append(maxPipelinedTransactions).append(coalescingGapTolerance).toHashCode();
     }
 
     @Override
@@ -119,7 +149,9 @@ public class EndpointPoolConfiguration {
                 .append("interTransactionDelayMillis", interTransactionDelayMillis)
                 .append("interConnectDelayMillis", interConnectDelayMillis).append("connectMaxTries", connectMaxTries)
                 .append("reconnectAfterMillis", reconnectAfterMillis)
-                .append("connectTimeoutMillis", connectTimeoutMillis).toString();
+                .append("connectTimeoutMillis", connectTimeoutMillis)
+                .append("maxPipelinedTransactions", maxPipelinedTransactions)
+                .append("coalescingGapTolerance", coalescingGapTolerance).toString();
     }
 
     @Override
@@ -137,6 +169,8 @@ public class EndpointPoolConfiguration {
         return new EqualsBuilder().append(interTransactionDelayMillis, rhs.interTransactionDelayMillis)
                 .append(interConnectDelayMillis, rhs.interConnectDelayMillis)
                 .append(connectMaxTries, rhs.connectMaxTries).append(reconnectAfterMillis, rhs.reconnectAfterMillis)
-                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).isEquals();
+                .append(connectTimeoutMillis, rhs.connectTimeoutMillis)
+                .append(maxPipelinedTransactions, rhs.maxPipelinedTransactions)
+                .append(coalescingGapTolerance, rhs.coalescingGapTolerance).isEquals();
     }
 }
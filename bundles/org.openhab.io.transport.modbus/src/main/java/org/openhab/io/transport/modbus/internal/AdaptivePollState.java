@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration.Priority;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+
+/**
+ * State of adaptively scheduled poll
+ *
+ * The state tracks how often the polled data changes, using exponentially weighted moving average of the changes.
+ * The data is observed by passing the responses through this callback, which then delegates to the callback of the
+ * poll task.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptivePollState implements ModbusReadCallback {
+
+    /**
+     * Weight of the latest observation in the change rate
+     */
+    private static final double CHANGE_RATE_WEIGHT = 0.25;
+
+    /**
+     * Polls changing at least this often are considered fast changing, and get the same treatment as high priority
+     * polls
+     */
+    static final double FAST_CHANGE_RATE = 0.5;
+
+    /**
+     * How many times in a row the poll can give way to higher priority operations
+     */
+    private static final int MAX_DEFERRALS = 3;
+
+    private final PollTask task;
+    private final AdaptivePollConfiguration configuration;
+    // Start by assuming that data changes all the time, i.e. poll with the minimum period until proven otherwise
+    private volatile double changeRate = 1;
+    private volatile long periodMillis;
+    private volatile boolean hasFingerprint;
+    private volatile long lastFingerprint;
+    private volatile int deferrals;
+
+    public AdaptivePollState(PollTask task, AdaptivePollConfiguration configuration) {
+        this.task = task;
+        this.configuration = configuration;
+        this.periodMillis = configuration.getMinPollPeriodMillis();
+    }
+
+    public PollTask getTask() {
+        return task;
+    }
+
+    public AdaptivePollConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Get the estimated fraction of polls that return changed data
+     *
+     * @return change rate between 0 and 1
+     */
+    public double getChangeRate() {
+        return changeRate;
+    }
+
+    /**
+     * Get the current poll period
+     *
+     * @return period in milliseconds
+     */
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    /**
+     * Get the poll period based on the change rate only, without taking the transaction budget into account
+     *
+     * @return period in milliseconds
+     */
+    public long getBasePeriodMillis() {
+        long min = configuration.getMinPollPeriodMillis();
+        long max = configuration.getMaxPollPeriodMillis();
+        return min + Math.round((max - min) * (1 - changeRate));
+    }
+
+    /**
+     * Get the priority of the poll, taking into account the change rate
+     *
+     * @return {@link Priority#HIGH} for high priority and fast changing polls, otherwise the configured priority
+     */
+    public Priority getEffectivePriority() {
+        Priority priority = configuration.getPriority();
+        return priority == Priority.HIGH || changeRate >= FAST_CHANGE_RATE ? Priority.HIGH : priority;
+    }
+
+    /**
+     * Compute the next poll period
+     *
+     * @param stretch how much the polls of the endpoint should be stretched to fit in the transaction budget. One
+     *            means that no stretching is necessary.
+     * @return the next poll period, in milliseconds
+     */
+    public long updatePeriod(double stretch) {
+        double factor;
+        switch (getEffectivePriority()) {
+            case HIGH:
+                factor = 1;
+                break;
+            case NORMAL:
+                factor = stretch;
+                break;
+            default:
+                factor = stretch * stretch;
+                break;
+        }
+        long period = Math.round(getBasePeriodMillis() * Math.max(1, factor));
+        period = Math.max(configuration.getMinPollPeriodMillis(),
+                Math.min(configuration.getMaxPollPeriodMillis(), period));
+        periodMillis = period;
+        return period;
+    }
+
+    /**
+     * Give way to higher priority operation, unless the poll has been deferred too many times in a row already
+     *
+     * @return whether the poll should be deferred
+     */
+    public boolean tryDefer() {
+        if (deferrals >= MAX_DEFERRALS) {
+            deferrals = 0;
+            return false;
+        }
+        deferrals++;
+        return true;
+    }
+
+    /**
+     * Mark the poll as executed
+     */
+    public void resetDeferrals() {
+        deferrals = 0;
+    }
+
+    private void observe(long fingerprint) {
+        boolean changed = !hasFingerprint || fingerprint != lastFingerprint;
+        hasFingerprint = true;
+        lastFingerprint = fingerprint;
+        changeRate = (1 - CHANGE_RATE_WEIGHT) * changeRate + CHANGE_RATE_WEIGHT * (changed ? 1 : 0);
+    }
+
+    @Override
+    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+        long fingerprint = registers.size();
+        for (int i = 0; i < registers.size(); i++) {
+            fingerprint = 31 * fingerprint + registers.getRegister(i).toUnsignedShort();
+        }
+        observe(fingerprint);
+        @Nullable
+        ModbusReadCallback callback = task.getCallback();
+        if (callback != null) {
+            callback.onRegisters(request, registers);
+        }
+    }
+
+    @Override
+    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+        long fingerprint = bits.size();
+        for (int i = 0; i < bits.size(); i++) {
+            fingerprint = 31 * fingerprint + (bits.getBit(i) ? 1 : 0);
+        }
+        observe(fingerprint);
+        @Nullable
+        ModbusReadCallback callback = task.getCallback();
+        if (callback != null) {
+            callback.onBits(request, bits);
+        }
+    }
+
+    @Override
+    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+        @Nullable
+        ModbusReadCallback callback = task.getCallback();
+        if (callback != null) {
+            callback.onError(request, error);
+        }
+    }
+}
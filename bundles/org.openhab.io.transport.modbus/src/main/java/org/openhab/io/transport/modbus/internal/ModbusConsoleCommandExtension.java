@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics.Phase;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ModbusConsoleCommandExtension} provides console commands for inspecting the performance metrics of the
+ * {@link ModbusManager}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String METRICS = "metrics";
+    private static final String RESET = "reset";
+
+    private final ModbusManager manager;
+
+    @Activate
+    public ModbusConsoleCommandExtension(final @Reference ModbusManager manager) {
+        super("modbus", "Inspect the modbus transport.");
+        this.manager = manager;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && METRICS.equals(args[0])) {
+            printMetrics(console);
+        } else if (args.length == 2 && METRICS.equals(args[0]) && RESET.equals(args[1])) {
+            manager.getEndpointMetrics().values().forEach(ModbusEndpointMetrics::reset);
+            console.println("Metrics reset");
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printMetrics(Console console) {
+        console.println(String.format("Poller thread pool queue size: %d (max observed %d)",
+                manager.getTaskQueueSize(), manager.getMaxTaskQueueSize()));
+        Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> allMetrics = manager.getEndpointMetrics();
+        if (allMetrics.isEmpty()) {
+            console.println("No endpoints have been communicated with");
+            return;
+        }
+        allMetrics.forEach((endpoint, metrics) -> {
+            console.println(String.format("Endpoint %s: operations %d, transactions saved %d, errors %d %s", endpoint,
+                    metrics.getOperationCount(), metrics.getTransactionsSaved(), metrics.getErrorCount(),
+                    metrics.getErrorCounts()));
+            for (Phase phase : Phase.values()) {
+                console.println(String.format("  %-17s %s", phase, metrics.getLatency(phase)));
+            }
+        });
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(METRICS, "show latency, queue and error metrics per endpoint"),
+                buildCommandUsage(METRICS + " " + RESET, "reset the endpoint metrics"));
+    }
+}
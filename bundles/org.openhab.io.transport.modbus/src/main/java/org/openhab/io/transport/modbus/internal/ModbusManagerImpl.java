@@ -13,17 +13,25 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.IIOException;
@@ -35,12 +43,19 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration.Priority;
+import org.openhab.io.transport.modbus.CoalescedPollTask;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics.Phase;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadRequestPlanner;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusUnexpectedResponseFunctionCodeException;
 import org.openhab.io.transport.modbus.ModbusUnexpectedResponseSizeException;
@@ -68,9 +83,12 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -191,7 +209,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 ModbusUnexpectedResponseFunctionCodeException, ModbusUnexpectedResponseSizeException {
             ModbusSlaveEndpoint endpoint = task.getEndpoint();
             ModbusReadRequestBlueprint request = task.getRequest();
-            ModbusReadCallback callback = task.getCallback();
+            ModbusReadCallback callback = getReadCallback(task);
             String operationId = timer.operationId;
 
             ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint, connection);
@@ -254,6 +272,152 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Poll task waiting to be executed as part of pipelined transactions
+     */
+    private static class PipelinedPoll {
+        private final PollTask task;
+        private final boolean oneOffTask;
+
+        private PipelinedPoll(PollTask task, boolean oneOffTask) {
+            this.task = task;
+            this.oneOffTask = oneOffTask;
+        }
+    }
+
+    /**
+     * Regular polls of a single endpoint sharing the same poll period. The polls are executed together, overlapping
+     * and nearby requests merged to a single read by {@link ModbusReadRequestPlanner}.
+     *
+     * Access is synchronized by the manager, except for reading the planned tasks.
+     */
+    private static class CoalescedPollGroup {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+        private final int gapTolerance;
+        private final ModbusReadRequestPlanner planner;
+        private final Set<PollTask> tasks = new LinkedHashSet<>();
+        private volatile List<PollTask> plannedTasks = Collections.emptyList();
+        private @Nullable ScheduledFuture<?> future;
+
+        private CoalescedPollGroup(ModbusSlaveEndpoint endpoint, long pollPeriodMillis, int gapTolerance,
+                ModbusReadRequestPlanner planner) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.gapTolerance = gapTolerance;
+            this.planner = planner;
+        }
+
+        private boolean accepts(PollTask task, long pollPeriodMillis, int gapTolerance) {
+            return endpoint.equals(task.getEndpoint()) && this.pollPeriodMillis == pollPeriodMillis
+                    && this.gapTolerance == gapTolerance;
+        }
+
+        private void replan() {
+            plannedTasks = planner.plan(tasks);
+        }
+    }
+
+    /**
+     * Implementation for executing several PollTasks with single TCP connection, without waiting for the response
+     * before sending the next request.
+     *
+     * Responses are matched to the requests using the transaction ID. Polls that do not receive a valid response are
+     * returned to the caller, to be executed again without pipelining.
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private class PipelinedPollOperation {
+        public List<PipelinedPoll> accept(AggregateStopWatch timer, List<PipelinedPoll> polls,
+                ModbusSlaveConnection connection) throws PipelineBrokenException {
+            String operationId = timer.operationId;
+            ModbusTransport transport = ((TCPMasterConnection) connection).getModbusTransport();
+            Map<Integer, PipelinedPoll> pending = new LinkedHashMap<>();
+            Map<Integer, ModbusRequest> libRequests = new LinkedHashMap<>();
+            List<PipelinedPoll> failed = new ArrayList<>();
+            try {
+                timer.transaction.timeRunnableWithModbusException(() -> {
+                    for (PipelinedPoll poll : polls) {
+                        ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(poll.task.getRequest());
+                        int transactionId = nextPipelinedTransactionId();
+                        libRequest.setTransactionID(transactionId);
+                        logger.trace(
+                                "Writing pipelined request (FC={}, transaction ID={}): {} [operation ID {}]",
+                                libRequest.getFunctionCode(), transactionId, libRequest.getHexMessage(), operationId);
+                        transport.writeMessage(libRequest);
+                        pending.put(transactionId, poll);
+                        libRequests.put(transactionId, libRequest);
+                    }
+                });
+                while (!pending.isEmpty()) {
+                    AtomicReference<@Nullable ModbusResponse> responseRef = new AtomicReference<>();
+                    timer.transaction.timeRunnableWithModbusException(() -> responseRef.set(transport.readResponse()));
+                    ModbusResponse response = responseRef.get();
+                    if (response == null) {
+                        throw new ModbusIOException("No response received");
+                    }
+                    int transactionId = response.getTransactionID();
+                    @Nullable
+                    PipelinedPoll poll = pending.remove(transactionId);
+                    @Nullable
+                    ModbusRequest libRequest = libRequests.get(transactionId);
+                    if (poll == null || libRequest == null) {
+                        // Response does not match any outstanding request. Stream cannot be trusted anymore.
+                        int expectedTransactionId = pending.keySet().iterator().next();
+                        throw new ModbusUnexpectedTransactionIdException(expectedTransactionId, transactionId);
+                    }
+                    logger.trace(
+                            "Response for pipelined read request (FC={}, transaction ID={}): {} [operation ID {}]",
+                            response.getFunctionCode(), transactionId, response.getHexMessage(), operationId);
+                    if (response instanceof ExceptionResponse) {
+                        // Let the regular execution handle the retries and error reporting
+                        failed.add(poll);
+                        continue;
+                    }
+                    ModbusReadRequestBlueprint request = poll.task.getRequest();
+                    try {
+                        checkTransactionId(response, libRequest, operationId);
+                        checkFunctionCode(response, libRequest, operationId);
+                        checkResponseSize(response, request, operationId);
+                    } catch (ModbusUnexpectedTransactionIdException | ModbusUnexpectedResponseFunctionCodeException
+                            | ModbusUnexpectedResponseSizeException e) {
+                        logger.debug("Pipelined response did not match the request ({}): {} {} [operation ID {}]",
+                                request, e.getClass().getName(), e.getMessage(), operationId);
+                        failed.add(poll);
+                        continue;
+                    }
+                    ModbusReadCallback callback = getReadCallback(poll.task);
+                    if (callback != null) {
+                        timer.callback.timeRunnable(
+                                () -> ModbusLibraryWrapper.invokeCallbackWithResponse(request, callback, response));
+                    }
+                }
+            } catch (ModbusException | ModbusUnexpectedTransactionIdException e) {
+                // Responses of the polls still pending are lost. Caller invalidates the connection.
+                logger.debug("Pipelined transactions failed: {} {}. {} polls without response [operation ID {}]",
+                        e.getClass().getName(), e.getMessage(), pending.size(), operationId);
+                failed.addAll(pending.values());
+                throw new PipelineBrokenException(failed, e);
+            }
+            return failed;
+        }
+    }
+
+    /**
+     * Raised when the pipelined transactions fail in way that leaves the connection in unknown state
+     */
+    private static class PipelineBrokenException extends Exception {
+        private static final long serialVersionUID = -3409263573424826374L;
+
+        private final List<PipelinedPoll> failed;
+
+        private PipelineBrokenException(List<PipelinedPoll> failed, Exception cause) {
+            super(cause);
+            this.failed = failed;
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ModbusManagerImpl.class);
     private final Logger pollMonitorLogger = LoggerFactory
             .getLogger(ModbusManagerImpl.class.getName() + ".PollMonitor");
@@ -294,8 +458,43 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Fraction of the endpoint transaction capacity adaptive polls are allowed to use. The rest is left for writes,
+     * one-off polls and regular polls with fixed period.
+     */
+    private static final double ADAPTIVE_POLL_BUDGET_UTILIZATION = 0.8;
+
+    /**
+     * Minimum time to wait when adaptive poll gives way to higher priority operations
+     */
+    private static final long MIN_ADAPTIVE_POLL_DEFER_MILLIS = 10;
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
+    private final PipelinedPollOperation pipelinedPollOperation = new PipelinedPollOperation();
+
+    /**
+     * Polls waiting for execution with endpoints having pipelining enabled
+     */
+    private final Map<ModbusSlaveEndpoint, Queue<PipelinedPoll>> pipelineQueues = new ConcurrentHashMap<>();
+    private final AtomicInteger pipelinedTransactionId = new AtomicInteger();
+
+    private final Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * Regular polls registered with adaptive poll period
+     */
+    private final Map<PollTask, AdaptivePollState> adaptivePolls = new ConcurrentHashMap<>();
+    /**
+     * Regular polls executed together with other polls of the endpoint, see
+     * {@link EndpointPoolConfiguration#getCoalescingGapTolerance()}
+     */
+    private final Map<PollTask, CoalescedPollGroup> coalescedPolls = new ConcurrentHashMap<>();
+    /**
+     * Number of writes and high priority polls currently executing, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, AtomicInteger> priorityOperations = new ConcurrentHashMap<>();
+    private volatile int maxTaskQueueSize = -1;
 
     private volatile long lastQueueMonitorLog = -1;
 
@@ -464,6 +663,8 @@ public class ModbusManagerImpl implements ModbusManager {
 
         ModbusRequestBlueprint request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        getMetrics(endpoint).recordLatency(Phase.CONNECTION_BORROW,
+                System.currentTimeMillis() - connectionBorrowStart);
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
                 System.currentTimeMillis() - connectionBorrowStart, operationId);
         if (scheduledThreadPoolExecutor == null) {
@@ -474,9 +675,10 @@ public class ModbusManagerImpl implements ModbusManager {
         if (!connection.isPresent()) {
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
+            ModbusConnectionException error = new ModbusConnectionException(endpoint);
+            getMetrics(endpoint).recordError(error);
             if (callback != null) {
-                timer.callback.timeRunnable(
-                        () -> invokeCallbackWithError(request, callback, new ModbusConnectionException(endpoint)));
+                timer.callback.timeRunnable(() -> invokeCallbackWithError(request, callback, error));
             }
         }
         return connection;
@@ -513,13 +715,21 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        if (!isRegistered(task)) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
         }
     }
 
+    private boolean isRegistered(PollTask task) {
+        if (task instanceof CoalescedPollTask) {
+            // Merged read is executed as long as any of the original polls is registered
+            return ((CoalescedPollTask) task).getCoalescedTasks().stream().anyMatch(scheduledPollTasks::containsKey);
+        }
+        return scheduledPollTasks.containsKey(task);
+    }
+
     /**
      * Execute operation using a retry mechanism.
      *
@@ -702,6 +912,10 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } finally {
                     lastTryMillis = System.currentTimeMillis();
+                    Exception error = lastError.get();
+                    if (error != null) {
+                        getMetrics(endpoint).recordError(error);
+                    }
                     // Connection was reseted in error handling and needs to be reconnected.
                     // Try to re-establish connection.
                     if (willRetry && !connection.isPresent()) {
@@ -732,10 +946,256 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            recordTimings(endpoint, timer);
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    private ModbusEndpointMetrics getMetrics(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, e -> new ModbusEndpointMetrics());
+    }
+
+    private void recordTimings(ModbusSlaveEndpoint endpoint, AggregateStopWatch timer) {
+        ModbusEndpointMetrics metrics = getMetrics(endpoint);
+        metrics.recordLatency(Phase.CONNECTION, timer.connection.getTotalTimeMillis());
+        metrics.recordLatency(Phase.TRANSACTION, timer.transaction.getTotalTimeMillis());
+        metrics.recordLatency(Phase.CALLBACK, timer.callback.getTotalTimeMillis());
+        metrics.recordLatency(Phase.TOTAL, timer.total.getTotalTimeMillis());
+    }
+
+    private @Nullable ModbusReadCallback getReadCallback(PollTask task) {
+        // Adaptive polls observe the data before passing it forward to the actual callback
+        AdaptivePollState adaptivePoll = adaptivePolls.get(task);
+        return adaptivePoll == null ? task.getCallback() : adaptivePoll;
+    }
+
+    private AtomicInteger getPriorityOperations(ModbusSlaveEndpoint endpoint) {
+        return priorityOperations.computeIfAbsent(endpoint, e -> new AtomicInteger());
+    }
+
+    private int getCoalescingGapTolerance(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null) {
+            return -1;
+        }
+        return Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
+                .map(cfg -> cfg.getCoalescingGapTolerance()).orElse(-1);
+    }
+
+    private long getInterTransactionDelayMillis(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null) {
+            return 0;
+        }
+        return Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
+                .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L);
+    }
+
+    /**
+     * Compute how much the adaptive polls of the endpoint should be stretched to fit in the transaction budget
+     *
+     * The transaction budget of the endpoint is estimated using the observed transaction durations and the inter
+     * transaction delay.
+     *
+     * @param endpoint endpoint of the polls
+     * @return ratio of polls demanded to polls allowed by the budget, or one if all polls fit in the budget
+     */
+    private double getAdaptivePollStretch(ModbusSlaveEndpoint endpoint) {
+        ModbusLatencyHistogram transactions = getMetrics(endpoint).getLatency(Phase.TRANSACTION);
+        if (transactions.getCount() == 0) {
+            return 1;
+        }
+        double transactionMillis = Math.max(1, transactions.getMeanMillis() + getInterTransactionDelayMillis(endpoint));
+        double budgetPerSecond = ADAPTIVE_POLL_BUDGET_UTILIZATION * 1000 / transactionMillis;
+        double demandPerSecond = 0;
+        for (AdaptivePollState state : adaptivePolls.values()) {
+            if (state.getTask().getEndpoint().equals(endpoint)) {
+                demandPerSecond += 1000.0 / state.getBasePeriodMillis();
+            }
+        }
+        return Math.max(1, demandPerSecond / budgetPerSecond);
+    }
+
+    /**
+     * Schedule next execution of adaptive poll
+     *
+     * Nothing is scheduled if the poll has been unregistered in the meanwhile.
+     *
+     * @param state state of the adaptive poll
+     * @param delayMillis delay before the execution
+     */
+    private void scheduleAdaptivePoll(AdaptivePollState state, long delayMillis) {
+        synchronized (this) {
+            ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+            PollTask task = state.getTask();
+            if (executor == null || adaptivePolls.get(task) != state) {
+                return;
+            }
+            ScheduledFuture<?> future = executor.schedule(() -> executeAdaptivePoll(state), delayMillis,
+                    TimeUnit.MILLISECONDS);
+            scheduledPollTasks.put(task, future);
+        }
+    }
+
+    /**
+     * Execute adaptive poll and schedule the next execution
+     *
+     * Polls that are not high priority or fast changing give way to writes and high priority polls executing with the
+     * same endpoint, unless they have been deferred too many times in a row already.
+     *
+     * @param state state of the adaptive poll
+     */
+    private void executeAdaptivePoll(AdaptivePollState state) {
+        PollTask task = state.getTask();
+        ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        AtomicInteger priorityOperations = getPriorityOperations(endpoint);
+        boolean highPriority = state.getEffectivePriority() == Priority.HIGH;
+        if (!highPriority && priorityOperations.get() > 0 && state.tryDefer()) {
+            logger.trace("Deferring adaptive poll task {} to give way to higher priority operations", task);
+            scheduleAdaptivePoll(state,
+                    Math.max(MIN_ADAPTIVE_POLL_DEFER_MILLIS, getInterTransactionDelayMillis(endpoint)));
+            return;
+        }
+        state.resetDeferrals();
+        long started = System.currentTimeMillis();
+        logger.debug("Executing adaptive ({}ms) poll task {}. Current millis: {}", state.getPeriodMillis(), task,
+                started);
+        if (highPriority) {
+            priorityOperations.incrementAndGet();
+        }
+        try {
+            executePollOperation(task, false);
+        } catch (Exception e) {
+            // We want to catch all unexpected exceptions so that the polling continues
+            logger.warn(
+                    "Execution of adaptive poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                    task, e);
+        } finally {
+            if (highPriority) {
+                priorityOperations.decrementAndGet();
+            }
+        }
+        long period = state.updatePeriod(getAdaptivePollStretch(endpoint));
+        logger.debug(
+                "Execution of adaptive poll task {} finished in {} millis. Change rate {}, next poll in {} millis",
+                task, System.currentTimeMillis() - started, state.getChangeRate(), period);
+        scheduleAdaptivePoll(state, period);
+    }
+
+    private int nextPipelinedTransactionId() {
+        // Transaction ID is 16 bit unsigned integer
+        return pipelinedTransactionId.updateAndGet(id -> (id + 1) & 0xffff);
+    }
+
+    private int getMaxPipelinedTransactions(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null || !(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            return 1;
+        }
+        return Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
+                .map(cfg -> cfg.getMaxPipelinedTransactions()).orElse(1);
+    }
+
+    /**
+     * Execute poll task, using pipelined transactions if the endpoint is configured so
+     *
+     * @param task task to execute
+     * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
+     */
+    private void executePollOperation(PollTask task, boolean oneOffTask) {
+        int maxPipelinedTransactions = getMaxPipelinedTransactions(task.getEndpoint());
+        if (maxPipelinedTransactions <= 1) {
+            executeOperation(task, oneOffTask, pollOperation);
+        } else {
+            executePipelinedPollOperation(task, oneOffTask, maxPipelinedTransactions);
+        }
+    }
+
+    /**
+     * Execute poll task together with other polls queuing for the same endpoint
+     *
+     * The poll is put into queue of the endpoint. Once a connection is received, up to
+     * <code>maxPipelinedTransactions</code> polls are taken from the queue and their requests are sent without waiting
+     * for the responses in between. In case the poll was already executed by some other thread, the connection is
+     * returned right away.
+     *
+     * Polls that did not receive a valid response are executed again using the regular, non-pipelined execution, which
+     * takes care of the retries and error callbacks.
+     *
+     * @param task task to execute
+     * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
+     * @param maxPipelinedTransactions maximum number of outstanding transactions
+     */
+    private void executePipelinedPollOperation(PollTask task, boolean oneOffTask, int maxPipelinedTransactions) {
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+        ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        Queue<PipelinedPoll> queue = pipelineQueues.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>());
+        PipelinedPoll ownPoll = new PipelinedPoll(task, oneOffTask);
+        queue.add(ownPoll);
+
+        logTaskQueueInfo();
+        List<PipelinedPoll> failed = new ArrayList<>();
+        Optional<ModbusSlaveConnection> connection = Optional.empty();
+        boolean executed = false;
+        try {
+            connection = getConnection(timer, oneOffTask, task);
+            if (!connection.isPresent()) {
+                // Error logged already, error callback called as well
+                queue.remove(ownPoll);
+                return;
+            }
+            List<PipelinedPoll> batch = new ArrayList<>(maxPipelinedTransactions);
+            while (batch.size() < maxPipelinedTransactions) {
+                @Nullable
+                PipelinedPoll poll = queue.poll();
+                if (poll == null) {
+                    break;
+                }
+                if (!poll.oneOffTask && !isRegistered(poll.task)) {
+                    logger.debug("Poll task {} is unregistered, skipping [operation ID {}]", poll.task, operationId);
+                    continue;
+                }
+                batch.add(poll);
+            }
+            if (batch.isEmpty()) {
+                logger.trace("Poll task {} executed already by other pipelined operation [operation ID {}]", task,
+                        operationId);
+                return;
+            }
+            logger.debug("Executing {} pipelined poll tasks with endpoint {} [operation ID {}]", batch.size(),
+                    endpoint, operationId);
+            executed = true;
+            failed = pipelinedPollOperation.accept(timer, batch, connection.get());
+        } catch (PollTaskUnregistered e) {
+            logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
+                    e.getMessage(), operationId);
+            queue.remove(ownPoll);
+        } catch (PipelineBrokenException e) {
+            failed = e.failed;
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                getMetrics(endpoint).recordError((Exception) cause);
+            }
+            // Invalidate connection, new connection is acquired for the remaining polls
+            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            connection = Optional.empty();
+        } finally {
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            if (executed) {
+                recordTimings(endpoint, timer);
+            }
+            logger.debug("Pipelined modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
+        }
+        for (PipelinedPoll poll : failed) {
+            logger.debug("Executing poll task {} without pipelining since pipelined execution failed [operation ID {}]",
+                    poll.task, operationId);
+            executeOperation(poll.task, poll.oneOffTask, pollOperation);
+        }
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
@@ -746,7 +1206,7 @@ public class ModbusManagerImpl implements ModbusManager {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
             logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
                     millisInThreadPoolWaiting);
-            executeOperation(task, true, pollOperation);
+            executePollOperation(task, true);
         }, 0L, TimeUnit.MILLISECONDS);
         return future;
     }
@@ -762,12 +1222,17 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
+            int gapTolerance = getCoalescingGapTolerance(task.getEndpoint());
+            if (gapTolerance >= 0) {
+                registerCoalescedPoll(executor, task, pollPeriodMillis, initialDelayMillis, gapTolerance);
+                return;
+            }
             ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
                 long started = System.currentTimeMillis();
                 logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                         started);
                 try {
-                    executeOperation(task, false, pollOperation);
+                    executePollOperation(task, false);
                 } catch (Exception e) {
                     // We want to catch all unexpected exceptions since all unhandled exceptions make
                     // ScheduledExecutorService halt the polling. It is better to print out the exception, and try again
@@ -788,6 +1253,95 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Register regular poll to be executed together with the other regular polls of the endpoint having the same poll
+     * period
+     *
+     * A poll joining an existing group is executed with the schedule of the group, the initial delay is not
+     * respected then.
+     *
+     * @param executor executor for the polls
+     * @param task poll task to register
+     * @param pollPeriodMillis poll period
+     * @param initialDelayMillis initial delay, used if the poll starts a new group
+     * @param gapTolerance gap tolerance of the endpoint, see {@link ModbusReadRequestPlanner}
+     */
+    private void registerCoalescedPoll(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis, int gapTolerance) {
+        CoalescedPollGroup group = coalescedPolls.values().stream()
+                .filter(candidate -> candidate.accepts(task, pollPeriodMillis, gapTolerance)).findAny()
+                .orElseGet(() -> new CoalescedPollGroup(task.getEndpoint(), pollPeriodMillis, gapTolerance,
+                        new ModbusReadRequestPlanner(gapTolerance, this::getMetrics)));
+        group.tasks.add(task);
+        group.replan();
+        coalescedPolls.put(task, group);
+
+        // Polls of the group share the schedule
+        ScheduledFuture<?> future = group.future;
+        if (future == null) {
+            group.future = future = executor.scheduleWithFixedDelay(() -> executeCoalescedPolls(group),
+                    initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+        }
+        scheduledPollTasks.put(task, future);
+        logger.trace("Registered poll task {} with period {} to be read together with {} other poll tasks", task,
+                pollPeriodMillis, group.tasks.size() - 1);
+    }
+
+    /**
+     * Execute the regular polls of a group, with one transaction per planned read
+     *
+     * @param group group of polls
+     */
+    private void executeCoalescedPolls(CoalescedPollGroup group) {
+        for (PollTask task : group.plannedTasks) {
+            logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", group.pollPeriodMillis, task,
+                    System.currentTimeMillis());
+            try {
+                executePollOperation(task, false);
+            } catch (Exception e) {
+                // Catch all unexpected exceptions since those would halt the polling, see registerRegularPoll
+                logger.warn(
+                        "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                        group.pollPeriodMillis, task, e);
+            }
+        }
+    }
+
+    /**
+     * Remove poll from its group of coalesced polls, if any
+     *
+     * @param task poll task to remove
+     * @return true if other polls of the group are still executed with the schedule shared with the poll
+     */
+    private boolean removeCoalescedPoll(PollTask task) {
+        CoalescedPollGroup group = coalescedPolls.remove(task);
+        if (group == null) {
+            return false;
+        }
+        group.tasks.remove(task);
+        group.replan();
+        return !group.tasks.isEmpty();
+    }
+
+    @Override
+    public void registerAdaptivePoll(PollTask task, AdaptivePollConfiguration configuration,
+            long initialDelayMillis) {
+        synchronized (this) {
+            Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
+            logger.trace("Registering adaptive poll task {} with configuration {} using initial delay {}", task,
+                    configuration, initialDelayMillis);
+            if (scheduledPollTasks.containsKey(task)) {
+                logger.trace("Unregistering previous poll task (possibly with different period)");
+                unregisterRegularPoll(task);
+            }
+            AdaptivePollState state = new AdaptivePollState(task, configuration);
+            adaptivePolls.put(task, state);
+            scheduleAdaptivePoll(state, initialDelayMillis);
+            logger.trace("Registered adaptive poll task {} with configuration {} using initial delay {}", task,
+                    configuration, initialDelayMillis);
+        }
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -798,6 +1352,7 @@ public class ModbusManagerImpl implements ModbusManager {
             Objects.requireNonNull(factory, "Not activated!");
 
             // cancel poller
+            adaptivePolls.remove(task);
             @Nullable
             ScheduledFuture<?> future = scheduledPollTasks.remove(task);
             if (future == null) {
@@ -811,7 +1366,11 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            if (removeCoalescedPoll(task)) {
+                logger.debug("Poll task {} removed from polls read together, the other polls continue", task);
+            } else {
+                future.cancel(true);
+            }
 
             logger.info("Poll task {} canceled", task);
 
@@ -840,7 +1399,14 @@ public class ModbusManagerImpl implements ModbusManager {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
             logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
                     millisInThreadPoolWaiting);
-            executeOperation(task, true, writeOperation);
+            // Writes get the connection before adaptive polls of normal and low priority
+            AtomicInteger priorityOperations = getPriorityOperations(task.getEndpoint());
+            priorityOperations.incrementAndGet();
+            try {
+                executeOperation(task, true, writeOperation);
+            } finally {
+                priorityOperations.decrementAndGet();
+            }
         }, 0L, TimeUnit.MILLISECONDS);
         return future;
     }
@@ -876,6 +1442,25 @@ public class ModbusManagerImpl implements ModbusManager {
         return this.scheduledPollTasks.keySet();
     }
 
+    @Override
+    public Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> getEndpointMetrics() {
+        return Collections.unmodifiableMap(endpointMetrics);
+    }
+
+    @Override
+    public int getTaskQueueSize() {
+        ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
+        if (scheduledThreadPoolExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) scheduledThreadPoolExecutor).getQueue().size();
+        }
+        return -1;
+    }
+
+    @Override
+    public int getMaxTaskQueueSize() {
+        return maxTaskQueueSize;
+    }
+
     @Activate
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
@@ -919,6 +1504,9 @@ public class ModbusManagerImpl implements ModbusManager {
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
             connectionFactory = null;
+            pipelineQueues.clear();
+            adaptivePolls.clear();
+            coalescedPolls.clear();
             logger.debug("Modbus manager deactivated");
         }
     }
@@ -929,6 +1517,10 @@ public class ModbusManagerImpl implements ModbusManager {
             if (scheduledThreadPoolExecutor == null) {
                 return;
             }
+            int queueSize = getTaskQueueSize();
+            if (queueSize > maxTaskQueueSize) {
+                maxTaskQueueSize = queueSize;
+            }
             // Avoid excessive spamming with queue monitor when many tasks are executed
             if (System.currentTimeMillis() - lastQueueMonitorLog < MONITOR_QUEUE_INTERVAL_MILLIS) {
                 return;
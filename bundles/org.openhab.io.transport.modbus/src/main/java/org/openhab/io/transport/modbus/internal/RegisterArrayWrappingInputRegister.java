@@ -72,6 +72,11 @@ public class RegisterArrayWrappingInputRegister implements ModbusRegisterArray {
         return cache.computeIfAbsent(index, i -> new RegisterReference(i));
     }
 
+    @Override
+    public int getUnsignedShort(int index) {
+        return wrapped[index].toUnsignedShort();
+    }
+
     @Override
     public int size() {
         return wrapped.length;
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration;
+import org.openhab.io.transport.modbus.AdaptivePollConfiguration.Priority;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.AdaptivePollState;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class AdaptivePollStateTest {
+
+    @NonNullByDefault
+    private static class CountingCallback implements ModbusReadCallback {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            count.incrementAndGet();
+        }
+    }
+
+    private final CountingCallback callback = new CountingCallback();
+    private final PollTask task = new BasicPollTaskImpl(new ModbusTCPSlaveEndpoint("localhost", 502),
+            new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1), callback);
+
+    private AdaptivePollState state(Priority priority) {
+        return state(priority, 1000);
+    }
+
+    private AdaptivePollState state(Priority priority, long maxPollPeriodMillis) {
+        return new AdaptivePollState(task, new AdaptivePollConfiguration(100, maxPollPeriodMillis, priority));
+    }
+
+    @Test
+    public void testStartsWithMinimumPeriod() {
+        AdaptivePollState state = state(Priority.NORMAL);
+        assertThat(state.getPeriodMillis(), is(equalTo(100L)));
+        assertThat(state.updatePeriod(1), is(equalTo(100L)));
+    }
+
+    @Test
+    public void testUnchangedDataStretchesPeriodTowardsMaximum() {
+        AdaptivePollState state = state(Priority.NORMAL);
+        for (int i = 0; i < 50; i++) {
+            state.onRegisters(task.getRequest(), new BasicModbusRegisterArray(1, 2));
+        }
+        assertThat(callback.count.get(), is(equalTo(50)));
+        assertThat(state.getEffectivePriority(), is(equalTo(Priority.NORMAL)));
+        long period = state.updatePeriod(1);
+        assertThat(period > 900 && period <= 1000, is(true));
+    }
+
+    @Test
+    public void testChangingDataKeepsPeriodShortAndPriorityHigh() {
+        AdaptivePollState state = state(Priority.LOW);
+        for (int i = 0; i < 50; i++) {
+            state.onRegisters(task.getRequest(), new BasicModbusRegisterArray(1, i));
+        }
+        assertThat(state.getEffectivePriority(), is(equalTo(Priority.HIGH)));
+        // fast changing polls are not stretched due to budget
+        assertThat(state.updatePeriod(5), is(equalTo(100L)));
+    }
+
+    @Test
+    public void testBudgetStretchesLowerPrioritiesMore() {
+        AdaptivePollState high = state(Priority.HIGH, 10000);
+        AdaptivePollState normal = state(Priority.NORMAL, 10000);
+        AdaptivePollState low = state(Priority.LOW, 10000);
+        for (AdaptivePollState state : new AdaptivePollState[] { high, normal, low }) {
+            for (int i = 0; i < 5; i++) {
+                state.onRegisters(task.getRequest(), new BasicModbusRegisterArray(1, 2));
+            }
+        }
+        long base = normal.getBasePeriodMillis();
+        assertThat(high.updatePeriod(1.2), is(equalTo(base)));
+        assertThat(normal.updatePeriod(1.2), is(equalTo(Math.round(base * 1.2))));
+        assertThat(low.updatePeriod(1.2), is(equalTo(Math.round(base * 1.2 * 1.2))));
+        assertThat(low.updatePeriod(2), is(equalTo(10000L)));
+    }
+
+    @Test
+    public void testDeferralsAreBounded() {
+        AdaptivePollState state = state(Priority.NORMAL);
+        assertThat(state.tryDefer(), is(true));
+        assertThat(state.tryDefer(), is(true));
+        assertThat(state.tryDefer(), is(true));
+        assertThat(state.tryDefer(), is(false));
+        assertThat(state.tryDefer(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConfiguration() {
+        new AdaptivePollConfiguration(1000, 100, Priority.NORMAL);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.internal.RegisterArrayWrappingInputRegister;
+
+import net.wimpi.modbus.procimg.InputRegister;
+import net.wimpi.modbus.procimg.SimpleInputRegister;
+
+/**
+ * Tests that {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)} decodes
+ * numbers using {@link ModbusRegisterArray#getUnsignedShort(int)} only, without constructing {@link ModbusRegister}
+ * instances.
+ *
+ * @author agent - Initial contribution
+ */
+public class BitUtilitiesExtractPrimitiveFromRegistersTest {
+
+    /**
+     * Register array failing if registers are accessed as objects
+     */
+    @NonNullByDefault
+    private static class UnsignedShortRegisterArray implements ModbusRegisterArray {
+        private final int[] values;
+
+        private UnsignedShortRegisterArray(int... values) {
+            this.values = values;
+        }
+
+        @Override
+        public ModbusRegister getRegister(int index) {
+            throw new UnsupportedOperationException("Register accessed as object");
+        }
+
+        @Override
+        public int getUnsignedShort(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    private static final ModbusRegisterArray REGISTERS = new UnsignedShortRegisterArray(0xfedc, 0xba98, 0x7654,
+            0x3210);
+
+    private static BigDecimal extract(ModbusRegisterArray registers, int index, ValueType type) {
+        Optional<DecimalType> state = ModbusBitUtilities.extractStateFromRegisters(registers, index, type);
+        assertThat(state.isPresent(), is(true));
+        return state.get().toBigDecimal();
+    }
+
+    private static void assertExtracted(String expected, int index, ValueType type) {
+        assertThat(String.format("index=%d, type=%s", index, type), extract(REGISTERS, index, type),
+                is(equalTo(new BigDecimal(expected))));
+    }
+
+    @Test
+    public void testBitsAndBytes() {
+        assertExtracted("0", 0, ValueType.BIT);
+        assertExtracted("1", 2, ValueType.BIT);
+        assertExtracted("0", 16, ValueType.BIT);
+        assertExtracted("1", 19, ValueType.BIT);
+        assertExtracted("-36", 0, ValueType.INT8);
+        assertExtracted("-2", 1, ValueType.INT8);
+        assertExtracted("220", 0, ValueType.UINT8);
+        assertExtracted("254", 1, ValueType.UINT8);
+    }
+
+    @Test
+    public void testIntegers() {
+        assertExtracted("-292", 0, ValueType.INT16);
+        assertExtracted("65244", 0, ValueType.UINT16);
+        assertExtracted("12816", 3, ValueType.INT16);
+        assertExtracted("-19088744", 0, ValueType.INT32);
+        assertExtracted("4275878552", 0, ValueType.UINT32);
+        assertExtracted("-1164378404", 0, ValueType.INT32_SWAP);
+        assertExtracted("3130588892", 0, ValueType.UINT32_SWAP);
+        assertExtracted("-81985529216486896", 0, ValueType.INT64);
+        assertExtracted("18364758544493064720", 0, ValueType.UINT64);
+        assertExtracted("3607513407803686620", 0, ValueType.INT64_SWAP);
+        assertExtracted("3607513407803686620", 0, ValueType.UINT64_SWAP);
+    }
+
+    @Test
+    public void testFloats() {
+        ModbusRegisterArray registers = new UnsignedShortRegisterArray(0x4049, 0x0fdb, 0x4049);
+        assertThat(extract(registers, 0, ValueType.FLOAT32).floatValue(), is(equalTo((float) Math.PI)));
+        assertThat(extract(registers, 1, ValueType.FLOAT32_SWAP).floatValue(), is(equalTo((float) Math.PI)));
+
+        // NaN and infinity
+        ModbusRegisterArray special = new UnsignedShortRegisterArray(0x7fc0, 0x0000, 0x7f80, 0x0000);
+        assertThat(ModbusBitUtilities.extractStateFromRegisters(special, 0, ValueType.FLOAT32).isPresent(),
+                is(false));
+        assertThat(ModbusBitUtilities.extractStateFromRegisters(special, 2, ValueType.FLOAT32).isPresent(),
+                is(false));
+    }
+
+    @Test
+    public void testWrappedInputRegistersReadDirectly() {
+        RegisterArrayWrappingInputRegister registers = new RegisterArrayWrappingInputRegister(
+                new InputRegister[] { new SimpleInputRegister(0xfedc), new SimpleInputRegister(0xba98) });
+        assertThat(registers.getUnsignedShort(0), is(equalTo(0xfedc)));
+        assertThat(registers.getUnsignedShort(1), is(equalTo(0xba98)));
+        assertThat(extract(registers, 0, ValueType.INT32), is(equalTo(new BigDecimal("-19088744"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfBounds() {
+        ModbusBitUtilities.extractStateFromRegisters(REGISTERS, 3, ValueType.INT32);
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests for regular polls read together, see {@link EndpointPoolConfiguration#setCoalescingGapTolerance(int)}
+ *
+ * @author agent - Initial contribution
+ */
+public class CoalescedRegularPollsTest extends IntegrationTestSupport {
+
+    private static final int POLL_LENGTH = 5;
+    private static final long POLL_PERIOD_MILLIS = 200;
+    /**
+     * Initial delay, so that all the polls are registered before the first read
+     */
+    private static final long INITIAL_DELAY_MILLIS = 100;
+
+    /**
+     * Callback verifying that the data is for the polled registers
+     */
+    private static class VerifyingCallback implements ModbusReadCallback {
+        private final AtomicInteger unexpectedCount = new AtomicInteger();
+        private final AtomicInteger dataCount = new AtomicInteger();
+        private volatile CountDownLatch callbackCalled;
+
+        private VerifyingCallback(int expectedCallbacks) {
+            callbackCalled = new CountDownLatch(expectedCallbacks);
+        }
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            if (registers.size() != request.getDataLength()) {
+                unexpectedCount.incrementAndGet();
+            }
+            for (int i = 0; i < registers.size(); i++) {
+                if (registers.getRegister(i).toUnsignedShort() != request.getReference() + i) {
+                    unexpectedCount.incrementAndGet();
+                }
+            }
+            dataCount.incrementAndGet();
+            callbackCalled.countDown();
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            unexpectedCount.incrementAndGet();
+            callbackCalled.countDown();
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            unexpectedCount.incrementAndGet();
+            callbackCalled.countDown();
+        }
+    }
+
+    private void generateData() {
+        for (int i = 0; i < 100; i++) {
+            spi.addRegister(new SimpleRegister(i));
+        }
+    }
+
+    private void configureCoalescing(ModbusSlaveEndpoint endpoint, int gapTolerance) {
+        EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+        configuration.setCoalescingGapTolerance(gapTolerance);
+        modbusManager.setEndpointPoolConfiguration(endpoint, configuration);
+    }
+
+    private PollTask createPollTask(ModbusSlaveEndpoint endpoint, int start, ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, POLL_LENGTH, 1), callback);
+    }
+
+    /**
+     * Get the start and length of the requests received by the server, in order
+     */
+    private List<String> getReceivedRequests(int fromIndex) {
+        List<ReadMultipleRegistersRequest> requests = new ArrayList<>(modbustRequestCaptor.getAllReturnValues())
+                .stream().map(request -> (ReadMultipleRegistersRequest) request).collect(Collectors.toList());
+        return requests.subList(fromIndex, requests.size()).stream()
+                .map(request -> request.getReference() + "+" + request.getWordCount()).collect(Collectors.toList());
+    }
+
+    private ModbusEndpointMetrics getMetrics(ModbusSlaveEndpoint endpoint) {
+        ModbusEndpointMetrics metrics = modbusManager.getEndpointMetrics().get(endpoint);
+        assertNotNull(metrics);
+        return metrics;
+    }
+
+    @Test
+    public void testAdjacentRegularPollsAreReadTogether() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        configureCoalescing(endpoint, 0);
+        VerifyingCallback callback1 = new VerifyingCallback(2);
+        VerifyingCallback callback2 = new VerifyingCallback(2);
+        VerifyingCallback callback3 = new VerifyingCallback(2);
+        PollTask task1 = createPollTask(endpoint, 0, callback1);
+        PollTask task2 = createPollTask(endpoint, 5, callback2);
+        PollTask task3 = createPollTask(endpoint, 50, callback3);
+
+        modbusManager.registerRegularPoll(task1, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        modbusManager.registerRegularPoll(task2, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        modbusManager.registerRegularPoll(task3, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        try {
+            assertTrue(callback1.callbackCalled.await(5, TimeUnit.SECONDS));
+            assertTrue(callback2.callbackCalled.await(5, TimeUnit.SECONDS));
+            assertTrue(callback3.callbackCalled.await(5, TimeUnit.SECONDS));
+        } finally {
+            modbusManager.unregisterRegularPoll(task1);
+            modbusManager.unregisterRegularPoll(task2);
+            modbusManager.unregisterRegularPoll(task3);
+        }
+
+        // All polls received their own data
+        assertThat(callback1.unexpectedCount.get(), is(equalTo(0)));
+        assertThat(callback2.unexpectedCount.get(), is(equalTo(0)));
+        assertThat(callback3.unexpectedCount.get(), is(equalTo(0)));
+        assertThat(modbusManager.getRegisteredRegularPolls().isEmpty(), is(true));
+
+        // Polls of the first two tasks were read with single request, the distant one separately
+        List<String> requests = getReceivedRequests(0);
+        assertThat(requests.toString(), requests.stream().allMatch(request -> "0+10".equals(request)
+                || "50+5".equals(request)), is(true));
+        assertThat(requests.toString(), requests.contains("0+10"), is(true));
+        waitForAssert(() -> assertThat(getMetrics(endpoint).getTransactionsSaved(), is(not(equalTo(0L)))));
+    }
+
+    @Test
+    public void testUnregisteredPollIsRemovedFromMergedRead() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        configureCoalescing(endpoint, 0);
+        VerifyingCallback callback1 = new VerifyingCallback(1);
+        VerifyingCallback callback2 = new VerifyingCallback(1);
+        PollTask task1 = createPollTask(endpoint, 0, callback1);
+        PollTask task2 = createPollTask(endpoint, 5, callback2);
+
+        modbusManager.registerRegularPoll(task1, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        modbusManager.registerRegularPoll(task2, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        try {
+            assertTrue(callback1.callbackCalled.await(5, TimeUnit.SECONDS));
+            assertTrue(callback2.callbackCalled.await(5, TimeUnit.SECONDS));
+
+            // The other poll continues with the schedule shared by the polls
+            assertThat(modbusManager.unregisterRegularPoll(task1), is(true));
+            int requestsBefore = modbustRequestCaptor.getAllReturnValues().size();
+            int callback1DataCount = callback1.dataCount.get();
+            callback2.callbackCalled = new CountDownLatch(3);
+            assertTrue(callback2.callbackCalled.await(5, TimeUnit.SECONDS));
+
+            // Possibly ongoing read of both polls is not interrupted, later reads are only for the remaining poll
+            assertTrue(callback1.dataCount.get() <= callback1DataCount + 1);
+            List<String> requests = getReceivedRequests(requestsBefore);
+            assertThat(requests.toString(), requests.get(requests.size() - 1), is(equalTo("5+5")));
+        } finally {
+            modbusManager.unregisterRegularPoll(task2);
+        }
+        assertThat(callback1.unexpectedCount.get(), is(equalTo(0)));
+        assertThat(callback2.unexpectedCount.get(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testRegularPollsAreReadSeparatelyByDefault() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        VerifyingCallback callback1 = new VerifyingCallback(1);
+        VerifyingCallback callback2 = new VerifyingCallback(1);
+        PollTask task1 = createPollTask(endpoint, 0, callback1);
+        PollTask task2 = createPollTask(endpoint, 5, callback2);
+
+        modbusManager.registerRegularPoll(task1, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        modbusManager.registerRegularPoll(task2, POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS);
+        try {
+            assertTrue(callback1.callbackCalled.await(5, TimeUnit.SECONDS));
+            assertTrue(callback2.callbackCalled.await(5, TimeUnit.SECONDS));
+        } finally {
+            modbusManager.unregisterRegularPoll(task1);
+            modbusManager.unregisterRegularPoll(task2);
+        }
+
+        assertThat(callback1.unexpectedCount.get(), is(equalTo(0)));
+        assertThat(callback2.unexpectedCount.get(), is(equalTo(0)));
+        List<String> requests = getReceivedRequests(0);
+        assertThat(requests.toString(), requests.stream().allMatch(request -> "0+5".equals(request)
+                || "5+5".equals(request)), is(true));
+        assertThat(getMetrics(endpoint).getTransactionsSaved(), is(equalTo(0L)));
+    }
+}
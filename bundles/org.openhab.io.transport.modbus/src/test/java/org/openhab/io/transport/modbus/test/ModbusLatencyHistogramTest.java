@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusLatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        ModbusLatencyHistogram histogram = new ModbusLatencyHistogram();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getMinMillis(), is(equalTo(0L)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(0L)));
+        assertThat(histogram.getPercentileMillis(99), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testSmallValuesExact() {
+        ModbusLatencyHistogram histogram = new ModbusLatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount(), is(equalTo(10L)));
+        assertThat(histogram.getMinMillis(), is(equalTo(1L)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(10L)));
+        assertThat(histogram.getMeanMillis(), is(equalTo(5.5)));
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(5L)));
+        assertThat(histogram.getPercentileMillis(90), is(equalTo(9L)));
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(10L)));
+    }
+
+    @Test
+    public void testLargeValuesWithinRelativeError() {
+        ModbusLatencyHistogram histogram = new ModbusLatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(60);
+        }
+        histogram.record(5000);
+        long p50 = histogram.getPercentileMillis(50);
+        assertThat(p50 >= 60 && p50 <= 60 * 1.125, is(true));
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(5000L)));
+    }
+
+    @Test
+    public void testReset() {
+        ModbusLatencyHistogram histogram = new ModbusLatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertThat(histogram.getMinMillis(), is(equalTo(0L)));
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(Long.MAX_VALUE)));
+        histogram.reset();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+    }
+}
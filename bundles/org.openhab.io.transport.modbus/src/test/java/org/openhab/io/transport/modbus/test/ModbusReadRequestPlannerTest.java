@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.CoalescedPollTask;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadRequestPlanner;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusReadRequestPlannerTest {
+
+    @NonNullByDefault
+    private static class RecordingCallback implements ModbusReadCallback {
+        private final List<Object> received = new ArrayList<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.add(request);
+            received.add(registers.toHexString());
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.add(request);
+            received.add(bits.toBinaryString());
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.add(request);
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(int slaveId, ModbusReadFunctionCode functionCode, int start, int length,
+            ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(slaveId, functionCode, start, length, 1), callback);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRequestsAreMerged() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        RecordingCallback callback3 = new RecordingCallback();
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, callback2);
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 2, callback3);
+
+        ModbusEndpointMetrics metrics = new ModbusEndpointMetrics();
+        ModbusReadRequestPlanner planner = new ModbusReadRequestPlanner(0, e -> metrics);
+        List<PollTask> planned = planner.plan(Arrays.asList(task1, task2, task3));
+
+        assertThat(planned.size(), is(equalTo(1)));
+        PollTask merged = planned.get(0);
+        assertThat(merged, is(instanceOf(CoalescedPollTask.class)));
+        assertThat(merged.getRequest().getReference(), is(equalTo(0)));
+        assertThat(merged.getRequest().getDataLength(), is(equalTo(4)));
+
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4));
+        assertThat(callback1.received, is(equalTo(Arrays.asList(task1.getRequest(), "00 01 00 02"))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList(task2.getRequest(), "00 03 00 04"))));
+        assertThat(callback3.received, is(equalTo(Arrays.asList(task3.getRequest(), "00 02 00 03"))));
+        assertThat(metrics.getTransactionsSaved(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testGapTolerance() {
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2, new RecordingCallback());
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2, new RecordingCallback());
+
+        assertThat(new ModbusReadRequestPlanner(2).plan(Arrays.asList(task1, task2)).size(), is(equalTo(2)));
+
+        List<PollTask> planned = new ModbusReadRequestPlanner(3).plan(Arrays.asList(task1, task2));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testDifferentSlaveOrFunctionCodeNotMerged() {
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2, new RecordingCallback());
+        PollTask task2 = task(2, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2, new RecordingCallback());
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, new RecordingCallback());
+
+        List<PollTask> planned = new ModbusReadRequestPlanner(10).plan(Arrays.asList(task1, task2, task3));
+        assertThat(planned, is(equalTo(Arrays.asList(task1, task2, task3))));
+    }
+
+    @Test
+    public void testRegisterLimitRespected() {
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100, new RecordingCallback());
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 26, new RecordingCallback());
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25, new RecordingCallback());
+
+        assertThat(new ModbusReadRequestPlanner(0).plan(Arrays.asList(task1, task2)).size(), is(equalTo(2)));
+        List<PollTask> planned = new ModbusReadRequestPlanner(0).plan(Arrays.asList(task1, task3));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(125)));
+    }
+
+    @Test
+    public void testBitsAndErrorsFannedOut() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_COILS, 3, 1, callback2);
+
+        ModbusEndpointMetrics metrics = new ModbusEndpointMetrics();
+        List<PollTask> planned = new ModbusReadRequestPlanner(1, e -> metrics).plan(Arrays.asList(task1, task2));
+        assertThat(planned.size(), is(equalTo(1)));
+        PollTask merged = planned.get(0);
+        merged.getCallback().onBits(merged.getRequest(), new BasicBitArray(true, false, false, true));
+        assertThat(metrics.getTransactionsSaved(), is(equalTo(1L)));
+        assertThat(callback1.received, is(equalTo(Arrays.asList(task1.getRequest(), "10"))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList(task2.getRequest(), "1"))));
+
+        Exception error = new Exception();
+        merged.getCallback().onError(merged.getRequest(), error);
+        assertThat(callback1.received.get(3), is(sameInstance(error)));
+        assertThat(callback2.received.get(2), is(equalTo(task2.getRequest())));
+        // Failed reads do not save transactions
+        assertThat(metrics.getTransactionsSaved(), is(equalTo(1L)));
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.net.TCPSlaveConnection;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests for polls executed with pipelined transactions, see
+ * {@link EndpointPoolConfiguration#setMaxPipelinedTransactions(int)}
+ *
+ * The polls are pipelined only when they queue for the same endpoint. A first poll keeps the connection busy with a
+ * slow server response, while the polls under test are submitted.
+ *
+ * @author agent - Initial contribution
+ */
+public class PipelinedTransactionsTest extends IntegrationTestSupport {
+
+    private static final int BLOCKING_POLL_START = 60;
+    private static final int[] POLL_STARTS = new int[] { 0, 20, 40 };
+    private static final int POLL_LENGTH = 5;
+
+    /**
+     * Callback collecting the first register of the received data
+     */
+    private static class CollectingCallback implements ModbusReadCallback {
+        private final Map<Integer, Integer> firstRegisters = new ConcurrentHashMap<>();
+        private final AtomicInteger unexpectedCount = new AtomicInteger();
+        private final CountDownLatch callbackCalled;
+
+        private CollectingCallback(int expectedCallbacks) {
+            callbackCalled = new CountDownLatch(expectedCallbacks);
+        }
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            if (registers.size() != request.getDataLength()
+                    || firstRegisters.put(request.getReference(), registers.getRegister(0).toUnsignedShort()) != null) {
+                unexpectedCount.incrementAndGet();
+            }
+            callbackCalled.countDown();
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            unexpectedCount.incrementAndGet();
+            callbackCalled.countDown();
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            unexpectedCount.incrementAndGet();
+            callbackCalled.countDown();
+        }
+    }
+
+    /**
+     * Server transport not sending the response to the first request with given start address
+     */
+    private class DroppingModbusTCPTransportFactory extends SpyingModbusTCPTransportFactory {
+        private final int droppedStart;
+        private final AtomicBoolean dropped = new AtomicBoolean();
+
+        private DroppingModbusTCPTransportFactory(int droppedStart) {
+            this.droppedStart = droppedStart;
+        }
+
+        @Override
+        public ModbusTransport create(Socket socket) {
+            ModbusTransport transport = super.create(socket);
+            try {
+                doAnswer(invocation -> {
+                    // Server handles one request at a time, the response is for the request read last
+                    List<ModbusRequest> requests = modbustRequestCaptor.getAllReturnValues();
+                    ModbusRequest request = requests.get(requests.size() - 1);
+                    if (request instanceof ReadMultipleRegistersRequest
+                            && ((ReadMultipleRegistersRequest) request).getReference() == droppedStart
+                            && dropped.compareAndSet(false, true)) {
+                        return null;
+                    }
+                    return invocation.callRealMethod();
+                }).when(transport).writeMessage(any());
+            } catch (ModbusIOException e) {
+                throw new RuntimeException(e);
+            }
+            return transport;
+        }
+    }
+
+    private void generateData() {
+        for (int i = 0; i < 100; i++) {
+            spi.addRegister(new SimpleRegister(i));
+        }
+    }
+
+    private void configurePipelining(ModbusSlaveEndpoint endpoint, int maxPipelinedTransactions) {
+        EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+        configuration.setMaxPipelinedTransactions(maxPipelinedTransactions);
+        // Keep the connection open, so that connections are established only when needed
+        configuration.setReconnectAfterMillis(-1);
+        modbusManager.setEndpointPoolConfiguration(endpoint, configuration);
+    }
+
+    private BasicPollTaskImpl createPollTask(ModbusSlaveEndpoint endpoint, int start, ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, POLL_LENGTH, 1), callback);
+    }
+
+    /**
+     * Submit a poll keeping the connection busy, and the polls under test while it is still executing
+     */
+    private void submitPollsWhileConnectionBusy(ModbusSlaveEndpoint endpoint, CollectingCallback callback) {
+        // Server waits before answering each request, giving time to queue the polls under test
+        artificialServerWait = 500;
+        modbusManager.submitOneTimePoll(createPollTask(endpoint, BLOCKING_POLL_START, callback));
+        waitForRequests(1);
+        for (int start : POLL_STARTS) {
+            modbusManager.submitOneTimePoll(createPollTask(endpoint, start, callback));
+        }
+    }
+
+    private void assertAllPollsReceivedOwnData(CollectingCallback callback) {
+        assertThat(callback.unexpectedCount.get(), is(equalTo(0)));
+        assertThat(callback.firstRegisters.get(BLOCKING_POLL_START), is(equalTo(BLOCKING_POLL_START)));
+        for (int start : POLL_STARTS) {
+            assertThat(callback.firstRegisters.get(start), is(equalTo(start)));
+        }
+    }
+
+    private List<Integer> getReceivedRequestStarts() {
+        return new ArrayList<>(modbustRequestCaptor.getAllReturnValues()).stream()
+                .map(request -> ((ReadMultipleRegistersRequest) request).getReference()).collect(Collectors.toList());
+    }
+
+    private ModbusEndpointMetrics getMetrics(ModbusSlaveEndpoint endpoint) {
+        ModbusEndpointMetrics metrics = modbusManager.getEndpointMetrics().get(endpoint);
+        assertNotNull(metrics);
+        return metrics;
+    }
+
+    @Test
+    public void testResponsesMatchedToPipelinedRequests() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        configurePipelining(endpoint, 8);
+
+        CollectingCallback callback = new CollectingCallback(1 + POLL_STARTS.length);
+        submitPollsWhileConnectionBusy(endpoint, callback);
+        assertTrue(callback.callbackCalled.await(10, TimeUnit.SECONDS));
+
+        // Each poll received the data of its own request
+        assertAllPollsReceivedOwnData(callback);
+        waitForRequests(1 + POLL_STARTS.length);
+        // Requests were outstanding at the same time, each with a transaction ID of its own
+        long transactionIds = new ArrayList<>(modbustRequestCaptor.getAllReturnValues()).stream()
+                .map(ModbusRequest::getTransactionID).distinct().count();
+        assertThat(transactionIds, is(equalTo((long) (1 + POLL_STARTS.length))));
+        // The queued polls were executed in a single operation, after the first poll
+        waitForAssert(() -> assertThat(getMetrics(endpoint).getOperationCount(), is(equalTo(2L))));
+        assertThat(getMetrics(endpoint).getErrorCount(), is(equalTo(0L)));
+        waitForConnectionsReceived(1);
+    }
+
+    @Test
+    public void testPipelinedRequestTimeoutIsRetried() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        configurePipelining(endpoint, 8);
+        int droppedStart = POLL_STARTS[1];
+        doAnswer(invocation -> new TCPSlaveConnection(invocation.getArgument(0),
+                new DroppingModbusTCPTransportFactory(droppedStart))).when(tcpConnectionFactory)
+                        .create(any(Socket.class));
+
+        CollectingCallback callback = new CollectingCallback(1 + POLL_STARTS.length);
+        submitPollsWhileConnectionBusy(endpoint, callback);
+        // Response is waited until the read timeout of 3 s (net.wimpi.modbus.Modbus.DEFAULT_TIMEOUT)
+        assertTrue(callback.callbackCalled.await(15, TimeUnit.SECONDS));
+
+        // The poll without response was executed again, all polls received their data without errors
+        assertAllPollsReceivedOwnData(callback);
+        List<Integer> starts = getReceivedRequestStarts();
+        assertThat(starts.toString(), starts.size(), is(equalTo(2 + POLL_STARTS.length)));
+        assertThat(starts.toString(), starts.stream().filter(start -> start == droppedStart).count(),
+                is(equalTo(2L)));
+        // The request sent after the dropped one was answered while the dropped one was still outstanding
+        assertTrue(starts.toString(), starts.indexOf(POLL_STARTS[2]) < starts.lastIndexOf(droppedStart));
+
+        // Timeout of the pipelined operation and the retry of the single poll without pipelining
+        waitForAssert(() -> assertThat(getMetrics(endpoint).getOperationCount(), is(equalTo(3L))));
+        assertThat(getMetrics(endpoint).getErrorCount(), is(equalTo(1L)));
+        // Connection is not trusted after the timeout, a new one is established
+        waitForConnectionsReceived(2);
+    }
+
+    @Test
+    public void testSerialExecutionWithoutPipelining() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        configurePipelining(endpoint, 1);
+
+        CollectingCallback callback = new CollectingCallback(1 + POLL_STARTS.length);
+        submitPollsWhileConnectionBusy(endpoint, callback);
+        assertTrue(callback.callbackCalled.await(10, TimeUnit.SECONDS));
+
+        assertAllPollsReceivedOwnData(callback);
+        waitForRequests(1 + POLL_STARTS.length);
+        // Each poll was executed in an operation of its own
+        waitForAssert(() -> assertThat(getMetrics(endpoint).getOperationCount(), is(equalTo(4L))));
+        assertThat(getMetrics(endpoint).getErrorCount(), is(equalTo(0L)));
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link JavaScriptConsoleCommandExtension} provides console commands for inspecting the execution time metrics
+ * of JavaScript transformations
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class JavaScriptConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String METRICS = "metrics";
+    private static final String RESET = "reset";
+
+    private final JavaScriptEngineManager manager;
+
+    @Activate
+    public JavaScriptConsoleCommandExtension(final @Reference JavaScriptEngineManager manager) {
+        super("jstransform", "Inspect the JavaScript transformations.");
+        this.manager = manager;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && METRICS.equals(args[0])) {
+            Map<String, JavaScriptMetrics> metrics = new TreeMap<>(manager.getMetrics());
+            if (metrics.isEmpty()) {
+                console.println("No JavaScript transformations have been executed");
+            }
+            metrics.forEach((filename, scriptMetrics) -> console.println(filename + ": " + scriptMetrics));
+        } else if (args.length == 2 && METRICS.equals(args[0]) && RESET.equals(args[1])) {
+            manager.resetMetrics();
+            console.println("Metrics reset");
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(METRICS, "show execution time metrics per JavaScript file"),
+                buildCommandUsage(METRICS + " " + RESET, "reset the execution time metrics"));
+    }
+}
@@ -13,13 +13,24 @@
 package org.openhab.transform.javascript.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
@@ -27,54 +38,274 @@ import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.transform.TransformationException;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Simple cache for compiled JavaScript files.
+ * Pool of JavaScript engines, each with its own cache of compiled JavaScript files.
+ *
+ * Transformations borrow an engine from the pool, so that up to <code>poolSize</code> transformations are executed
+ * concurrently. Optionally, transformations not completing within <code>timeout</code> milliseconds are abandoned.
  *
  * @author Thomas Kordelle - pre compiled scripts
  *
  */
 @NonNullByDefault
-@Component(service = JavaScriptEngineManager.class)
+@Component(service = JavaScriptEngineManager.class, configurationPid = "org.openhab.transform.javascript")
 public class JavaScriptEngineManager {
 
+    private static final String CONFIG_POOL_SIZE = "poolSize";
+    private static final String CONFIG_TIMEOUT = "timeout";
+    private static final String THREAD_POOL_NAME = "transform.javascript";
+
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
+     * Source code of the JavaScript files. A file is compiled again by each engine when its source is replaced.
+     */
+    private final Map<String, ScriptSource> scriptSources = new ConcurrentHashMap<>();
+    private final Map<String, JavaScriptMetrics> metrics = new ConcurrentHashMap<>();
+
+    private volatile EnginePool pool = new EnginePool(getDefaultPoolSize());
+    private volatile long timeoutMillis;
+
+    private static class ScriptSource {
+        private final String code;
+
+        private ScriptSource(String code) {
+            this.code = code;
+        }
+    }
+
+    private static class CompiledSource {
+        private final ScriptSource source;
+        private final CompiledScript script;
+
+        private CompiledSource(ScriptSource source, CompiledScript script) {
+            this.source = source;
+            this.script = script;
+        }
+    }
+
+    /**
+     * Engine of the pool. It is used by one transformation at a time only.
+     */
+    private static class PooledEngine {
+        private final ScriptEngine engine;
+        private final Map<String, CompiledSource> compiledScripts = new HashMap<>();
+
+        private PooledEngine(ScriptEngine engine) {
+            this.engine = engine;
+        }
+    }
+
+    private class EnginePool {
+        private final int size;
+        private final BlockingQueue<PooledEngine> idleEngines;
+        private final AtomicInteger createdEngines = new AtomicInteger();
+
+        private EnginePool(int size) {
+            this.size = size;
+            this.idleEngines = new ArrayBlockingQueue<>(size);
+        }
+
+        private @Nullable PooledEngine borrow(long timeoutMillis) throws InterruptedException {
+            PooledEngine engine = idleEngines.poll();
+            if (engine != null) {
+                return engine;
+            }
+            if (createdEngines.getAndIncrement() < size) {
+                logger.debug("Creating JavaScript engine {} of {}", createdEngines.get(), size);
+                return new PooledEngine(manager.getEngineByName("javascript"));
+            }
+            createdEngines.decrementAndGet();
+            return timeoutMillis > 0 ? idleEngines.poll(timeoutMillis, TimeUnit.MILLISECONDS) : idleEngines.take();
+        }
+
+        private void release(PooledEngine engine) {
+            idleEngines.offer(engine);
+        }
+    }
+
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int poolSize = getDefaultPoolSize();
+        Object poolSizeValue = config.get(CONFIG_POOL_SIZE);
+        Object timeoutValue = config.get(CONFIG_TIMEOUT);
+        try {
+            if (poolSizeValue != null) {
+                poolSize = Math.max(1, Integer.parseInt(poolSizeValue.toString()));
+            }
+            timeoutMillis = timeoutValue == null ? 0 : Math.max(0, Long.parseLong(timeoutValue.toString()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid JavaScript transformation configuration {}: {}", config, e.getMessage());
+        }
+        if (poolSize != pool.size) {
+            pool = new EnginePool(poolSize);
+        }
+        logger.debug("JavaScript transformations use up to {} engines, timeout {} ms", poolSize, timeoutMillis);
+    }
+
+    private static int getDefaultPoolSize() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Evaluate a JavaScript file, with the given input bound to the variable 'input'. The script is compiled once per
+     * engine and kept in cache until it is removed with {@link #removeFromCache(String)}.
+     *
+     * @param filename name of the JavaScript file to evaluate
+     * @param input value of the variable 'input'
+     * @return the result of the script
+     * @throws TransformationException if loading, compiling or executing the script fails, or the execution times out
+     */
+    protected @Nullable Object evaluate(final String filename, final String input) throws TransformationException {
+        final EnginePool pool = this.pool;
+        final long timeoutMillis = this.timeoutMillis;
+        final JavaScriptMetrics scriptMetrics = metrics.computeIfAbsent(filename, name -> new JavaScriptMetrics());
+        final PooledEngine engine;
+        try {
+            engine = pool.borrow(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for a JavaScript engine", e);
+        }
+        if (engine == null) {
+            scriptMetrics.recordTimeout();
+            throw new TransformationException(
+                    "No JavaScript engine became available for " + filename + " within " + timeoutMillis + " ms");
+        }
+        if (timeoutMillis <= 0) {
+            return evaluate(pool, engine, filename, input, scriptMetrics);
+        }
+
+        // the engine is released by whoever sets this flag first: the task when it starts, or the caller when the
+        // transformation is abandoned before the task has started
+        final AtomicBoolean started = new AtomicBoolean();
+        Future<@Nullable Object> result = getExecutor().submit(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            return evaluate(pool, engine, filename, input, scriptMetrics);
+        });
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // a running script cannot be stopped, its engine is returned to the pool when the script completes
+            abandon(result, started, pool, engine);
+            scriptMetrics.recordTimeout();
+            logger.warn("JavaScript {} did not complete within {} ms", filename, timeoutMillis);
+            throw new TransformationException(
+                    "JavaScript " + filename + " did not complete within " + timeoutMillis + " ms", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TransformationException) {
+                throw (TransformationException) cause;
+            }
+            throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            abandon(result, started, pool, engine);
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while executing JavaScript " + filename, e);
+        }
+    }
+
+    private void abandon(Future<?> result, AtomicBoolean started, EnginePool pool, PooledEngine engine) {
+        result.cancel(true);
+        if (started.compareAndSet(false, true)) {
+            pool.release(engine);
+        }
+    }
+
+    /**
+     * Returns the executor running transformations with a timeout.
+     */
+    protected ExecutorService getExecutor() {
+        return ThreadPoolManager.getPool(THREAD_POOL_NAME);
+    }
+
+    private @Nullable Object evaluate(EnginePool pool, PooledEngine engine, String filename, String input,
+            JavaScriptMetrics scriptMetrics) throws TransformationException {
+        try {
+            final CompiledScript cScript = getScript(engine, filename);
+            final long startTime = System.nanoTime();
+            try {
+                final Bindings bindings = engine.engine.createBindings();
+                bindings.put("input", input);
+                return cScript.eval(bindings);
+            } catch (ScriptException e) {
+                scriptMetrics.recordError();
+                throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
+            } finally {
+                scriptMetrics.recordExecution(System.nanoTime() - startTime);
+            }
+        } finally {
+            pool.release(engine);
+        }
+    }
+
+    /**
+     * Get a pre compiled script {@link CompiledScript} from the cache of the engine. If it is not in the cache, or
+     * the file has been changed, then compile it with the engine and put it into the cache.
      *
+     * @param engine engine to compile the script with
      * @param filename name of the JavaScript file to load
      * @return a pre compiled script {@link CompiledScript}
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
-                }
-            }
+    private CompiledScript getScript(final PooledEngine engine, final String filename) throws TransformationException {
+        final ScriptSource source = getScriptSource(filename);
+        final CompiledSource compiled = engine.compiledScripts.get(filename);
+        if (compiled != null && compiled.source == source) {
+            return compiled.script;
+        }
+        try {
+            final CompiledScript cScript = ((Compilable) engine.engine).compile(source.code);
+            logger.debug("Putting compiled JavaScript {} to cache.", cScript);
+            engine.compiledScripts.put(filename, new CompiledSource(source, cScript));
+            return cScript;
+        } catch (ScriptException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    private ScriptSource getScriptSource(final String filename) throws TransformationException {
+        final ScriptSource source = scriptSources.get(filename);
+        if (source != null) {
+            return source;
         }
+        logger.debug("Loading script {} from storage ", filename);
+        try {
+            final ScriptSource loaded = new ScriptSource(readScript(filename));
+            final ScriptSource existing = scriptSources.putIfAbsent(filename, loaded);
+            return existing != null ? existing : loaded;
+        } catch (IOException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the source code of a JavaScript file from the transform folder.
+     *
+     * @param filename name of the JavaScript file
+     * @return the source code
+     * @throws IOException if the file cannot be read
+     */
+    protected String readScript(String filename) throws IOException {
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        return new String(Files.readAllBytes(Paths.get(path)));
     }
 
     /**
@@ -84,6 +315,22 @@ public class JavaScriptEngineManager {
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        scriptSources.remove(fileName);
+    }
+
+    /**
+     * Get the execution time metrics of the JavaScript files
+     *
+     * @return metrics per file name
+     */
+    public Map<String, JavaScriptMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Reset the execution time metrics of all JavaScript files
+     */
+    public void resetMetrics() {
+        metrics.clear();
     }
 }
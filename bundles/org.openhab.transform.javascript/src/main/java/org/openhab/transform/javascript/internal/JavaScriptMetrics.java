@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Execution time metrics of a JavaScript transformation file.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JavaScriptMetrics {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    void recordExecution(long nanos) {
+        executions.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Get the number of completed executions, including executions ending in a script error
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Get the mean execution time of completed executions in milliseconds
+     */
+    public double getMeanMillis() {
+        long count = executions.sum();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the maximum execution time of completed executions in milliseconds
+     */
+    public double getMaxMillis() {
+        return (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the number of executions ending in a script error
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Get the number of executions which did not complete within the configured timeout
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("executions %d, mean %.3f ms, max %.3f ms, errors %d, timeouts %d", getExecutionCount(),
+                getMeanMillis(), getMaxMillis(), getErrorCount(), getTimeoutCount());
+    }
+}
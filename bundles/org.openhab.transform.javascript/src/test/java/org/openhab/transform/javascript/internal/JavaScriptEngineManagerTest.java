@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptEngineManager;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the engine pool and the timeout handling of {@link JavaScriptEngineManager}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptEngineManagerTest {
+
+    private static final String ECHO = "echo.js";
+    private static final String BUSY = "busy.js";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, String> scripts = new HashMap<>();
+    private TestableJavaScriptEngineManager manager;
+
+    private class TestableJavaScriptEngineManager extends JavaScriptEngineManager {
+        private ExecutorService transformationExecutor = executor;
+
+        @Override
+        protected String readScript(String filename) throws IOException {
+            String script = scripts.get(filename);
+            if (script == null) {
+                throw new FileNotFoundException(filename);
+            }
+            return script;
+        }
+
+        @Override
+        protected ExecutorService getExecutor() {
+            return transformationExecutor;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        assumeNotNull(new ScriptEngineManager().getEngineByName("javascript"));
+
+        scripts.put(ECHO, "'echo ' + input");
+        // keeps its engine busy for the number of milliseconds given as input
+        scripts.put(BUSY, "var end = Date.now() + Number(input); while (Date.now() < end) {} 'done'");
+        manager = new TestableJavaScriptEngineManager();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEvaluateWithoutTimeout() throws TransformationException {
+        manager.activate(config(2, 0));
+
+        assertEquals("echo a", manager.evaluate(ECHO, "a"));
+        assertEquals("echo b", manager.evaluate(ECHO, "b"));
+        assertEquals(2, manager.getMetrics().get(ECHO).getExecutionCount());
+    }
+
+    @Test
+    public void testRunningScriptTimesOut() throws Exception {
+        manager.activate(config(1, 100));
+
+        try {
+            manager.evaluate(BUSY, "500");
+            fail("transformation did not time out");
+        } catch (TransformationException e) {
+            // expected
+        }
+        assertEquals(1, manager.getMetrics().get(BUSY).getTimeoutCount());
+
+        // the engine is returned to the pool once the script has completed
+        assertEquals("echo a", evaluateEventually(ECHO, "a"));
+    }
+
+    @Test
+    public void testTimeoutBeforeStartReleasesEngine() throws Exception {
+        manager.activate(config(1, 100));
+
+        // a single thread kept busy, so the transformations time out before they have started
+        ExecutorService blockedExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch unblock = new CountDownLatch(1);
+        blockedExecutor.submit(() -> {
+            unblock.await();
+            return null;
+        });
+        manager.transformationExecutor = blockedExecutor;
+        try {
+            for (int i = 0; i < 3; i++) {
+                try {
+                    manager.evaluate(ECHO, "a");
+                    fail("transformation did not time out");
+                } catch (TransformationException e) {
+                    // expected
+                }
+            }
+            assertEquals(3, manager.getMetrics().get(ECHO).getTimeoutCount());
+        } finally {
+            unblock.countDown();
+            blockedExecutor.shutdown();
+            assertTrue(blockedExecutor.awaitTermination(1, TimeUnit.SECONDS));
+        }
+
+        // the cancelled transformations must neither have run nor kept the only engine of the pool
+        manager.transformationExecutor = executor;
+        assertEquals("echo b", manager.evaluate(ECHO, "b"));
+        assertEquals(1, manager.getMetrics().get(ECHO).getExecutionCount());
+    }
+
+    @Test
+    public void testInterruptedCallerReleasesEngine() throws Exception {
+        manager.activate(config(1, 5000));
+
+        ExecutorService blockedExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch unblock = new CountDownLatch(1);
+        blockedExecutor.submit(() -> {
+            unblock.await();
+            return null;
+        });
+        manager.transformationExecutor = blockedExecutor;
+        try {
+            Thread.currentThread().interrupt();
+            try {
+                manager.evaluate(ECHO, "a");
+                fail("transformation was not interrupted");
+            } catch (TransformationException e) {
+                assertTrue(Thread.interrupted());
+            }
+        } finally {
+            unblock.countDown();
+            blockedExecutor.shutdown();
+            assertTrue(blockedExecutor.awaitTermination(1, TimeUnit.SECONDS));
+        }
+
+        manager.transformationExecutor = executor;
+        assertEquals("echo b", manager.evaluate(ECHO, "b"));
+    }
+
+    @Test
+    public void testExhaustedPoolWaitsForEngine() throws Exception {
+        manager.activate(config(1, 0));
+
+        Future<Object> busy = executor.submit(() -> manager.evaluate(BUSY, "300"));
+        Thread.sleep(100);
+
+        // waits until the running script returns the only engine
+        assertEquals("echo a", manager.evaluate(ECHO, "a"));
+        assertTrue(busy.isDone());
+        assertEquals("done", busy.get());
+    }
+
+    @Test
+    public void testExhaustedPoolTimesOut() throws Exception {
+        manager.activate(config(1, 200));
+
+        Future<Object> busy = executor.submit(() -> manager.evaluate(BUSY, "1000"));
+        Thread.sleep(50);
+
+        try {
+            manager.evaluate(ECHO, "a");
+            fail("transformation got an engine of an exhausted pool");
+        } catch (TransformationException e) {
+            assertTrue(e.getMessage().startsWith("No JavaScript engine became available"));
+        }
+        assertEquals(1, manager.getMetrics().get(ECHO).getTimeoutCount());
+        assertEquals(0, manager.getMetrics().get(ECHO).getExecutionCount());
+
+        try {
+            busy.get();
+            fail("busy transformation did not time out");
+        } catch (Exception e) {
+            // expected
+        }
+
+        // the timed out script keeps its engine until it completes
+        assertEquals("echo b", evaluateEventually(ECHO, "b"));
+    }
+
+    @Test
+    public void testPoolSizeLimitsConcurrency() throws Exception {
+        manager.activate(config(2, 0));
+
+        long start = System.nanoTime();
+        Future<Object> first = executor.submit(() -> manager.evaluate(BUSY, "300"));
+        Future<Object> second = executor.submit(() -> manager.evaluate(BUSY, "300"));
+        Future<Object> third = executor.submit(() -> manager.evaluate(BUSY, "300"));
+        assertEquals("done", first.get());
+        assertEquals("done", second.get());
+        assertEquals("done", third.get());
+
+        // two scripts run concurrently, the third one has to wait for an engine
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("elapsed " + elapsedMillis + " ms", elapsedMillis >= 600);
+    }
+
+    private Object evaluateEventually(String filename, String input) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            try {
+                return manager.evaluate(filename, input);
+            } catch (TransformationException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static Map<String, Object> config(int poolSize, long timeout) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("poolSize", poolSize);
+        config.put("timeout", timeout);
+        return config;
+    }
+}
@@ -58,4 +58,23 @@ public class JinjaTransformationServiceTest {
         // Asserts
         Assert.assertEquals("Hello world!", transformedResponse);
     }
+
+    @Test
+    public void testTemplateIsParsedOnce() throws TransformationException {
+        String template = "{{value_json.sensor.values[1]}} {{value_json.unit}}";
+
+        Assert.assertEquals("2 C", processor.transform(template, "{\"sensor\":{\"values\":[1,2,3]},\"unit\":\"C\"}"));
+        Assert.assertEquals("5 F", processor.transform(template, "{\"sensor\":{\"values\":[4,5]},\"unit\":\"F\"}"));
+        Assert.assertEquals(1, processor.getTemplateCacheSize());
+    }
+
+    @Test
+    public void testMissingAndNullFields() throws TransformationException {
+        String json = "{\"present\":null,\"list\":[true]}";
+
+        Assert.assertEquals("[]", processor.transform("[{{value_json.missing}}]", json));
+        Assert.assertEquals("[]", processor.transform("[{{value_json.present}}]", json));
+        Assert.assertEquals("yes", processor.transform("{% if 'list' in value_json %}yes{% endif %}", json));
+        Assert.assertEquals("true", processor.transform("{{value_json.list[0]}}", json));
+    }
 }
@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +43,79 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /**
+     * Maximum number of compiled expressions to cache
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+    /**
+     * Compiled form of a regular expression transformation
+     */
+    private static class CompiledExpression {
+        private final Pattern pattern;
+        private final boolean substitution;
+        private final @Nullable String replacement;
+        private final boolean global;
+
+        private CompiledExpression(Pattern pattern, boolean substitution, @Nullable String replacement,
+                boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.replacement = replacement;
+            this.global = global;
+        }
+    }
+
+    private final Map<String, CompiledExpression> cache = new LinkedHashMap<String, CompiledExpression>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledExpression> eldest) {
+            return size() > MAX_CACHED_EXPRESSIONS;
+        }
+    };
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    /**
+     * Get the number of transformations that used an already compiled expression
+     */
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Get the number of transformations that needed to compile the expression
+     */
+    long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private CompiledExpression compile(String regExpression) {
+        synchronized (cache) {
+            CompiledExpression compiled = cache.get(regExpression);
+            if (compiled != null) {
+                cacheHits.incrementAndGet();
+                return compiled;
+            }
+        }
+        cacheMisses.incrementAndGet();
+        CompiledExpression compiled;
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            compiled = new CompiledExpression(Pattern.compile(substMatcher.group(1)), true, substMatcher.group(2),
+                    substMatcher.group(3).equals("g"));
+        } else {
+            compiled = new CompiledExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), false, null,
+                    false);
+        }
+        synchronized (cache) {
+            cache.put(regExpression, compiled);
+        }
+        return compiled;
+    }
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -50,23 +126,20 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        CompiledExpression compiled = compile(regExpression);
+        String replacement = compiled.replacement;
+        if (compiled.substitution && replacement != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+            Matcher substMatcher = compiled.pattern.matcher(source.trim());
+            if (compiled.global) {
+                result = substMatcher.replaceAll(replacement);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
+                result = substMatcher.replaceFirst(replacement);
             }
+            return result;
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compiled.pattern.matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -75,4 +75,30 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledExpressionIsReused() throws TransformationException {
+        String regex = ".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*";
+        assertEquals("8", processor.transform(regex, source));
+        assertEquals("8", processor.transform(regex, source));
+        assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        assertEquals("Reset(0)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:Reset,ARG:0"));
+
+        assertEquals(2, processor.getCacheMisses());
+        assertEquals(2, processor.getCacheHits());
+    }
+
+    @Test
+    public void testTransformByRegex_cacheIsBounded() throws TransformationException {
+        for (int i = 0; i < 300; i++) {
+            assertEquals(Integer.toString(i), processor.transform("(" + i + ")", Integer.toString(i)));
+        }
+        assertEquals(300, processor.getCacheMisses());
+
+        // the oldest expressions have been evicted, the latest are still cached
+        processor.transform("(0)", "0");
+        processor.transform("(299)", "299");
+        assertEquals(301, processor.getCacheMisses());
+        assertEquals(1, processor.getCacheHits());
+    }
 }
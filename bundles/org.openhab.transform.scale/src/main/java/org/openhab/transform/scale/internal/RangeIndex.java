@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Index of the ranges of a scale file, allowing to find the value of the first
+ * range containing a number in logarithmic time.
+ *
+ * The limits of all ranges split the number line into elementary intervals:
+ * the limits themselves and the open intervals between them. Each range either
+ * contains an elementary interval entirely, or not at all. The value of the
+ * first range, in the order of the scale file, containing each elementary
+ * interval is computed once, and looked up by binary search of the limits.
+ *
+ * @author agent - Initial contribution
+ */
+public class RangeIndex {
+
+    private final Map<Range, String> data;
+
+    /** Distinct limits of all ranges, sorted ascending */
+    private final BigDecimal[] limits;
+
+    /**
+     * Value for each elementary interval, or null if no range contains it. The
+     * interval below limit i has index 2*i, limit i itself has index 2*i+1 and
+     * the interval above the highest limit has index 2*limits.length.
+     */
+    private final String[] values;
+
+    /**
+     * Builds the index
+     *
+     * @param data ranges and their values, in the order of the scale file. Keys
+     *            which are not ranges (e.g. <code>null</code>) are ignored by
+     *            the index but can be retrieved with {@link #get(Range)}.
+     */
+    public RangeIndex(Map<Range, String> data) {
+        this.data = data;
+
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : data.keySet()) {
+            if (range != null) {
+                if (range.min != null) {
+                    sortedLimits.add(range.min);
+                }
+                if (range.max != null) {
+                    sortedLimits.add(range.max);
+                }
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[sortedLimits.size()]);
+        values = new String[2 * limits.length + 1];
+
+        // next[i] is the first elementary interval at or after i that may still be unassigned
+        int[] next = new int[values.length + 1];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = i;
+        }
+        for (Map.Entry<Range, String> entry : data.entrySet()) {
+            Range range = entry.getKey();
+            if (range == null) {
+                continue;
+            }
+            int first = range.min == null ? 0 : 2 * limitIndex(range.min) + (range.minInclusive ? 1 : 2);
+            int last = range.max == null ? values.length - 1
+                    : 2 * limitIndex(range.max) + (range.maxInclusive ? 1 : 0);
+            for (int i = findNext(next, first); i <= last; i = findNext(next, i + 1)) {
+                values[i] = entry.getValue();
+                next[i] = i + 1;
+            }
+        }
+    }
+
+    private int limitIndex(BigDecimal limit) {
+        return Arrays.binarySearch(limits, limit);
+    }
+
+    private static int findNext(int[] next, int index) {
+        int root = index;
+        while (next[root] != root) {
+            root = next[root];
+        }
+        // compress the path for subsequent lookups
+        int i = index;
+        while (next[i] != root) {
+            int following = next[i];
+            next[i] = root;
+            i = following;
+        }
+        return root;
+    }
+
+    /**
+     * Returns the value of the first range containing the given number
+     *
+     * @param value number to look up
+     * @return value of the first matching range, or null if no range contains the number
+     */
+    public String find(BigDecimal value) {
+        int index = Arrays.binarySearch(limits, value);
+        if (index >= 0) {
+            return values[2 * index + 1];
+        }
+        // binarySearch returns -(insertion point) - 1
+        return values[2 * (-index - 1)];
+    }
+
+    /**
+     * Returns the value stored for the given key
+     *
+     * @param key range as defined in the scale file, or null
+     * @return the value, or null if not defined
+     */
+    public String get(Range key) {
+        return data.get(key);
+    }
+}
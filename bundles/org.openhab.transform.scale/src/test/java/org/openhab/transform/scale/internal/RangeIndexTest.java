@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class RangeIndexTest {
+
+    private static String linearScan(Map<Range, String> data, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : data.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testFirstMatchingRangeWins() {
+        Map<Range, String> data = new LinkedHashMap<>();
+        data.put(Range.closedOpen(new BigDecimal(10), new BigDecimal(20)), "first");
+        data.put(Range.closed(new BigDecimal(0), new BigDecimal(100)), "second");
+        data.put(null, "nan");
+        RangeIndex index = new RangeIndex(data);
+
+        Assert.assertEquals("second", index.find(new BigDecimal(0)));
+        Assert.assertEquals("second", index.find(new BigDecimal("9.99")));
+        Assert.assertEquals("first", index.find(new BigDecimal("10.0")));
+        Assert.assertEquals("first", index.find(new BigDecimal("19.99")));
+        Assert.assertEquals("second", index.find(new BigDecimal(20)));
+        Assert.assertEquals("second", index.find(new BigDecimal(100)));
+        Assert.assertNull(index.find(new BigDecimal("100.01")));
+        Assert.assertNull(index.find(new BigDecimal(-1)));
+        Assert.assertEquals("nan", index.get(null));
+    }
+
+    @Test
+    public void testUnboundedRanges() {
+        Map<Range, String> data = new LinkedHashMap<>();
+        data.put(Range.lessThan(new BigDecimal(0)), "negative");
+        data.put(Range.greaterThan(new BigDecimal(0)), "positive");
+        data.put(Range.all(), "zero");
+        RangeIndex index = new RangeIndex(data);
+
+        Assert.assertEquals("negative", index.find(new BigDecimal("-1E10")));
+        Assert.assertEquals("zero", index.find(new BigDecimal("0.00")));
+        Assert.assertEquals("positive", index.find(new BigDecimal("1E10")));
+    }
+
+    @Test
+    public void testSameResultAsLinearScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            Map<Range, String> data = new LinkedHashMap<>();
+            int ranges = 1 + random.nextInt(30);
+            for (int i = 0; i < ranges; i++) {
+                BigDecimal min = random.nextInt(10) == 0 ? null : new BigDecimal(random.nextInt(40));
+                BigDecimal max = random.nextInt(10) == 0 ? null : new BigDecimal(random.nextInt(40));
+                data.put(Range.range(min, random.nextBoolean(), max, random.nextBoolean()), "value" + i);
+            }
+            RangeIndex index = new RangeIndex(data);
+            for (int i = -4; i <= 84; i++) {
+                BigDecimal value = new BigDecimal(i).divide(new BigDecimal(2));
+                Assert.assertEquals(linearScan(data, value), index.find(value));
+            }
+        }
+    }
+}
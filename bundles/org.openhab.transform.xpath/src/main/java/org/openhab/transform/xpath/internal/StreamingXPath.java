@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple location paths on a stream of XML events, without building a DOM of the document.
+ *
+ * Supported are absolute paths of element names, optionally starting with <code>//</code>, and ending with an
+ * element, an attribute (<code>@name</code>) or <code>text()</code>, e.g. <code>/root/item/@id</code> or
+ * <code>//current_conditions/temp_c/text()</code>. Like with XPath, the string value of the first matching node in
+ * document order is returned, or an empty string if there is no match. Names without prefix match only nodes without
+ * namespace.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class StreamingXPath {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_.\\-]*");
+    private static final String TEXT_TEST = "text()";
+
+    private final String[] elementNames;
+    private final boolean descendant;
+    private final @Nullable String attributeName;
+    private final boolean text;
+
+    private StreamingXPath(String[] elementNames, boolean descendant, @Nullable String attributeName, boolean text) {
+        this.elementNames = elementNames;
+        this.descendant = descendant;
+        this.attributeName = attributeName;
+        this.text = text;
+    }
+
+    /**
+     * Compile the given XPath expression
+     *
+     * @param expression XPath expression
+     * @return the compiled path, or null if the expression is not a supported simple path
+     */
+    static @Nullable StreamingXPath compile(String expression) {
+        String path = expression.trim();
+        boolean descendant = false;
+        if (path.startsWith("//")) {
+            descendant = true;
+            path = path.substring(2);
+        } else if (path.startsWith("/")) {
+            path = path.substring(1);
+        } else {
+            return null;
+        }
+        String[] steps = path.split("/", -1);
+        List<String> elementNames = new ArrayList<>();
+        String attributeName = null;
+        boolean text = false;
+        for (int i = 0; i < steps.length; i++) {
+            String step = steps[i];
+            boolean last = i == steps.length - 1;
+            if (last && step.startsWith("@") && NAME_PATTERN.matcher(step.substring(1)).matches()) {
+                attributeName = step.substring(1);
+            } else if (last && TEXT_TEST.equals(step)) {
+                text = true;
+            } else if (NAME_PATTERN.matcher(step).matches()) {
+                elementNames.add(step);
+            } else {
+                return null;
+            }
+        }
+        if (elementNames.isEmpty()) {
+            return null;
+        }
+        return new StreamingXPath(elementNames.toArray(new String[0]), descendant, attributeName, text);
+    }
+
+    /**
+     * Evaluate the path on the given document.
+     *
+     * The whole document is read, so that malformed documents are rejected the same way as when building a DOM.
+     *
+     * @param factory factory to create the stream reader with
+     * @param source XML document
+     * @return string value of the first matching node, or empty string if there is no match
+     * @throws XMLStreamException if the document cannot be parsed
+     */
+    String evaluate(XMLInputFactory factory, Reader source) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(source);
+        try {
+            String result = null;
+            // element names of the current element and its ancestors
+            List<String> openElements = new ArrayList<>();
+            // depth of the matching element whose descendant text is collected, or -1
+            int collectDepth = -1;
+            StringBuilder collected = new StringBuilder();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (result != null) {
+                    continue;
+                }
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        String namespace = reader.getNamespaceURI();
+                        openElements.add(namespace == null || namespace.isEmpty() ? reader.getLocalName() : "");
+                        if (collectDepth < 0 && matches(openElements)) {
+                            if (attributeName != null) {
+                                String value = reader.getAttributeValue("", attributeName);
+                                if (value != null) {
+                                    result = value;
+                                }
+                            } else if (!text) {
+                                collectDepth = openElements.size();
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (collectDepth == openElements.size()) {
+                            result = collected.toString();
+                        }
+                        openElements.remove(openElements.size() - 1);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (collectDepth >= 0) {
+                            collected.append(reader.getText());
+                        } else if (text && matches(openElements)) {
+                            result = reader.getText();
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return result == null ? "" : result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean matches(List<String> openElements) {
+        int depth = openElements.size();
+        if (descendant ? depth < elementNames.length : depth != elementNames.length) {
+            return false;
+        }
+        int offset = depth - elementNames.length;
+        for (int i = 0; i < elementNames.length; i++) {
+            if (!elementNames[i].equals(openElements.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -13,12 +13,17 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -43,6 +48,46 @@ public class XPathTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    /**
+     * Maximum number of compiled expressions to cache
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final ThreadLocal<@Nullable DocumentBuilder> documentBuilder = new ThreadLocal<>();
+    private final ThreadLocal<@Nullable XPath> xpath = new ThreadLocal<>();
+
+    /**
+     * Compiled form of an XPath expression. Simple paths are evaluated on a stream, others on a DOM of the document.
+     */
+    private static class CompiledExpression {
+        private final @Nullable StreamingXPath streamingPath;
+        private final @Nullable XPathExpression expression;
+
+        private CompiledExpression(@Nullable StreamingXPath streamingPath, @Nullable XPathExpression expression) {
+            this.streamingPath = streamingPath;
+            this.expression = expression;
+        }
+    }
+
+    private final Map<String, CompiledExpression> cache = new LinkedHashMap<String, CompiledExpression>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledExpression> eldest) {
+            return size() > MAX_CACHED_EXPRESSIONS;
+        }
+    };
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -54,21 +99,28 @@ public class XPathTransformationService implements TransformationService {
         StringReader stringReader = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            CompiledExpression compiled = compile(xpathExpression);
 
             stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
 
-            Document doc = builder.parse(inputSource);
+            String transformationResult;
+            StreamingXPath streamingPath = compiled.streamingPath;
+            XPathExpression expr = compiled.expression;
+            if (streamingPath != null) {
+                transformationResult = streamingPath.evaluate(INPUT_FACTORY, stringReader);
+            } else if (expr != null) {
+                InputSource inputSource = new InputSource(stringReader);
+                inputSource.setEncoding("UTF-8");
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+                Document doc = getDocumentBuilder().parse(inputSource);
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                // compiled expressions are not thread-safe
+                synchronized (expr) {
+                    transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                }
+            } else {
+                throw new IllegalStateException("expression not compiled");
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
@@ -81,4 +133,47 @@ public class XPathTransformationService implements TransformationService {
             }
         }
     }
+
+    private CompiledExpression compile(String xpathExpression) throws XPathExpressionException {
+        synchronized (cache) {
+            CompiledExpression compiled = cache.get(xpathExpression);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        CompiledExpression compiled;
+        StreamingXPath streamingPath = StreamingXPath.compile(xpathExpression);
+        if (streamingPath != null) {
+            compiled = new CompiledExpression(streamingPath, null);
+        } else {
+            compiled = new CompiledExpression(null, getXPath().compile(xpathExpression));
+        }
+        synchronized (cache) {
+            cache.put(xpathExpression, compiled);
+        }
+        return compiled;
+    }
+
+    private DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilder.get();
+        if (builder == null) {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            builder = domFactory.newDocumentBuilder();
+            documentBuilder.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    private XPath getXPath() {
+        XPath result = xpath.get();
+        if (result == null) {
+            result = XPathFactory.newInstance().newXPath();
+            xpath.set(result);
+        }
+        return result;
+    }
 }
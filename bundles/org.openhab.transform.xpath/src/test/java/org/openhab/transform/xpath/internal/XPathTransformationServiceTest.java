@@ -12,11 +12,19 @@
  */
 package org.openhab.transform.xpath.internal;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
 
 /**
  * @author Thomas.Eichstaedt-Engelen
@@ -38,4 +46,43 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPath_notStreamed() throws TransformationException {
+        assertEquals("Klar", processor.transform("//forecast_conditions[2]/condition/@data", source));
+        assertEquals("4", processor.transform("count(//forecast_conditions)", source));
+    }
+
+    @Test
+    public void testTransformByXPath_streamedLikeDom() throws Exception {
+        String xml = "<?xml version=\"1.0\"?><root><a id=\"1\">x<![CDATA[<y>]]>z<b>inner</b>tail</a>"
+                + "<a id=\"2\"><b>second</b></a><ns:c xmlns:ns=\"urn:test\">namespaced</ns:c>"
+                + "<d xmlns=\"urn:test\">default</d><e>&amp;&lt;</e></root>";
+        String[] expressions = { "/root/a/@id", "/root/a", "/root/a/text()", "//b", "//b/text()", "/root/a/b",
+                "//a/@missing", "/root/missing", "/a", "//c", "//d", "/root/e/text()", "//root" };
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        Document doc = domFactory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        for (String expression : expressions) {
+            assertNotNull(expression, StreamingXPath.compile(expression));
+            assertEquals(expression, xpath.evaluate(expression, doc), processor.transform(expression, xml));
+        }
+    }
+
+    @Test
+    public void testTransformByXPath_complexExpressionsNotStreamed() {
+        assertNull(StreamingXPath.compile("//a[1]"));
+        assertNull(StreamingXPath.compile("count(//a)"));
+        assertNull(StreamingXPath.compile("/root/*"));
+        assertNull(StreamingXPath.compile("/root//a"));
+        assertNull(StreamingXPath.compile("/ns:root"));
+        assertNull(StreamingXPath.compile("root/a"));
+        assertNull(StreamingXPath.compile("/"));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformByXPath_malformedDocument() throws TransformationException {
+        processor.transform("/root/a", "<root><a>1</a><b></root>");
+    }
 }
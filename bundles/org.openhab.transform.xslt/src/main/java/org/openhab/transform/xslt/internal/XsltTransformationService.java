@@ -15,9 +15,15 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -27,7 +33,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +51,49 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    /**
+     * Compiled stylesheet, with a transformer for each thread using it
+     */
+    private static class CompiledStylesheet {
+        private final Templates templates;
+        private final ThreadLocal<@Nullable Transformer> transformer = new ThreadLocal<>();
+
+        private CompiledStylesheet(Templates templates) {
+            this.templates = templates;
+        }
+
+        private Transformer getTransformer() throws TransformerConfigurationException {
+            Transformer result = transformer.get();
+            if (result == null) {
+                result = templates.newTransformer();
+                transformer.set(result);
+            } else {
+                result.reset();
+            }
+            return result;
+        }
+    }
+
+    private final Map<Path, CompiledStylesheet> cache = new ConcurrentHashMap<>();
+    private @Nullable XsltStylesheetWatcher watcher;
+
+    @Activate
+    protected void activate() {
+        XsltStylesheetWatcher watcher = new XsltStylesheetWatcher(getTransformFolder(), this);
+        watcher.activate();
+        this.watcher = watcher;
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        XsltStylesheetWatcher watcher = this.watcher;
+        if (watcher != null) {
+            watcher.deactivate();
+            this.watcher = null;
+        }
+        clearCache();
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -50,6 +101,8 @@ public class XsltTransformationService implements TransformationService {
      * is stored under the 'configurations/transform' folder. To organize the
      * various transformations one should use subfolders.
      *
+     * Compiled stylesheets are cached until the file is modified or deleted.
+     *
      * @param filename the name of the file which contains the XSLT transformation rule.
      *            The name may contain subfoldernames as well
      * @param source the input to transform
@@ -60,12 +113,10 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path;
 
         try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            path = toCacheKey(Paths.get(getTransformFolder(), filename));
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,15 +124,13 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            Transformer transformer = getStylesheet(path).getTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +141,47 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private CompiledStylesheet getStylesheet(Path path) throws TransformerConfigurationException {
+        CompiledStylesheet stylesheet = cache.get(path);
+        if (stylesheet == null) {
+            logger.debug("Compiling stylesheet {}", path);
+            Source xsl = new StreamSource(path.toFile());
+            stylesheet = new CompiledStylesheet(TransformerFactory.newInstance().newTemplates(xsl));
+            cache.put(path, stylesheet);
+        }
+        return stylesheet;
+    }
+
+    /**
+     * Remove the compiled stylesheet of the given file from the cache
+     *
+     * @param path path of the stylesheet file
+     */
+    void removeFromCache(Path path) {
+        logger.debug("Removing stylesheet {} from cache.", path);
+        cache.remove(toCacheKey(path));
+    }
+
+    /**
+     * Remove all compiled stylesheets from the cache
+     */
+    void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Get the number of compiled stylesheets in the cache
+     */
+    int getCacheSize() {
+        return cache.size();
+    }
+
+    private static Path toCacheKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static String getTransformFolder() {
+        return ConfigConstants.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME;
+    }
 }
@@ -14,6 +14,8 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.nio.file.Paths;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,4 +40,17 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testCompiledStylesheetIsCached() throws TransformationException {
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/../http/google_weather.xsl", source));
+        assertEquals(1, processor.getCacheSize());
+
+        processor.removeFromCache(Paths.get("conf", "transform", "http", "google_weather.xsl"));
+        assertEquals(0, processor.getCacheSize());
+
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals(1, processor.getCacheSize());
+    }
 }
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.OptionalLong;
 import java.util.concurrent.ScheduledFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -65,6 +66,7 @@ import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandlerImpl;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
+import org.openhab.io.transport.modbus.BasicBitArray;
 import org.openhab.io.transport.modbus.BasicModbusRegister;
 import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
 import org.openhab.io.transport.modbus.BitArray;
@@ -1075,4 +1077,107 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         dataConfig.put("writeTransform", "JS(myJsonTransform.js)");
         testInitGeneric(null, dataConfig, status -> assertThat(status.getStatus(), is(equalTo(ThingStatus.ONLINE))));
     }
+
+    private ModbusDataThingHandler createReadDataHandler(ModbusReadFunctionCode functionCode, String start,
+            ValueType valueType, long updateUnchangedValuesEveryMillis, boolean autoCreateItemsAndLinkToChannels) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+
+        // Minimally mocked request
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(functionCode).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", start);
+        dataConfig.put("readTransform", "default");
+        dataConfig.put("readValueType", valueType.getConfigValue());
+        dataConfig.put("updateUnchangedValuesEveryMillis", updateUnchangedValuesEveryMillis);
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig), null, autoCreateItemsAndLinkToChannels);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private static ModbusRegisterArray registers(int... values) {
+        ModbusRegister[] registers = new ModbusRegister[values.length];
+        for (int i = 0; i < values.length; i++) {
+            registers[i] = new BasicModbusRegister((byte) (values[i] >> 8), (byte) values[i]);
+        }
+        return new BasicModbusRegisterArray(registers);
+    }
+
+    @Test
+    public void testFingerprintOfRegisters() {
+        ModbusDataThingHandler dataHandler = createReadDataHandler(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", ModbusConstants.ValueType.INT16, 1000L, false);
+
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0xfffd, 0x1234)), is(equalTo(OptionalLong.of(0xfffdL))));
+        // registers not read by the thing do not change the fingerprint
+        assertThat(dataHandler.fingerprint(registers(0x0005, 0xfffd, 0x4321)),
+                is(equalTo(dataHandler.fingerprint(registers(0x0001, 0xfffd, 0x1234)))));
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0xfffe, 0x1234)),
+                is(not(equalTo(dataHandler.fingerprint(registers(0x0001, 0xfffd, 0x1234))))));
+    }
+
+    @Test
+    public void testFingerprintOfMultipleRegisters() {
+        ModbusDataThingHandler dataHandler = createReadDataHandler(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", ModbusConstants.ValueType.INT32, 1000L, false);
+
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0x1234, 0x5678)),
+                is(equalTo(OptionalLong.of(0x12345678L))));
+        // a change in either register of the value changes the fingerprint
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0x1235, 0x5678)),
+                is(equalTo(OptionalLong.of(0x12355678L))));
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0x1234, 0x5679)),
+                is(equalTo(OptionalLong.of(0x12345679L))));
+    }
+
+    @Test
+    public void testFingerprintOfBits() {
+        ModbusDataThingHandler dataHandler = createReadDataHandler(ModbusReadFunctionCode.READ_COILS, "1",
+                ModbusConstants.ValueType.BIT, 1000L, false);
+
+        assertThat(dataHandler.fingerprint(new BasicBitArray(false, true, false)), is(equalTo(OptionalLong.of(1L))));
+        assertThat(dataHandler.fingerprint(new BasicBitArray(true, false, true)), is(equalTo(OptionalLong.of(0L))));
+    }
+
+    @Test
+    public void testNoFingerprintWhenUnchangedValuesAreAlwaysUpdated() {
+        ModbusDataThingHandler dataHandler = createReadDataHandler(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", ModbusConstants.ValueType.INT16, 0L, false);
+
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0xfffd, 0x1234)), is(equalTo(OptionalLong.empty())));
+    }
+
+    @Test
+    public void testNoFingerprintWhenLastReadSuccessIsLinked() {
+        ModbusDataThingHandler dataHandler = createReadDataHandler(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", ModbusConstants.ValueType.INT16, 1000L, true);
+
+        // every poll updates the last read success channel
+        assertThat(dataHandler.fingerprint(registers(0x0001, 0xfffd, 0x1234)), is(equalTo(OptionalLong.empty())));
+    }
+
+    @Test
+    public void testOldestChannelUpdate() {
+        ModbusDataThingHandler dataHandler = createReadDataHandler(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", ModbusConstants.ValueType.INT16, 1000L, true);
+        assertThat(dataHandler.getUpdateUnchangedValuesEveryMillis(), is(equalTo(1000L)));
+        // no channel has been updated with data yet
+        assertThat(dataHandler.getOldestChannelUpdateMillis(), is(equalTo(Long.MAX_VALUE)));
+
+        long before = System.currentTimeMillis();
+        dataHandler.onRegisters(Mockito.mock(ModbusReadRequestBlueprint.class), registers(0x0001, 0xfffd, 0x1234));
+
+        long oldestUpdate = dataHandler.getOldestChannelUpdateMillis();
+        assertThat(oldestUpdate >= before, is(true));
+        assertThat(oldestUpdate <= System.currentTimeMillis(), is(true));
+    }
 }
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.*;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import java.lang.reflect.Field;
+import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -334,6 +335,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
         readCallback.onRegisters(request, registers);
         verify(child1).onRegisters(request, registers);
+        verify(child1).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         verifyNoMoreInteractions(child2);
 
@@ -343,7 +345,9 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.childHandlerInitialized(child2, Mockito.mock(Thing.class));
         readCallback.onRegisters(request, registers);
         verify(child1).onRegisters(request, registers);
+        verify(child1).fingerprint(registers);
         verify(child2).onRegisters(request, registers);
+        verify(child2).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         verifyNoMoreInteractions(child2);
 
@@ -354,6 +358,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.childHandlerDisposed(child1, Mockito.mock(Thing.class));
         readCallback.onRegisters(request, registers);
         verify(child2).onRegisters(request, registers);
+        verify(child2).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         verifyNoMoreInteractions(child2);
     }
@@ -392,6 +397,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
         readCallback.onBits(request, bits);
         verify(child1).onBits(request, bits);
+        verify(child1).fingerprint(bits);
         verifyNoMoreInteractions(child1);
         verifyNoMoreInteractions(child2);
 
@@ -401,7 +407,9 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.childHandlerInitialized(child2, Mockito.mock(Thing.class));
         readCallback.onBits(request, bits);
         verify(child1).onBits(request, bits);
+        verify(child1).fingerprint(bits);
         verify(child2).onBits(request, bits);
+        verify(child2).fingerprint(bits);
         verifyNoMoreInteractions(child1);
         verifyNoMoreInteractions(child2);
 
@@ -412,6 +420,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.childHandlerDisposed(child1, Mockito.mock(Thing.class));
         readCallback.onBits(request, bits);
         verify(child2).onBits(request, bits);
+        verify(child2).fingerprint(bits);
         verifyNoMoreInteractions(child1);
         verifyNoMoreInteractions(child2);
     }
@@ -535,6 +544,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
 
         // data child receives the data
         verify(child1).onRegisters(request, registers);
+        verify(child1).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         reset(child1);
 
@@ -587,6 +597,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
 
         // data child receives the data
         verify(child1).onRegisters(request, registers);
+        verify(child1).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         reset(child1);
 
@@ -643,6 +654,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
 
         // data child should receive the data
         verify(child1).onRegisters(request, registers);
+        verify(child1).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         reset(child1);
 
@@ -699,6 +711,7 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
 
         // data child should receive the data
         verify(child1).onRegisters(request, registers);
+        verify(child1).fingerprint(registers);
         verifyNoMoreInteractions(child1);
         reset(child1);
 
@@ -710,4 +723,155 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         thingHandler.refresh();
         verify(mockedModbusManager).submitOneTimePoll(any());
     }
+
+    private ModbusPollerThingHandlerImpl createPollerWithDataChild(ModbusDataThingHandler child)
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 0L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 13);
+        pollerConfig.put("type", "holding");
+        pollerConfig.put("cacheMillis", 0L);
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        addThing(poller);
+        verifyEndpointBasicInitInteraction();
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ModbusPollerThingHandlerImpl thingHandler = (ModbusPollerThingHandlerImpl) poller.getHandler();
+        assertNotNull(thingHandler);
+        thingHandler.childHandlerInitialized(child, Mockito.mock(Thing.class));
+        return thingHandler;
+    }
+
+    @Test
+    public void testUnchangedRegistersNotPassedToChildDataThing()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusReadCallback pollerReadCallback = getPollerCallback(createPollerWithDataChild(child1));
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusRegisterArray registers = Mockito.mock(ModbusRegisterArray.class);
+        ModbusRegisterArray sameRegisters = Mockito.mock(ModbusRegisterArray.class);
+
+        doReturn(OptionalLong.of(42L)).when(child1).fingerprint(registers);
+        doReturn(OptionalLong.of(42L)).when(child1).fingerprint(sameRegisters);
+        doReturn(60_000L).when(child1).getUpdateUnchangedValuesEveryMillis();
+        // channels were updated just now
+        doReturn(Long.MAX_VALUE).when(child1).getOldestChannelUpdateMillis();
+        doReturn(Mockito.mock(Thing.class)).when(child1).getThing();
+
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1).onRegisters(request, registers);
+
+        // data read by the child is unchanged, and it is not yet time to update unchanged values
+        pollerReadCallback.onRegisters(request, sameRegisters);
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1, never()).onRegisters(request, sameRegisters);
+        verify(child1, times(1)).onRegisters(request, registers);
+    }
+
+    @Test
+    public void testUnchangedRegistersPassedToChildDataThingAfterUpdateInterval()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusReadCallback pollerReadCallback = getPollerCallback(createPollerWithDataChild(child1));
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusRegisterArray registers = Mockito.mock(ModbusRegisterArray.class);
+
+        doReturn(OptionalLong.of(42L)).when(child1).fingerprint(registers);
+        doReturn(1000L).when(child1).getUpdateUnchangedValuesEveryMillis();
+        // least recently updated channel was updated longer than updateUnchangedValuesEveryMillis ago
+        doReturn(System.currentTimeMillis() - 5000L).when(child1).getOldestChannelUpdateMillis();
+
+        pollerReadCallback.onRegisters(request, registers);
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1, times(2)).onRegisters(request, registers);
+    }
+
+    @Test
+    public void testChangedRegistersPassedToChildDataThing()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusReadCallback pollerReadCallback = getPollerCallback(createPollerWithDataChild(child1));
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusRegisterArray registers = Mockito.mock(ModbusRegisterArray.class);
+        ModbusRegisterArray changedRegisters = Mockito.mock(ModbusRegisterArray.class);
+
+        doReturn(OptionalLong.of(42L)).when(child1).fingerprint(registers);
+        doReturn(OptionalLong.of(43L)).when(child1).fingerprint(changedRegisters);
+        doReturn(Long.MAX_VALUE).when(child1).getOldestChannelUpdateMillis();
+
+        pollerReadCallback.onRegisters(request, registers);
+        pollerReadCallback.onRegisters(request, changedRegisters);
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1, times(2)).onRegisters(request, registers);
+        verify(child1).onRegisters(request, changedRegisters);
+        // the interval for unchanged values is not consulted when the data has changed
+        verify(child1, never()).getUpdateUnchangedValuesEveryMillis();
+    }
+
+    @Test
+    public void testChangedBitsPassedToChildDataThing()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusReadCallback pollerReadCallback = getPollerCallback(createPollerWithDataChild(child1));
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        BitArray bits = Mockito.mock(BitArray.class);
+        BitArray changedBits = Mockito.mock(BitArray.class);
+
+        doReturn(OptionalLong.of(0L)).when(child1).fingerprint(bits);
+        doReturn(OptionalLong.of(1L)).when(child1).fingerprint(changedBits);
+        doReturn(60_000L).when(child1).getUpdateUnchangedValuesEveryMillis();
+        doReturn(Long.MAX_VALUE).when(child1).getOldestChannelUpdateMillis();
+        doReturn(Mockito.mock(Thing.class)).when(child1).getThing();
+
+        pollerReadCallback.onBits(request, bits);
+        pollerReadCallback.onBits(request, bits);
+        pollerReadCallback.onBits(request, changedBits);
+        verify(child1, times(1)).onBits(request, bits);
+        verify(child1).onBits(request, changedBits);
+    }
+
+    @Test
+    public void testUnchangedRegistersPassedToChildDataThingAfterError()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusReadCallback pollerReadCallback = getPollerCallback(createPollerWithDataChild(child1));
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusRegisterArray registers = Mockito.mock(ModbusRegisterArray.class);
+        Exception error = Mockito.mock(Exception.class);
+
+        doReturn(OptionalLong.of(42L)).when(child1).fingerprint(registers);
+        doReturn(Long.MAX_VALUE).when(child1).getOldestChannelUpdateMillis();
+
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1).onRegisters(request, registers);
+
+        pollerReadCallback.onError(request, error);
+        verify(child1).onError(request, error);
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.OFFLINE)));
+
+        // recovery from the error passes the data again, even if it is unchanged
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1, times(2)).onRegisters(request, registers);
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+    }
+
+    @Test
+    public void testRegistersWithoutFingerprintAlwaysPassedToChildDataThing()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusReadCallback pollerReadCallback = getPollerCallback(createPollerWithDataChild(child1));
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusRegisterArray registers = Mockito.mock(ModbusRegisterArray.class);
+
+        // e.g. updateUnchangedValuesEveryMillis is 0, or the last read success channel is linked
+        doReturn(OptionalLong.empty()).when(child1).fingerprint(registers);
+
+        pollerReadCallback.onRegisters(request, registers);
+        pollerReadCallback.onRegisters(request, registers);
+        verify(child1, times(2)).onRegisters(request, registers);
+        verify(child1, times(2)).fingerprint(registers);
+        verifyNoMoreInteractions(child1);
+    }
 }